@@ -0,0 +1,57 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serializes booking lists with an {@link ObjectMapper} configured like the one Spring Boot creates, writing to a
+ * discarding stream so only the serialization itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingJsonSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<BookingResponse> bookings;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BookingResponse.class));
+
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 9, 0);
+        bookings = LongStream.range(0, size)
+                .mapToObj(id -> new BookingResponse(
+                        id,
+                        startTime.plusMinutes(id * 30),
+                        startTime.plusMinutes(id * 30 + 30),
+                        "Sprint planning",
+                        id % 500,
+                        id % 50,
+                        0L
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), bookings);
+    }
+}
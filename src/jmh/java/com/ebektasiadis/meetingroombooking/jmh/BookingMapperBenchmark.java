@@ -0,0 +1,47 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.mapper.BookingMapper;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    private BookingRequest bookingRequest;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+        bookingRequest = new BookingRequest(startTime, startTime.plusHours(1), "Sprint planning", 1L, 1L);
+        booking = aBooking()
+                .withId(1L)
+                .withVersion(0L)
+                .withStartTime(startTime)
+                .withEndTime(startTime.plusHours(1))
+                .build();
+    }
+
+    @Benchmark
+    public Booking toEntity() {
+        return BookingMapper.toEntity(bookingRequest);
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return BookingMapper.toResponse(booking);
+    }
+}
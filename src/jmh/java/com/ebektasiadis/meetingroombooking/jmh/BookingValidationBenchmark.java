@@ -0,0 +1,117 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.config.BookingIndexProperties;
+import com.ebektasiadis.meetingroombooking.config.BookingLockingProperties;
+import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingDateConflictException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.metrics.ApiExceptionMetrics;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import com.ebektasiadis.meetingroombooking.service.impl.BookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+
+/**
+ * Runs the create-booking path of {@link BookingServiceImpl} (reference lookup, date checks and the interval index
+ * conflict check) against stub repositories, for a free slot and for a slot that conflicts with an existing booking.
+ * The room timeline holds {@code existingBookings} upcoming bookings. The free-slot booking is forgotten again after
+ * every invocation, so each one sees the same timeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingValidationBenchmark {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final Long NEW_BOOKING_ID = Long.MAX_VALUE;
+
+    @Param({"10", "1000"})
+    public int existingBookings;
+
+    private BookingServiceImpl bookingService;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private BookingRequest freeSlotRequest;
+    private BookingRequest conflictingRequest;
+
+    @Setup
+    public void setUp() {
+        User user = aUser().withId(1L).build();
+        MeetingRoom meetingRoom = aMeetingRoom().withId(1L).build();
+        LocalDateTime start = LocalDateTime.now(CLOCK).plusDays(1);
+
+        List<Booking> timeline = IntStream.range(0, existingBookings)
+                .mapToObj(i -> aBooking()
+                        .withId((long) i + 1)
+                        .withStartTime(start.plusHours(2L * i))
+                        .withEndTime(start.plusHours(2L * i + 1))
+                        .withBookedBy(user)
+                        .withMeetingRoom(meetingRoom)
+                        .build())
+                .toList();
+
+        BookingRepository bookingRepository = RepositoryStubs.stub(BookingRepository.class, Map.of(
+                "findByMeetingRoomIdAndEndTimeAfter", args -> timeline,
+                "existsOverlapping", args -> true,
+                "saveAndFlush", args -> {
+                    Booking booking = (Booking) args[0];
+                    booking.setId(NEW_BOOKING_ID);
+                    booking.setVersion(0L);
+                    return booking;
+                }
+        ));
+        BookingSeriesRepository bookingSeriesRepository = RepositoryStubs.stub(BookingSeriesRepository.class, Map.of("findByMeetingRoomIdAndLastEndTimeAfter", args -> List.of()));
+        UserRepository userRepository = RepositoryStubs.stub(UserRepository.class, Map.of("getReferenceById", args -> user));
+        MeetingRoomRepository meetingRoomRepository = RepositoryStubs.stub(MeetingRoomRepository.class, Map.of("getReferenceById", args -> meetingRoom));
+
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, bookingSeriesRepository, meetingRoomRepository, CLOCK, new BookingIndexProperties(Duration.ofDays(365)));
+        MeetingRoomLocks meetingRoomLocks = new MeetingRoomLocks(new BookingLockingProperties(false, 1, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, meetingRoomRepository, bookingIntervalIndex, meetingRoomLocks, new ApiExceptionMetrics(new SimpleMeterRegistry()), null, TransactionOperations.withoutTransaction(), CLOCK);
+
+        LocalDateTime middle = start.plusHours(2L * (existingBookings / 2));
+        freeSlotRequest = new BookingRequest(middle.plusHours(1), middle.plusHours(2), "Sprint planning", user.getId(), meetingRoom.getId());
+        conflictingRequest = new BookingRequest(middle.plusMinutes(30), middle.plusMinutes(90), "Sprint planning", user.getId(), meetingRoom.getId());
+    }
+
+    @Benchmark
+    public BookingResponse createBooking_freeSlot() {
+        BookingResponse bookingResponse = bookingService.createBooking(freeSlotRequest);
+        bookingIntervalIndex.forget(NEW_BOOKING_ID);
+        return bookingResponse;
+    }
+
+    @Benchmark
+    public Object createBooking_conflict() {
+        try {
+            return bookingService.createBooking(conflictingRequest);
+        } catch (BookingDateConflictException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingDateConflictException;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingNotFoundException;
+import com.ebektasiadis.meetingroombooking.exception.common.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler globalExceptionHandler;
+    private BookingNotFoundException bookingNotFoundException;
+    private BookingDateConflictException bookingDateConflictException;
+
+    @Setup
+    public void setUp() {
+        globalExceptionHandler = new GlobalExceptionHandler();
+        bookingNotFoundException = new BookingNotFoundException(1L);
+        bookingDateConflictException = new BookingDateConflictException(1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> handleBookingNotFound() {
+        return globalExceptionHandler.handleAbstractApiException(bookingNotFoundException);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> handleBookingDateConflict() {
+        return globalExceptionHandler.handleAbstractApiException(bookingDateConflictException);
+    }
+}
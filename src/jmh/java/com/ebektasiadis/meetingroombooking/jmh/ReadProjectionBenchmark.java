@@ -0,0 +1,109 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import com.ebektasiadis.meetingroombooking.MeetingRoomBookingApplication;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
+import com.ebektasiadis.meetingroombooking.mapper.BookingMapper;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+
+/**
+ * Compares reading a page of bookings as managed entities mapped with {@link BookingMapper} against the
+ * constructor-expression projection of {@link BookingRepository#findPage} in a read-only transaction, on the
+ * in-memory {@code h2} profile. Add {@code -prof gc} to {@code jmh.args} for the allocation rate per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadProjectionBenchmark {
+
+    private static final int SEEDED_BOOKINGS = 500;
+    private static final BookingSearchCriteria NO_CRITERIA = new BookingSearchCriteria(null, null, null, null);
+
+    @Param({"1", "50", "500"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MeetingRoomBookingApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        readWriteTransaction.executeWithoutResult(status -> seed());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> managedEntities() {
+        return readWriteTransaction.execute(status -> entityManager
+                .createQuery("select b from Booking b order by b.startTime, b.id", Booking.class)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(BookingMapper::toResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BookingResponse> readOnlyProjection() {
+        return readOnlyTransaction.execute(status -> bookingRepository.findPage(NO_CRITERIA, null, rows));
+    }
+
+    private void seed() {
+        User user = aUser().withId(null).build();
+        MeetingRoom meetingRoom = aMeetingRoom().withId(null).build();
+        entityManager.persist(user);
+        entityManager.persist(meetingRoom);
+
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 9, 0);
+        for (int i = 0; i < SEEDED_BOOKINGS; i++) {
+            entityManager.persist(aBooking()
+                    .withId(null)
+                    .withStartTime(startTime.plusHours(i))
+                    .withEndTime(startTime.plusHours(i + 1))
+                    .withBookedBy(user)
+                    .withMeetingRoom(meetingRoom)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ebektasiadis.meetingroombooking.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Allocation-light repository stand-ins for benchmarks. Only the named methods are implemented, anything else
+ * throws, so a benchmark cannot silently measure a code path it did not intend to.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, (self, method, args) -> {
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+            }
+
+            return implementation.apply(args);
+        });
+
+        return repositoryType.cast(proxy);
+    }
+}
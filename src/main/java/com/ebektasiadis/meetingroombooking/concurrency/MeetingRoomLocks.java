@@ -0,0 +1,137 @@
+package com.ebektasiadis.meetingroombooking.concurrency;
+
+import com.ebektasiadis.meetingroombooking.config.BookingLockingProperties;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingLockTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size table of locks that serializes booking writes per meeting room.
+ * <p>
+ * Rooms are spread over the stripes by id, so writes to the same room always wait for each other while writes
+ * to different rooms only contend when they happen to share a stripe. When the caller runs inside a transaction
+ * the lock is held until the transaction completes, so the next writer sees the committed booking.
+ * Writes spanning several rooms take their stripes in index order, so they cannot deadlock with each other.
+ */
+@Component
+public class MeetingRoomLocks {
+
+    private final BookingLockingProperties properties;
+    private final ReentrantLock[] stripes;
+    private final Timer acquiredTimer;
+    private final Timer timedOutTimer;
+    private final Counter timeoutCounter;
+
+    public MeetingRoomLocks(BookingLockingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.stripes = new ReentrantLock[Math.max(1, properties.stripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        this.acquiredTimer = Timer.builder("bookings.room.lock.wait")
+                .description("Time spent waiting for a meeting room lock")
+                .tag("outcome", "acquired")
+                .register(meterRegistry);
+        this.timedOutTimer = Timer.builder("bookings.room.lock.wait")
+                .description("Time spent waiting for a meeting room lock")
+                .tag("outcome", "timeout")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("bookings.room.lock.timeouts")
+                .description("Number of booking writes that gave up waiting for a meeting room lock")
+                .register(meterRegistry);
+    }
+
+    public <T> T withLock(Long meetingRoomId, Supplier<T> action) throws BookingLockTimeoutException {
+        return withLocks(List.of(meetingRoomId), action);
+    }
+
+    public <T> T withLocks(Collection<Long> meetingRoomIds, Supplier<T> action) throws BookingLockTimeoutException {
+        if (!properties.enabled()) {
+            return action.get();
+        }
+
+        List<ReentrantLock> locks = acquireAll(meetingRoomIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    releaseAll(locks);
+                }
+            });
+
+            return action.get();
+        }
+
+        try {
+            return action.get();
+        } finally {
+            releaseAll(locks);
+        }
+    }
+
+    private List<ReentrantLock> acquireAll(Collection<Long> meetingRoomIds) throws BookingLockTimeoutException {
+        SortedMap<Integer, Long> meetingRoomIdsByStripe = new TreeMap<>();
+        meetingRoomIds.forEach(meetingRoomId -> meetingRoomIdsByStripe.putIfAbsent(stripeIndexOf(meetingRoomId), meetingRoomId));
+
+        List<ReentrantLock> locks = new ArrayList<>(meetingRoomIdsByStripe.size());
+        try {
+            meetingRoomIdsByStripe.forEach((stripe, meetingRoomId) -> {
+                acquire(stripes[stripe], meetingRoomId);
+                locks.add(stripes[stripe]);
+            });
+        } catch (BookingLockTimeoutException ex) {
+            releaseAll(locks);
+            throw ex;
+        }
+
+        return locks;
+    }
+
+    private void releaseAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeIndexOf(Long meetingRoomId) {
+        int hash = Long.hashCode(meetingRoomId) * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private void acquire(ReentrantLock lock, Long meetingRoomId) throws BookingLockTimeoutException {
+        long startedAt = System.nanoTime();
+        boolean acquired;
+
+        try {
+            acquired = lock.tryLock(properties.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        long waited = System.nanoTime() - startedAt;
+
+        if (!acquired) {
+            timedOutTimer.record(waited, TimeUnit.NANOSECONDS);
+            timeoutCounter.increment();
+            throw new BookingLockTimeoutException(meetingRoomId);
+        }
+
+        acquiredTimer.record(waited, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ebektasiadis.meetingroombooking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.bookings.index")
+public record BookingIndexProperties(
+        @DefaultValue("PT5M")
+        Duration refreshInterval
+) {
+}
@@ -0,0 +1,19 @@
+package com.ebektasiadis.meetingroombooking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.bookings.locking")
+public record BookingLockingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("64")
+        int stripes,
+
+        @DefaultValue("PT2S")
+        Duration timeout
+) {
+}
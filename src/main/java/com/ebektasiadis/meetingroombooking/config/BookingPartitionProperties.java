@@ -0,0 +1,23 @@
+package com.ebektasiadis.meetingroombooking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Period;
+
+@ConfigurationProperties(prefix = "app.bookings.partitions")
+public record BookingPartitionProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("3")
+        int monthsAhead,
+
+        @DefaultValue("P24M")
+        Period retention,
+
+        @DefaultValue("PT6H")
+        Duration maintenanceInterval
+) {
+}
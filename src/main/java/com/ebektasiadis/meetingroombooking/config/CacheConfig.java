@@ -0,0 +1,12 @@
+package com.ebektasiadis.meetingroombooking.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MEETING_ROOMS = "meetingRooms";
+    public static final String USERS = "users";
+}
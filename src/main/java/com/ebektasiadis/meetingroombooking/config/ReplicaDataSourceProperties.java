@@ -0,0 +1,28 @@
+package com.ebektasiadis.meetingroombooking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        String url,
+
+        String username,
+
+        String password,
+
+        @DefaultValue("10")
+        int maximumPoolSize,
+
+        @DefaultValue("PT5S")
+        Duration maxLag,
+
+        @DefaultValue("PT5S")
+        Duration lagCheckInterval
+) {
+}
@@ -1,48 +1,108 @@
 package com.ebektasiadis.meetingroombooking.controller;
 
 import com.ebektasiadis.meetingroombooking.documentation.DocumentedExceptions;
+import com.ebektasiadis.meetingroombooking.dto.BookingBatchRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingBatchResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingPageResponse;
 import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
 import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
 import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 import com.ebektasiadis.meetingroombooking.service.BookingService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Tag(name = "Bookings API")
 @RestController
 @RequestMapping("/api/v1/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all bookings", description = "Returns a list of bookings")
+    @Operation(summary = "Get bookings", description = "Returns a page of bookings ordered by start time. Bookings can be filtered by meeting room, user and a [from, to) window on their start time. Pass the returned nextCursor to fetch the next page.")
+    @DocumentedExceptions({BookingInvalidCursorException.class, BookingInvalidDateException.class})
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getAllBookings() {
-        List<BookingResponse> bookings = bookingService.getAllBookings();
+    public ResponseEntity<BookingPageResponse> getAllBookings(
+            @RequestParam(name = "meetingRoomId", required = false) Long meetingRoomId,
+            @RequestParam(name = "userId", required = false) Long userId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "50") int limit
+    ) {
+        BookingSearchCriteria criteria = new BookingSearchCriteria(meetingRoomId, userId, from, to);
+        BookingPageResponse bookings = bookingService.getBookings(criteria, cursor, limit);
         return ResponseEntity.ok(bookings);
     }
 
-    @Operation(summary = "Get booking by id", description = "Returns a single booking")
+    @Operation(summary = "Export all bookings", description = "Streams every booking as newline-delimited JSON, ordered by id")
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        ObjectWriter writer = objectMapper.writerFor(BookingResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = responseStream -> {
+            OutputStream outputStream = new BufferedOutputStream(responseStream);
+
+            bookingService.exportBookings(booking -> {
+                try {
+                    writer.writeValue(outputStream, booking);
+                    outputStream.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    @Operation(summary = "Get booking by id", description = "Returns a single booking. Responds with 304 if the If-None-Match header matches its current ETag.")
     @DocumentedExceptions({BookingNotFoundException.class})
     @GetMapping("/{id}")
-    public ResponseEntity<BookingResponse> getBookingById(@PathVariable("id") Long id) {
+    public ResponseEntity<BookingResponse> getBookingById(@PathVariable("id") Long id, WebRequest request) {
+        String eTag = ETags.of(bookingService.getBookingVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return ETags.notModified();
+        }
+
         BookingResponse booking = bookingService.getBookingById(id);
-        return ResponseEntity.ok(booking);
+        return ResponseEntity.ok().eTag(ETags.of(booking.version())).body(booking);
     }
 
     @Operation(summary = "Creates a new booking", description = "Returns the created booking")
-    @DocumentedExceptions({BookingNotFoundException.class, UserNotFoundException.class, MeetingRoomNotFoundException.class, BookingInvalidDateException.class, BookingPastStartDateException.class, BookingPastEndDateException.class, BookingDateConflictException.class})
+    @DocumentedExceptions({BookingNotFoundException.class, UserNotFoundException.class, MeetingRoomNotFoundException.class, BookingInvalidDateException.class, BookingPastStartDateException.class, BookingPastEndDateException.class, BookingDateConflictException.class, BookingLockTimeoutException.class})
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest bookingRequest) {
@@ -54,14 +114,26 @@ public class BookingController {
                 .buildAndExpand(createdBooking.id())
                 .toUri();
 
-        return ResponseEntity.created(resourceLocation).body(createdBooking);
+        return ResponseEntity.created(resourceLocation).eTag(ETags.of(createdBooking.version())).body(createdBooking);
+    }
+
+    @Operation(summary = "Creates several bookings at once", description = "Validates every booking against existing bookings and the rest of the batch, creates the valid ones in a single transaction and returns a result per item. If the database still rejects that transaction, for example because of a concurrent writer, every valid booking is retried in its own transaction and only the offending ones are rejected")
+    @DocumentedExceptions({BookingLockTimeoutException.class})
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResponse> createBookings(@Valid @RequestBody BookingBatchRequest bookingBatchRequest) {
+        return ResponseEntity.ok(bookingService.createBookings(bookingBatchRequest.bookings()));
     }
 
-    @Operation(summary = "Updates an existing booking", description = "Returns the updated booking")
-    @DocumentedExceptions({BookingNotFoundException.class, UserNotFoundException.class, MeetingRoomNotFoundException.class, BookingInvalidDateException.class, BookingPastStartDateException.class, BookingPastEndDateException.class, BookingDateConflictException.class})
+    @Operation(summary = "Updates an existing booking", description = "Returns the updated booking. If an If-Match header is sent, the update only succeeds while it matches the current ETag.")
+    @DocumentedExceptions({BookingNotFoundException.class, UserNotFoundException.class, MeetingRoomNotFoundException.class, BookingInvalidDateException.class, BookingPastStartDateException.class, BookingPastEndDateException.class, BookingDateConflictException.class, BookingLockTimeoutException.class, ResourceVersionMismatchException.class})
     @PutMapping("/{id}")
-    public ResponseEntity<BookingResponse> updateBooking(@PathVariable("id") Long id, @Valid @RequestBody BookingRequest bookingRequest) {
-        return ResponseEntity.ok(bookingService.updateBooking(id, bookingRequest));
+    public ResponseEntity<BookingResponse> updateBooking(
+            @PathVariable("id") Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BookingRequest bookingRequest
+    ) {
+        BookingResponse updatedBooking = bookingService.updateBooking(id, bookingRequest, ETags.versionOf(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedBooking.version())).body(updatedBooking);
     }
 
     @Operation(summary = "Deletes an existing booking")
@@ -0,0 +1,87 @@
+package com.ebektasiadis.meetingroombooking.controller;
+
+import com.ebektasiadis.meetingroombooking.documentation.DocumentedExceptions;
+import com.ebektasiadis.meetingroombooking.dto.BookingOccurrenceResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesResponse;
+import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.service.BookingSeriesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Booking series API")
+@RestController
+@RequestMapping("/api/v1/booking-series")
+@RequiredArgsConstructor
+public class BookingSeriesController {
+
+    private final BookingSeriesService bookingSeriesService;
+
+    @Operation(summary = "Get occurrences of all booking series", description = "Returns the occurrences of every booking series overlapping the [from, to) window, ordered by start time. Occurrences can be filtered by meeting room. The window can span at most 31 days.")
+    @DocumentedExceptions({BookingInvalidDateException.class})
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<BookingOccurrenceResponse>> getOccurrencesInWindow(
+            @RequestParam(name = "meetingRoomId", required = false) Long meetingRoomId,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(bookingSeriesService.getOccurrencesInWindow(meetingRoomId, from, to));
+    }
+
+    @Operation(summary = "Get booking series by id")
+    @DocumentedExceptions({BookingSeriesNotFoundException.class})
+    @GetMapping("/{id}")
+    public ResponseEntity<BookingSeriesResponse> getSeriesById(@PathVariable("id") Long id) {
+        BookingSeriesResponse series = bookingSeriesService.getSeriesById(id);
+        return ResponseEntity.ok().eTag(ETags.of(series.version())).body(series);
+    }
+
+    @Operation(summary = "Get occurrences of a booking series", description = "Returns the occurrences of the series overlapping the [from, to) window, ordered by start time. The window can span at most 31 days.")
+    @DocumentedExceptions({BookingSeriesNotFoundException.class, BookingInvalidDateException.class})
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<BookingOccurrenceResponse>> getOccurrences(
+            @PathVariable("id") Long id,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok(bookingSeriesService.getOccurrences(id, from, to));
+    }
+
+    @Operation(summary = "Creates a new booking series", description = "Repeats a booking daily, weekly or monthly until a date or for a number of occurrences. The series is rejected if any occurrence conflicts with an existing booking or series. Returns the created series.")
+    @DocumentedExceptions({UserNotFoundException.class, MeetingRoomNotFoundException.class, BookingInvalidDateException.class, BookingPastStartDateException.class, BookingSeriesInvalidRecurrenceException.class, BookingDateConflictException.class, BookingLockTimeoutException.class})
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping
+    public ResponseEntity<BookingSeriesResponse> createSeries(@Valid @RequestBody BookingSeriesRequest bookingSeriesRequest) {
+        BookingSeriesResponse createdSeries = bookingSeriesService.createSeries(bookingSeriesRequest);
+
+        URI resourceLocation = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(createdSeries.id())
+                .toUri();
+
+        return ResponseEntity.created(resourceLocation).eTag(ETags.of(createdSeries.version())).body(createdSeries);
+    }
+
+    @Operation(summary = "Deletes a booking series with all its occurrences")
+    @DocumentedExceptions({BookingSeriesNotFoundException.class})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSeries(@PathVariable("id") Long id) {
+        bookingSeriesService.deleteSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+}
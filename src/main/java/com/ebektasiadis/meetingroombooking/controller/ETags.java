@@ -0,0 +1,49 @@
+package com.ebektasiadis.meetingroombooking.controller;
+
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong entity tags derived from entity versions.
+ * <p>
+ * A collection tag combines the row count, the sum of the row versions and the highest id, so any insert,
+ * update or delete in the table changes it. An If-Match value that is not one of these tags maps to a version
+ * no entity can have, so the precondition fails instead of being ignored.
+ */
+final class ETags {
+
+    private static final Long UNMATCHABLE_VERSION = -1L;
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return String.format("\"%d\"", version);
+    }
+
+    static String of(CollectionVersion version) {
+        return String.format("\"%d-%d-%d\"", version.count(), version.versionSum(), version.maxId());
+    }
+
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        return UNMATCHABLE_VERSION;
+    }
+
+    // WebRequest.checkNotModified has already written the ETag header, so repeating it here would send it twice.
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+}
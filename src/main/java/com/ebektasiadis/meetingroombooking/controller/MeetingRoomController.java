@@ -1,8 +1,12 @@
 package com.ebektasiadis.meetingroombooking.controller;
 
 import com.ebektasiadis.meetingroombooking.documentation.DocumentedExceptions;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityCriteria;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityResponse;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomRequest;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomInvalidAvailabilityWindowException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNameExistsException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 import com.ebektasiadis.meetingroombooking.service.MeetingRoomService;
@@ -10,12 +14,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Tag(name = "Meeting rooms API")
@@ -26,19 +35,45 @@ public class MeetingRoomController {
 
     private final MeetingRoomService meetingRoomService;
 
-    @Operation(summary = "Get all meeting rooms", description = "Returns a list of meeting rooms")
+    @Operation(summary = "Get all meeting rooms", description = "Returns a list of meeting rooms. Responds with 304 if the If-None-Match header matches the current ETag of the collection.")
     @GetMapping
-    public ResponseEntity<List<MeetingRoomResponse>> getAllMeetingRooms() {
+    public ResponseEntity<List<MeetingRoomResponse>> getAllMeetingRooms(WebRequest request) {
+        String eTag = ETags.of(meetingRoomService.getMeetingRoomsVersion());
+        if (request.checkNotModified(eTag)) {
+            return ETags.notModified();
+        }
+
         List<MeetingRoomResponse> meetingRooms = meetingRoomService.getAllMeetingRooms();
-        return ResponseEntity.ok(meetingRooms);
+        return ResponseEntity.ok().eTag(eTag).body(meetingRooms);
+    }
+
+    @Operation(summary = "Find available meeting rooms", description = "Returns the matching meeting rooms with their free slots of at least the requested duration within the window")
+    @DocumentedExceptions({MeetingRoomInvalidAvailabilityWindowException.class})
+    @GetMapping("/availability")
+    public ResponseEntity<List<MeetingRoomAvailabilityResponse>> getAvailability(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "minCapacity", required = false) Integer minCapacity,
+            @RequestParam(name = "projector", defaultValue = "false") boolean projector,
+            @RequestParam(name = "whiteboard", defaultValue = "false") boolean whiteboard,
+            @RequestParam(name = "duration", defaultValue = "PT30M") Duration duration
+    ) {
+        MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(from, to, minCapacity, projector, whiteboard, duration);
+        List<MeetingRoomAvailabilityResponse> availability = meetingRoomService.getAvailability(criteria);
+        return ResponseEntity.ok(availability);
     }
 
-    @Operation(summary = "Get meeting room by id", description = "Returns a single meeting room")
+    @Operation(summary = "Get meeting room by id", description = "Returns a single meeting room. Responds with 304 if the If-None-Match header matches its current ETag.")
     @DocumentedExceptions({MeetingRoomNotFoundException.class})
     @GetMapping("/{id}")
-    public ResponseEntity<MeetingRoomResponse> getMeetingRoomById(@PathVariable Long id) {
+    public ResponseEntity<MeetingRoomResponse> getMeetingRoomById(@PathVariable Long id, WebRequest request) {
+        String eTag = ETags.of(meetingRoomService.getMeetingRoomVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return ETags.notModified();
+        }
+
         MeetingRoomResponse meetingRoom = meetingRoomService.getMeetingRoomById(id);
-        return ResponseEntity.ok(meetingRoom);
+        return ResponseEntity.ok().eTag(ETags.of(meetingRoom.version())).body(meetingRoom);
     }
 
     @Operation(summary = "Creates a new meeting room", description = "Returns the created meeting room")
@@ -54,15 +89,19 @@ public class MeetingRoomController {
                 .buildAndExpand(createdRoom.id())
                 .toUri();
 
-        return ResponseEntity.created(resourceLocation).body(createdRoom);
+        return ResponseEntity.created(resourceLocation).eTag(ETags.of(createdRoom.version())).body(createdRoom);
     }
 
-    @Operation(summary = "Updates an existing meeting room", description = "Returns the updated meeting room")
-    @DocumentedExceptions({MeetingRoomNotFoundException.class, MeetingRoomNameExistsException.class})
+    @Operation(summary = "Updates an existing meeting room", description = "Returns the updated meeting room. If an If-Match header is sent, the update only succeeds while it matches the current ETag.")
+    @DocumentedExceptions({MeetingRoomNotFoundException.class, MeetingRoomNameExistsException.class, ResourceVersionMismatchException.class})
     @PutMapping("/{id}")
-    public ResponseEntity<MeetingRoomResponse> updateMeetingRoom(@PathVariable Long id, @Valid @RequestBody MeetingRoomRequest meetingRoomRequest) {
-        MeetingRoomResponse updatedRoom = meetingRoomService.updateMeetingRoom(id, meetingRoomRequest);
-        return ResponseEntity.ok(updatedRoom);
+    public ResponseEntity<MeetingRoomResponse> updateMeetingRoom(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody MeetingRoomRequest meetingRoomRequest
+    ) {
+        MeetingRoomResponse updatedRoom = meetingRoomService.updateMeetingRoom(id, meetingRoomRequest, ETags.versionOf(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedRoom.version())).body(updatedRoom);
     }
 
     @Operation(summary = "Deletes an existing meeting room")
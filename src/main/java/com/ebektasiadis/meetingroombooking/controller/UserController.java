@@ -3,6 +3,7 @@ package com.ebektasiadis.meetingroombooking.controller;
 import com.ebektasiadis.meetingroombooking.documentation.DocumentedExceptions;
 import com.ebektasiadis.meetingroombooking.dto.UserRequest;
 import com.ebektasiadis.meetingroombooking.dto.UserResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserEmailExistsException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserUsernameExistsException;
@@ -11,9 +12,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -26,19 +29,29 @@ import java.util.List;
 public class UserController {
     private final UserService userService;
 
-    @Operation(summary = "Get all users", description = "Returns a list of users")
+    @Operation(summary = "Get all users", description = "Returns a list of users. Responds with 304 if the If-None-Match header matches the current ETag of the collection.")
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
+    public ResponseEntity<List<UserResponse>> getAllUsers(WebRequest request) {
+        String eTag = ETags.of(userService.getUsersVersion());
+        if (request.checkNotModified(eTag)) {
+            return ETags.notModified();
+        }
+
         List<UserResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().eTag(eTag).body(users);
     }
 
-    @Operation(summary = "Get user by id", description = "Returns a single user")
+    @Operation(summary = "Get user by id", description = "Returns a single user. Responds with 304 if the If-None-Match header matches its current ETag.")
     @DocumentedExceptions({UserNotFoundException.class})
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest request) {
+        String eTag = ETags.of(userService.getUserVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return ETags.notModified();
+        }
+
         UserResponse userResponse = userService.getUserById(id);
-        return ResponseEntity.ok(userResponse);
+        return ResponseEntity.ok().eTag(ETags.of(userResponse.version())).body(userResponse);
     }
 
     @Operation(summary = "Creates a new user", description = "Returns the created user")
@@ -54,15 +67,19 @@ public class UserController {
                 .buildAndExpand(userCreated.id())
                 .toUri();
 
-        return ResponseEntity.created(resourceLocation).body(userCreated);
+        return ResponseEntity.created(resourceLocation).eTag(ETags.of(userCreated.version())).body(userCreated);
     }
 
-    @Operation(summary = "Updates an existing user", description = "Returns the updated user")
-    @DocumentedExceptions({UserNotFoundException.class, UserEmailExistsException.class, UserUsernameExistsException.class})
+    @Operation(summary = "Updates an existing user", description = "Returns the updated user. If an If-Match header is sent, the update only succeeds while it matches the current ETag.")
+    @DocumentedExceptions({UserNotFoundException.class, UserEmailExistsException.class, UserUsernameExistsException.class, ResourceVersionMismatchException.class})
     @PutMapping("/{id}")
-    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @Valid @RequestBody UserRequest userRequest) {
-        UserResponse userUpdated = userService.updateUser(id, userRequest);
-        return ResponseEntity.ok(userUpdated);
+    public ResponseEntity<UserResponse> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserRequest userRequest
+    ) {
+        UserResponse userUpdated = userService.updateUser(id, userRequest, ETags.versionOf(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(userUpdated.version())).body(userUpdated);
     }
 
     @Operation(summary = "Deletes an existing user")
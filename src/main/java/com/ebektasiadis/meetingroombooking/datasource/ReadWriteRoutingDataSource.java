@@ -0,0 +1,65 @@
+package com.ebektasiadis.meetingroombooking.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections of the read replica to read-only transactions and of the primary to everything else.
+ * The transaction's read-only flag is only published once the transaction has begun, so this data source has to
+ * sit behind a {@link LazyConnectionDataSourceProxy} that defers fetching the connection until the first statement.
+ * While {@link ReplicaLagMonitor} reports the replica as unusable, read-only transactions fall back to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryConnections = routedConnections(meterRegistry, "primary");
+        this.replicaConnections = routedConnections(meterRegistry, "replica");
+        this.replicaFallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because the read replica was unusable")
+                .register(meterRegistry);
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.increment();
+            return Route.PRIMARY;
+        }
+
+        if (!replicaLagMonitor.isReplicaUsable()) {
+            replicaFallbacks.increment();
+            primaryConnections.increment();
+            return Route.PRIMARY;
+        }
+
+        replicaConnections.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter routedConnections(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("datasource.routed.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+}
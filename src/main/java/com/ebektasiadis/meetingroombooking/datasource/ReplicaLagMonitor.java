@@ -0,0 +1,76 @@
+package com.ebektasiadis.meetingroombooking.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Polls the replay lag of the read replica and decides whether read-only transactions may be routed to it.
+ * A replica that has replayed everything it received reports no lag, even when the primary has been idle for a
+ * while. Until the first successful check, and whenever the replica is unreachable or further behind than the
+ * configured maximum, reads fall back to the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_QUERY = """
+            select case
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+                   end
+            """;
+
+    private final JdbcOperations replicaJdbcOperations;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(JdbcOperations replicaJdbcOperations, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcOperations = replicaJdbcOperations;
+        this.maxLag = maxLag;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replay lag of the read replica, NaN while it cannot be reached")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the read replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        boolean usable;
+
+        try {
+            Double lag = replicaJdbcOperations.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (DataAccessException ex) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            log.debug("Could not determine the replay lag of the read replica", ex);
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Routing read-only transactions to the read replica, replay lag is {}s", lagSeconds);
+            } else {
+                log.warn("Routing read-only transactions to the primary, replay lag of the read replica is {}s (max {})", lagSeconds, maxLag);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
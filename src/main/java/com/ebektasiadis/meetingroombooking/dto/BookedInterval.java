@@ -0,0 +1,10 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookedInterval(
+        Long meetingRoomId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,19 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+public record BookingBatchItemResponse(
+        int index,
+        int status,
+        BookingResponse booking,
+        ProblemDetail error
+) {
+    public static BookingBatchItemResponse created(int index, BookingResponse booking) {
+        return new BookingBatchItemResponse(index, HttpStatus.CREATED.value(), booking, null);
+    }
+
+    public static BookingBatchItemResponse rejected(int index, ProblemDetail error) {
+        return new BookingBatchItemResponse(index, error.getStatus(), null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BookingBatchRequest(
+
+        @NotEmpty(message = "At least one booking is mandatory")
+        @Size(max = 200, message = "At most 200 bookings can be created at once")
+        List<@Valid BookingRequest> bookings
+) {
+}
@@ -0,0 +1,10 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.util.List;
+
+public record BookingBatchResponse(
+        int created,
+        int rejected,
+        List<BookingBatchItemResponse> results
+) {
+}
@@ -0,0 +1,36 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record BookingCursor(
+        LocalDateTime startTime,
+        Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor decode(String cursor) throws IllegalArgumentException {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException(String.format("Cursor %s is malformed.", cursor));
+        }
+
+        try {
+            return new BookingCursor(
+                    LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Long.parseLong(decoded.substring(separatorIndex + 1))
+            );
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format("Cursor %s is malformed.", cursor), ex);
+        }
+    }
+
+    public String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingOccurrenceResponse(
+        Long seriesId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String purpose,
+        Long userId,
+        Long meetingRoomId
+) {
+}
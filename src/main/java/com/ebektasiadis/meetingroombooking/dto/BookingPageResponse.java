@@ -0,0 +1,9 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.util.List;
+
+public record BookingPageResponse(
+        List<BookingResponse> bookings,
+        String nextCursor
+) {
+}
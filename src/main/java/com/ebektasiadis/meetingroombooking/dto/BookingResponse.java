@@ -8,6 +8,7 @@ public record BookingResponse(
         LocalDateTime endTime,
         String purpose,
         Long userId,
-        Long meetingRoomId
+        Long meetingRoomId,
+        Long version
 ) {
 }
@@ -0,0 +1,11 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingSearchCriteria(
+        Long meetingRoomId,
+        Long userId,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+}
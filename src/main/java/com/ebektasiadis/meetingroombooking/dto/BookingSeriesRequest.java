@@ -0,0 +1,43 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record BookingSeriesRequest(
+
+        @NotNull(message = "Start time is mandatory")
+        @FutureOrPresent(message = "Start date must be either in present or in the future")
+        LocalDateTime startTime,
+
+        @NotNull(message = "End time is mandatory")
+        @Future(message = "End time must be in the future")
+        LocalDateTime endTime,
+
+        @NotEmpty(message = "Purpose is mandatory")
+        String purpose,
+
+        @NotNull(message = "User ID is mandatory")
+        Long userId,
+
+        @NotNull(message = "Meeting room ID is mandatory")
+        Long meetingRoomId,
+
+        @NotNull(message = "Frequency is mandatory")
+        RecurrenceFrequency frequency,
+
+        @Positive(message = "Interval must be positive")
+        Integer interval,
+
+        LocalDate until,
+
+        @Positive(message = "Count must be positive")
+        Integer count
+) {
+}
@@ -0,0 +1,22 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record BookingSeriesResponse(
+        Long id,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String purpose,
+        Long userId,
+        Long meetingRoomId,
+        RecurrenceFrequency frequency,
+        Integer interval,
+        LocalDate until,
+        Integer count,
+        LocalDateTime lastEndTime,
+        Long version
+) {
+}
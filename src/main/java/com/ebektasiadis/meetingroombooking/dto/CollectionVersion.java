@@ -0,0 +1,8 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+public record CollectionVersion(
+        Long count,
+        Long versionSum,
+        Long maxId
+) {
+}
@@ -0,0 +1,9 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.time.LocalDateTime;
+
+public record FreeSlot(
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,14 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record MeetingRoomAvailabilityCriteria(
+        LocalDateTime from,
+        LocalDateTime to,
+        Integer minCapacity,
+        boolean projector,
+        boolean whiteboard,
+        Duration duration
+) {
+}
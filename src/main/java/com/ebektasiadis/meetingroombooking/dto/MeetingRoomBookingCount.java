@@ -0,0 +1,7 @@
+package com.ebektasiadis.meetingroombooking.dto;
+
+public record MeetingRoomBookingCount(
+        Long meetingRoomId,
+        Long count
+) {
+}
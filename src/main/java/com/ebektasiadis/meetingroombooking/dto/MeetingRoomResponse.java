@@ -6,6 +6,7 @@ public record MeetingRoomResponse(
         Integer capacity,
         String location,
         Boolean hasProjector,
-        Boolean hasWhiteboard
+        Boolean hasWhiteboard,
+        Long version
 ) {
 }
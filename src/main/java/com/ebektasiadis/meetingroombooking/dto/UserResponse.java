@@ -3,6 +3,7 @@ package com.ebektasiadis.meetingroombooking.dto;
 public record UserResponse(
         Long id,
         String username,
-        String email
+        String email,
+        Long version
 ) {
 }
@@ -0,0 +1,39 @@
+package com.ebektasiadis.meetingroombooking.exception.booking;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.Extension;
+import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetail;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.BAD_REQUEST,
+        type = "booking-invalid-cursor",
+        title = "The pagination cursor is invalid.",
+        extensions = {
+                @Extension(name = "cursor", type = String.class),
+        }
+)
+public class BookingInvalidCursorException extends AbstractApiException {
+    private final String cursor;
+
+    public BookingInvalidCursorException(String cursor) {
+        super(
+                String.format("Cursor %s was not issued by this API or has been tampered with.", cursor)
+        );
+
+        this.cursor = cursor;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("cursor", cursor);
+
+        return properties;
+    }
+}
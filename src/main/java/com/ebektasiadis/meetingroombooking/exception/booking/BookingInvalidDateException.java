@@ -6,6 +6,7 @@ import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetai
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +34,15 @@ public class BookingInvalidDateException extends AbstractApiException {
         this.endTime = endTime;
     }
 
+    public BookingInvalidDateException(LocalDateTime startTime, LocalDateTime endTime, Duration maxWindow) {
+        super(
+                String.format("Window %s to %s spans more than %s.", startTime, endTime, maxWindow)
+        );
+
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
 
     @Override
     public Map<String, Object> getProblemDetailProperties() {
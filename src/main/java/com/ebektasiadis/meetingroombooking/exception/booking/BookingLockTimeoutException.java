@@ -0,0 +1,39 @@
+package com.ebektasiadis.meetingroombooking.exception.booking;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.Extension;
+import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetail;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.SERVICE_UNAVAILABLE,
+        type = "booking-lock-timeout",
+        title = "Meeting room is busy with other bookings, please try again.",
+        extensions = {
+                @Extension(name = "meetingRoomId", type = Long.class),
+        }
+)
+public class BookingLockTimeoutException extends AbstractApiException {
+    private final Long meetingRoomId;
+
+    public BookingLockTimeoutException(Long meetingRoomId) {
+        super(
+                String.format("Timed out while waiting for other bookings of meeting room %d to complete.", meetingRoomId)
+        );
+
+        this.meetingRoomId = meetingRoomId;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("meetingRoomId", meetingRoomId);
+
+        return properties;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ebektasiadis.meetingroombooking.exception.booking;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.Extension;
+import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetail;
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.BAD_REQUEST,
+        type = "booking-series-invalid-recurrence",
+        title = "The recurrence of the booking series is invalid.",
+        extensions = {
+                @Extension(name = "frequency", type = RecurrenceFrequency.class),
+                @Extension(name = "interval", type = Integer.class),
+                @Extension(name = "until", type = LocalDate.class),
+                @Extension(name = "count", type = Integer.class),
+        }
+)
+public class BookingSeriesInvalidRecurrenceException extends AbstractApiException {
+    private final RecurrenceFrequency frequency;
+    private final Integer interval;
+    private final LocalDate until;
+    private final Integer count;
+
+    public BookingSeriesInvalidRecurrenceException(RecurrenceFrequency frequency, Integer interval, LocalDate until, Integer count, String reason) {
+        super(
+                String.format("Recurrence %s every %d until %s or %s times is invalid: %s.", frequency, interval, until, count, reason)
+        );
+
+        this.frequency = frequency;
+        this.interval = interval;
+        this.until = until;
+        this.count = count;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("frequency", frequency);
+        properties.put("interval", interval);
+        properties.put("until", until);
+        properties.put("count", count);
+
+        return properties;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ebektasiadis.meetingroombooking.exception.booking;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.Extension;
+import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetail;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.NOT_FOUND,
+        type = "booking-series-not-found",
+        title = "Booking series not found.",
+        extensions = {
+                @Extension(name = "seriesId", type = Long.class)
+        }
+)
+public class BookingSeriesNotFoundException extends AbstractApiException {
+    private final Long seriesId;
+
+    public BookingSeriesNotFoundException(Long seriesId) {
+        super(
+                String.format("Booking series with id %d couldn't be found.", seriesId)
+        );
+
+        this.seriesId = seriesId;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("seriesId", this.seriesId);
+
+        return properties;
+    }
+}
@@ -1,7 +1,11 @@
 package com.ebektasiadis.meetingroombooking.exception.common;
 
 import lombok.Getter;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 
+import java.net.URI;
 import java.util.Map;
 
 @Getter
@@ -12,4 +16,33 @@ public abstract class AbstractApiException extends RuntimeException {
     }
 
     public abstract Map<String, Object> getProblemDetailProperties();
+
+    public ProblemDetail toProblemDetail() {
+        ResponseProblemDetail responseProblemDetailAnnotation = AnnotationUtils.findAnnotation(getClass(), ResponseProblemDetail.class);
+
+        HttpStatus status;
+        String title;
+        String type;
+
+        if (responseProblemDetailAnnotation == null) {
+            try {
+                status = (HttpStatus) ResponseProblemDetail.class.getMethod("status").getDefaultValue();
+                title = ResponseProblemDetail.class.getMethod("title").getDefaultValue().toString();
+                type = ResponseProblemDetail.class.getMethod("type").getDefaultValue().toString();
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException(ex);
+            }
+        } else {
+            status = responseProblemDetailAnnotation.status();
+            title = responseProblemDetailAnnotation.title();
+            type = responseProblemDetailAnnotation.type();
+        }
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, getMessage());
+        problemDetail.setTitle(title);
+        problemDetail.setType(URI.create(String.format("/problems/%s", type)));
+        problemDetail.setProperty("extensions", getProblemDetailProperties());
+
+        return problemDetail;
+    }
 }
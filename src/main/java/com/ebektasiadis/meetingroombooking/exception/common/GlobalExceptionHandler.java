@@ -1,6 +1,5 @@
 package com.ebektasiadis.meetingroombooking.exception.common;
 
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -31,27 +30,8 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(AbstractApiException.class)
-    public ResponseEntity<ProblemDetail> handleAbstractApiException(AbstractApiException ex) throws NoSuchMethodException {
-        ResponseProblemDetail responseProblemDetailAnnotation = AnnotationUtils.findAnnotation(ex.getClass(), ResponseProblemDetail.class);
-
-        HttpStatus status;
-        String title;
-        String type;
-
-        if (responseProblemDetailAnnotation == null) {
-            status = (HttpStatus) ResponseProblemDetail.class.getMethod("status").getDefaultValue();
-            title = ResponseProblemDetail.class.getMethod("title").getDefaultValue().toString();
-            type = ResponseProblemDetail.class.getMethod("type").getDefaultValue().toString();
-        } else {
-            status = responseProblemDetailAnnotation.status();
-            title = responseProblemDetailAnnotation.title();
-            type = responseProblemDetailAnnotation.type();
-        }
-
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, ex.getMessage());
-        problemDetail.setTitle(title);
-        problemDetail.setType(URI.create(String.format("/problems/%s", type)));
-        problemDetail.setProperty("extensions", ex.getProblemDetailProperties());
+    public ResponseEntity<ProblemDetail> handleAbstractApiException(AbstractApiException ex) {
+        ProblemDetail problemDetail = ex.toProblemDetail();
 
         return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
     }
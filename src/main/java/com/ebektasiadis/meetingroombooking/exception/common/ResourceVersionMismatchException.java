@@ -0,0 +1,48 @@
+package com.ebektasiadis.meetingroombooking.exception.common;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.PRECONDITION_FAILED,
+        type = "resource-version-mismatch",
+        title = "The resource has been modified since it was last read.",
+        extensions = {
+                @Extension(name = "resource", type = String.class),
+                @Extension(name = "resourceId", type = Long.class),
+                @Extension(name = "expectedVersion", type = Long.class),
+                @Extension(name = "currentVersion", type = Long.class),
+        }
+)
+public class ResourceVersionMismatchException extends AbstractApiException {
+    private final String resource;
+    private final Long resourceId;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public ResourceVersionMismatchException(String resource, Long resourceId, Long expectedVersion, Long currentVersion) {
+        super(
+                String.format("The %s with id %d was expected at version %s but is at version %s.", resource, resourceId, expectedVersion, currentVersion)
+        );
+
+        this.resource = resource;
+        this.resourceId = resourceId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("resource", resource);
+        properties.put("resourceId", resourceId);
+        properties.put("expectedVersion", expectedVersion);
+        properties.put("currentVersion", currentVersion);
+
+        return properties;
+    }
+}
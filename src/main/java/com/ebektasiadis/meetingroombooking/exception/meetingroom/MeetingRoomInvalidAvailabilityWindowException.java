@@ -0,0 +1,49 @@
+package com.ebektasiadis.meetingroombooking.exception.meetingroom;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.Extension;
+import com.ebektasiadis.meetingroombooking.exception.common.ResponseProblemDetail;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@ResponseProblemDetail(
+        status = HttpStatus.BAD_REQUEST,
+        type = "meeting-room-invalid-availability-window",
+        title = "The availability window is invalid.",
+        extensions = {
+                @Extension(name = "from", type = LocalDateTime.class),
+                @Extension(name = "to", type = LocalDateTime.class),
+                @Extension(name = "duration", type = Duration.class),
+        }
+)
+public class MeetingRoomInvalidAvailabilityWindowException extends AbstractApiException {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Duration duration;
+
+    public MeetingRoomInvalidAvailabilityWindowException(LocalDateTime from, LocalDateTime to, Duration duration, Duration maxWindow) {
+        super(
+                String.format("Window %s to %s must end after it starts, span at most %s and fit a slot of %s.", from, to, maxWindow, duration)
+        );
+
+        this.from = from;
+        this.to = to;
+        this.duration = duration;
+    }
+
+    @Override
+    public Map<String, Object> getProblemDetailProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("from", from);
+        properties.put("to", to);
+        properties.put("duration", duration);
+
+        return properties;
+    }
+}
@@ -0,0 +1,235 @@
+package com.ebektasiadis.meetingroombooking.index;
+
+import com.ebektasiadis.meetingroombooking.config.BookingIndexProperties;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.recurrence.Occurrences;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory timeline of the upcoming bookings of every meeting room, ordered by start time.
+ * <p>
+ * Bookings of the same room never overlap, so the only candidate for a conflict is the booking with the latest
+ * start time before the requested end time, which makes every overlap check a single O(log n) lookup.
+ * The room's active booking series are kept next to its bookings and expanded only around the requested interval,
+ * so a write is checked against recurring bookings without a query either.
+ * A room's timeline is loaded on first use and reloaded once it is older than the configured refresh interval,
+ * so writes made by other instances are eventually picked up. The database stays the authoritative check: a miss is
+ * trusted, but a hit is confirmed with a single overlap query, and a timeline the database contradicts is evicted.
+ * Only rooms that exist get a timeline, so requests for unknown room ids never grow the index.
+ * Timelines are loaded outside of the map's bin locks, so a virtual thread waiting on the query never pins its carrier.
+ */
+@Component
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final MeetingRoomRepository meetingRoomRepository;
+    private final Clock clock;
+    private final BookingIndexProperties properties;
+
+    private final Map<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, Interval> intervalsByBookingId = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository, BookingSeriesRepository bookingSeriesRepository, MeetingRoomRepository meetingRoomRepository, Clock clock, BookingIndexProperties properties) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSeriesRepository = bookingSeriesRepository;
+        this.meetingRoomRepository = meetingRoomRepository;
+        this.clock = clock;
+        this.properties = properties;
+    }
+
+    public boolean hasConflict(Long meetingRoomId, LocalDateTime startTime, LocalDateTime endTime, Long bookingIdToExclude) {
+        RoomTimeline timeline = timeline(meetingRoomId);
+
+        if (!overlapsBooking(timeline, startTime, endTime, bookingIdToExclude) && !overlapsSeries(timeline, startTime, endTime)) {
+            return false;
+        }
+
+        if (bookingRepository.existsOverlapping(meetingRoomId, startTime, endTime, bookingIdToExclude)
+                || !Occurrences.of(bookingSeriesRepository.findOverlapping(List.of(meetingRoomId), startTime, endTime), startTime, endTime).isEmpty()) {
+            return true;
+        }
+
+        evictRoom(meetingRoomId);
+        return false;
+    }
+
+    private boolean overlapsBooking(RoomTimeline timeline, LocalDateTime startTime, LocalDateTime endTime, Long bookingIdToExclude) {
+        ConcurrentNavigableMap<IntervalKey, Interval> candidates = timeline.intervals
+                .headMap(new IntervalKey(endTime, Long.MIN_VALUE), false)
+                .descendingMap();
+
+        for (Interval interval : candidates.values()) {
+            if (interval.bookingId().equals(bookingIdToExclude)) {
+                continue;
+            }
+
+            return interval.endTime().isAfter(startTime);
+        }
+
+        return false;
+    }
+
+    private boolean overlapsSeries(RoomTimeline timeline, LocalDateTime startTime, LocalDateTime endTime) {
+        return timeline.series.values().stream()
+                .filter(series -> series.getStartTime().isBefore(endTime) && series.getLastEndTime().isAfter(startTime))
+                .anyMatch(series -> !Occurrences.of(series, startTime, endTime).isEmpty());
+    }
+
+    public void record(Booking booking) {
+        Interval interval = new Interval(
+                booking.getId(),
+                booking.getMeetingRoom().getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+
+        afterCommit(() -> {
+            remove(interval.bookingId());
+
+            RoomTimeline timeline = timelines.get(interval.meetingRoomId());
+            if (timeline != null) {
+                timeline.intervals.put(interval.key(), interval);
+                intervalsByBookingId.put(interval.bookingId(), interval);
+            }
+        });
+    }
+
+    public void forget(Long bookingId) {
+        afterCommit(() -> remove(bookingId));
+    }
+
+    public void recordSeries(BookingSeries series) {
+        Long meetingRoomId = series.getMeetingRoom().getId();
+
+        afterCommit(() -> {
+            RoomTimeline timeline = timelines.get(meetingRoomId);
+            if (timeline != null) {
+                timeline.series.put(series.getId(), series);
+            }
+        });
+    }
+
+    public void forgetSeries(Long seriesId) {
+        afterCommit(() -> timelines.values().forEach(timeline -> timeline.series.remove(seriesId)));
+    }
+
+    public void evictRoom(Long meetingRoomId) {
+        RoomTimeline timeline = timelines.remove(meetingRoomId);
+        if (timeline != null) {
+            timeline.intervals.values().forEach(interval -> intervalsByBookingId.remove(interval.bookingId()));
+        }
+    }
+
+    private void remove(Long bookingId) {
+        Interval previous = intervalsByBookingId.remove(bookingId);
+        if (previous == null) {
+            return;
+        }
+
+        RoomTimeline timeline = timelines.get(previous.meetingRoomId());
+        if (timeline != null) {
+            timeline.intervals.remove(previous.key());
+        }
+    }
+
+    private RoomTimeline timeline(Long meetingRoomId) {
+        RoomTimeline timeline = timelines.get(meetingRoomId);
+        if (timeline != null && isFresh(timeline)) {
+            return timeline;
+        }
+
+        RoomTimeline loaded = load(meetingRoomId);
+        if (loaded.intervals.isEmpty() && loaded.series.isEmpty() && !meetingRoomRepository.existsById(meetingRoomId)) {
+            return loaded;
+        }
+
+        return timelines.compute(meetingRoomId, (id, current) -> {
+            if (current != null && isFresh(current)) {
+                return current;
+            }
+
+            if (current != null) {
+                current.intervals.values().forEach(interval -> intervalsByBookingId.remove(interval.bookingId()));
+            }
+            loaded.intervals.values().forEach(interval -> intervalsByBookingId.put(interval.bookingId(), interval));
+
+            return loaded;
+        });
+    }
+
+    private boolean isFresh(RoomTimeline timeline) {
+        return timeline.loadedAt.plus(properties.refreshInterval()).isAfter(clock.instant());
+    }
+
+    private RoomTimeline load(Long meetingRoomId) {
+        RoomTimeline timeline = new RoomTimeline(clock.instant());
+
+        bookingRepository.findByMeetingRoomIdAndEndTimeAfter(meetingRoomId, LocalDateTime.now(clock)).forEach(booking -> {
+            Interval interval = new Interval(booking.getId(), meetingRoomId, booking.getStartTime(), booking.getEndTime());
+            timeline.intervals.put(interval.key(), interval);
+        });
+
+        bookingSeriesRepository.findByMeetingRoomIdAndLastEndTimeAfter(meetingRoomId, LocalDateTime.now(clock))
+                .forEach(series -> timeline.series.put(series.getId(), series));
+
+        return timeline;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IntervalKey(LocalDateTime startTime, Long bookingId) implements Comparable<IntervalKey> {
+        private static final Comparator<IntervalKey> ORDER = Comparator
+                .comparing(IntervalKey::startTime)
+                .thenComparing(IntervalKey::bookingId);
+
+        @Override
+        public int compareTo(IntervalKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Interval(Long bookingId, Long meetingRoomId, LocalDateTime startTime, LocalDateTime endTime) {
+        IntervalKey key() {
+            return new IntervalKey(startTime, bookingId);
+        }
+    }
+
+    private static final class RoomTimeline {
+        private final Instant loadedAt;
+        private final ConcurrentSkipListMap<IntervalKey, Interval> intervals = new ConcurrentSkipListMap<>();
+        private final Map<Long, BookingSeries> series = new ConcurrentHashMap<>();
+
+        private RoomTimeline(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
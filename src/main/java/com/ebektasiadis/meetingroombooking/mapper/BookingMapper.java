@@ -43,7 +43,8 @@ public class BookingMapper {
                 booking.getEndTime(),
                 booking.getPurpose(),
                 userId,
-                meetingRoomId
+                meetingRoomId,
+                booking.getVersion()
         );
     }
 }
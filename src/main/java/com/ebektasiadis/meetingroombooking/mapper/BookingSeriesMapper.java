@@ -0,0 +1,72 @@
+package com.ebektasiadis.meetingroombooking.mapper;
+
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.BookingOccurrenceResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesResponse;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+
+public class BookingSeriesMapper {
+    public static BookingSeries toEntity(BookingSeriesRequest bookingSeriesRequest) {
+        if (bookingSeriesRequest == null) {
+            return null;
+        }
+
+        BookingSeries series = new BookingSeries();
+
+        User bookedBy = new User();
+        bookedBy.setId(bookingSeriesRequest.userId());
+
+        MeetingRoom meetingRoom = new MeetingRoom();
+        meetingRoom.setId(bookingSeriesRequest.meetingRoomId());
+
+        series.setStartTime(bookingSeriesRequest.startTime());
+        series.setEndTime(bookingSeriesRequest.endTime());
+        series.setPurpose(bookingSeriesRequest.purpose());
+        series.setFrequency(bookingSeriesRequest.frequency());
+        series.setInterval(bookingSeriesRequest.interval() != null ? bookingSeriesRequest.interval() : 1);
+        series.setUntil(bookingSeriesRequest.until());
+        series.setCount(bookingSeriesRequest.count());
+        series.setBookedBy(bookedBy);
+        series.setMeetingRoom(meetingRoom);
+
+        return series;
+    }
+
+    public static BookingSeriesResponse toResponse(BookingSeries series) {
+        if (series == null) {
+            return null;
+        }
+
+        Long userId = series.getBookedBy() != null ? series.getBookedBy().getId() : null;
+        Long meetingRoomId = series.getMeetingRoom() != null ? series.getMeetingRoom().getId() : null;
+
+        return new BookingSeriesResponse(
+                series.getId(),
+                series.getStartTime(),
+                series.getEndTime(),
+                series.getPurpose(),
+                userId,
+                meetingRoomId,
+                series.getFrequency(),
+                series.getInterval(),
+                series.getUntil(),
+                series.getCount(),
+                series.getLastEndTime(),
+                series.getVersion()
+        );
+    }
+
+    public static BookingOccurrenceResponse toOccurrenceResponse(BookingSeries series, BookedInterval occurrence) {
+        return new BookingOccurrenceResponse(
+                series.getId(),
+                occurrence.startTime(),
+                occurrence.endTime(),
+                series.getPurpose(),
+                series.getBookedBy().getId(),
+                occurrence.meetingRoomId()
+        );
+    }
+}
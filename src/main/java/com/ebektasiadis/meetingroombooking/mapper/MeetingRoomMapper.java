@@ -31,7 +31,8 @@ public class MeetingRoomMapper {
                 meetingRoom.getCapacity(),
                 meetingRoom.getLocation(),
                 meetingRoom.getHasProjector(),
-                meetingRoom.getHasWhiteboard()
+                meetingRoom.getHasWhiteboard(),
+                meetingRoom.getVersion()
         );
     }
 }
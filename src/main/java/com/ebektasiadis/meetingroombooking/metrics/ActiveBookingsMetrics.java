@@ -0,0 +1,38 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Publishes the number of bookings of every meeting room that have not ended yet. The counts come from a single
+ * grouped query refreshed on a fixed delay, so scraping the gauges never touches the database.
+ */
+@Component
+public class ActiveBookingsMetrics {
+
+    private final BookingRepository bookingRepository;
+    private final Clock clock;
+    private final MultiGauge activeBookings;
+
+    public ActiveBookingsMetrics(BookingRepository bookingRepository, Clock clock, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.clock = clock;
+        this.activeBookings = MultiGauge.builder("bookings.active")
+                .description("Number of bookings of a meeting room that have not ended yet")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.bookings.metrics.active-refresh-interval:PT1M}")
+    public void refresh() {
+        activeBookings.register(bookingRepository.countByMeetingRoomAndEndTimeAfter(LocalDateTime.now(clock)).stream()
+                .map(row -> MultiGauge.Row.of(Tags.of("meetingRoomId", String.valueOf(row.meetingRoomId())), row.count()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingDateConflictException;
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the {@link AbstractApiException}s raised by the services, tagged by exception type. Booking conflicts are
+ * additionally counted per meeting room, which shows the rooms whose demand exceeds their availability.
+ */
+@Component
+public class ApiExceptionMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public ApiExceptionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(AbstractApiException ex) {
+        Counter.builder("api.exceptions")
+                .description("Number of API exceptions raised by the services")
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+
+        if (ex instanceof BookingDateConflictException conflict) {
+            Counter.builder("bookings.conflicts")
+                    .description("Number of bookings rejected because the meeting room was already booked")
+                    .tag("meetingRoomId", String.valueOf(conflict.getMeetingRoomId()))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
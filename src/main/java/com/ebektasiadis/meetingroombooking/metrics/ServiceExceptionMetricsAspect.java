@@ -0,0 +1,20 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceExceptionMetricsAspect {
+
+    private final ApiExceptionMetrics apiExceptionMetrics;
+
+    @AfterThrowing(pointcut = "within(com.ebektasiadis.meetingroombooking.service..*)", throwing = "ex")
+    public void recordApiException(AbstractApiException ex) {
+        apiExceptionMetrics.record(ex);
+    }
+}
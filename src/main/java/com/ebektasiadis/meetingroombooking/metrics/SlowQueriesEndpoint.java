@@ -0,0 +1,64 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lists the queries with the slowest single execution since startup, taken from the Hibernate statistics. Each
+ * entry also carries the execution count, the average and total time and the number of rows returned, so a query
+ * that is slow once can be told apart from one that is slow every time.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final Statistics statistics;
+
+    public SlowQueriesEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries(@Nullable Integer limit) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> SlowQuery.of(query, statistics.getQueryStatistics(query)))
+                .filter(slowQuery -> slowQuery.executionCount() > 0)
+                .sorted(Comparator.comparingLong(SlowQuery::maxTimeMs)
+                        .thenComparingLong(SlowQuery::totalTimeMs)
+                        .reversed())
+                .limit(limit == null ? DEFAULT_LIMIT : Math.max(0, limit))
+                .toList();
+    }
+
+    public record SlowQuery(
+            String query,
+            long executionCount,
+            long maxTimeMs,
+            long averageTimeMs,
+            long totalTimeMs,
+            long rowCount
+    ) {
+        static SlowQuery of(String query, QueryStatistics queryStatistics) {
+            return new SlowQuery(
+                    query,
+                    queryStatistics.getExecutionCount(),
+                    queryStatistics.getExecutionMaxTime(),
+                    queryStatistics.getExecutionAvgTime(),
+                    queryStatistics.getExecutionTotalTime(),
+                    queryStatistics.getExecutionRowCount()
+            );
+        }
+    }
+}
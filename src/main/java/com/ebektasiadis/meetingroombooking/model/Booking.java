@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -11,11 +13,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_bookings_meeting_room_id_start_time_id", columnList = "meeting_room_id, start_time, id"),
+        @Index(name = "idx_bookings_meeting_room_id_start_time_end_time", columnList = "meeting_room_id, start_time, end_time"),
+        @Index(name = "idx_bookings_user_id_start_time_id", columnList = "user_id, start_time, id")
+})
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -28,11 +36,17 @@ public class Booking {
     @Column(name = "purpose", nullable = false)
     private String purpose;
 
-    @JoinColumn(name = "user_id", nullable = false)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_bookings_user"))
     @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User bookedBy;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "meeting_room_id", nullable = false)
+    @JoinColumn(name = "meeting_room_id", nullable = false, foreignKey = @ForeignKey(name = "fk_bookings_meeting_room"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private MeetingRoom meetingRoom;
 }
@@ -0,0 +1,30 @@
+package com.ebektasiadis.meetingroombooking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Longest booking ever stored for a meeting room, maintained by the {@code bookings_no_overlap} trigger. Only read by
+ * the application to bound overlap queries on {@code start_time} from below, so that they skip older partitions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "booking_max_durations")
+public class BookingMaxDuration {
+
+    @Id
+    @Column(name = "meeting_room_id")
+    private Long meetingRoomId;
+
+    @Column(name = "max_duration_seconds", nullable = false)
+    private Long maxDurationSeconds;
+}
@@ -0,0 +1,67 @@
+package com.ebektasiadis.meetingroombooking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_series", indexes = {
+        @Index(name = "idx_booking_series_meeting_room_id_start_time_last_end_time", columnList = "meeting_room_id, start_time, last_end_time"),
+        @Index(name = "idx_booking_series_user_id", columnList = "user_id")
+})
+public class BookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_series_id_seq")
+    @SequenceGenerator(name = "booking_series_id_seq", sequenceName = "booking_series_id_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "recurrence_interval", nullable = false)
+    private Integer interval;
+
+    @Column(name = "until_date")
+    private LocalDate until;
+
+    @Column(name = "occurrence_count")
+    private Integer count;
+
+    @Column(name = "last_end_time", nullable = false)
+    private LocalDateTime lastEndTime;
+
+    @Column(name = "purpose", nullable = false)
+    private String purpose;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_booking_series_user"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User bookedBy;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meeting_room_id", nullable = false, foreignKey = @ForeignKey(name = "fk_booking_series_meeting_room"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private MeetingRoom meetingRoom;
+}
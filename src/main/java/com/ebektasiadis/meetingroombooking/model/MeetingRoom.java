@@ -4,19 +4,21 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-
-import java.util.HashSet;
-import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "meeting-rooms")
 @Table(name = "meeting_rooms")
 public class MeetingRoom {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_rooms_id_seq")
+    @SequenceGenerator(name = "meeting_rooms_id_seq", sequenceName = "meeting_rooms_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -35,6 +37,7 @@ public class MeetingRoom {
     @Column(name = "has_whiteboard", nullable = false)
     private Boolean hasWhiteboard;
 
-    @OneToMany(mappedBy = "meetingRoom", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private Set<Booking> bookings = new HashSet<>();
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,58 @@
+package com.ebektasiadis.meetingroombooking.partition;
+
+import com.ebektasiadis.meetingroombooking.config.BookingPartitionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the {@code bookings} table rolling. Partitions for the current month and the
+ * configured number of months ahead are created before bookings arrive, and the oldest partitions are detached
+ * once every booking in them ended longer ago than the retention period. Detached partitions remain in the
+ * database as standalone tables until they are archived or dropped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.bookings.partitions", name = "enabled", havingValue = "true")
+public class BookingPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingPartitionMaintenance.class);
+
+    static final String CREATE_PARTITION = "select create_bookings_partition(cast(? as date))";
+    static final String DETACH_PARTITIONS = "select detach_bookings_partitions(cast(? as timestamp))";
+
+    private final JdbcOperations jdbcOperations;
+    private final BookingPartitionProperties properties;
+    private final Clock clock;
+
+    public BookingPartitionMaintenance(JdbcOperations jdbcOperations, BookingPartitionProperties properties, Clock clock) {
+        this.jdbcOperations = jdbcOperations;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bookings.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        YearMonth currentMonth = YearMonth.now(clock);
+
+        for (int month = 0; month <= properties.monthsAhead(); month++) {
+            String created = jdbcOperations.queryForObject(CREATE_PARTITION, String.class, currentMonth.plusMonths(month).atDay(1));
+            if (created != null) {
+                log.info("Created bookings partition {}", created);
+            }
+        }
+
+        LocalDate cutoff = currentMonth.atDay(1).minus(properties.retention());
+        List<String> detached = jdbcOperations.queryForList(DETACH_PARTITIONS, String.class, cutoff.atStartOfDay());
+        if (!detached.isEmpty()) {
+            log.info("Detached bookings partitions {} ending before {}", detached, cutoff);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ebektasiadis.meetingroombooking.recurrence;
+
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+public final class Occurrences {
+
+    public static final Comparator<BookedInterval> BY_START_TIME = Comparator.comparing(BookedInterval::startTime);
+
+    private Occurrences() {
+    }
+
+    public static List<BookedInterval> of(BookingSeries series, LocalDateTime from, LocalDateTime to) {
+        Duration duration = Duration.between(series.getStartTime(), series.getEndTime());
+        Long meetingRoomId = series.getMeetingRoom().getId();
+
+        return RecurrenceRule.of(series).startsOverlapping(series.getStartTime(), duration, from, to).stream()
+                .map(start -> new BookedInterval(meetingRoomId, start, start.plus(duration)))
+                .toList();
+    }
+
+    public static List<BookedInterval> of(Collection<BookingSeries> series, LocalDateTime from, LocalDateTime to) {
+        return series.stream()
+                .flatMap(single -> of(single, from, to).stream())
+                .sorted(BY_START_TIME)
+                .toList();
+    }
+
+    /**
+     * Sweeps over both lists, which must be ordered by start time, and returns the first candidate that overlaps an
+     * existing interval. Each side only keeps the latest end time it has seen so far, so the check is a single
+     * linear pass instead of a lookup per candidate.
+     */
+    public static Optional<BookedInterval> firstConflict(List<BookedInterval> candidates, List<BookedInterval> existing) {
+        BookedInterval latestCandidate = null;
+        LocalDateTime existingEnd = null;
+        int next = 0;
+
+        for (BookedInterval candidate : candidates) {
+            while (next < existing.size() && existing.get(next).startTime().isBefore(candidate.startTime())) {
+                BookedInterval booked = existing.get(next++);
+                if (latestCandidate != null && latestCandidate.endTime().isAfter(booked.startTime())) {
+                    return Optional.of(latestCandidate);
+                }
+
+                if (existingEnd == null || booked.endTime().isAfter(existingEnd)) {
+                    existingEnd = booked.endTime();
+                }
+            }
+
+            if (existingEnd != null && existingEnd.isAfter(candidate.startTime())) {
+                return Optional.of(candidate);
+            }
+
+            if (latestCandidate == null || candidate.endTime().isAfter(latestCandidate.endTime())) {
+                latestCandidate = candidate;
+            }
+        }
+
+        if (latestCandidate != null && next < existing.size() && latestCandidate.endTime().isAfter(existing.get(next).startTime())) {
+            return Optional.of(latestCandidate);
+        }
+
+        return Optional.empty();
+    }
+}
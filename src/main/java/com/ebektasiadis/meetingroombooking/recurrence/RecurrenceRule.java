@@ -0,0 +1,78 @@
+package com.ebektasiadis.meetingroombooking.recurrence;
+
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date arithmetic of a recurrence. The n-th occurrence starts n * interval days, weeks or months after the first
+ * one; monthly occurrences keep the first occurrence's day of month and fall back to the last day of shorter months.
+ * A rule ends either after a number of occurrences or with the last occurrence starting on or before a date.
+ * <p>
+ * Every occurrence is computed from the first one, so expanding a window jumps straight to the first occurrence
+ * that can overlap it instead of walking the series from its start.
+ */
+public record RecurrenceRule(RecurrenceFrequency frequency, int interval, LocalDate until, Integer count) {
+
+    public static RecurrenceRule of(BookingSeries series) {
+        return new RecurrenceRule(series.getFrequency(), series.getInterval(), series.getUntil(), series.getCount());
+    }
+
+    public LocalDateTime start(LocalDateTime firstStart, long index) {
+        return firstStart.plus(index * interval, frequency.getUnit());
+    }
+
+    public long occurrenceCount(LocalDateTime firstStart) {
+        if (count != null) {
+            return count;
+        }
+
+        if (until.isBefore(firstStart.toLocalDate())) {
+            return 0;
+        }
+
+        long index = frequency.getUnit().between(firstStart.toLocalDate(), until) / interval;
+        while (!start(firstStart, index + 1).toLocalDate().isAfter(until)) {
+            index++;
+        }
+
+        return index + 1;
+    }
+
+    public List<LocalDateTime> starts(LocalDateTime firstStart) {
+        long occurrences = occurrenceCount(firstStart);
+        List<LocalDateTime> starts = new ArrayList<>((int) Math.min(occurrences, Integer.MAX_VALUE));
+
+        for (long index = 0; index < occurrences; index++) {
+            starts.add(start(firstStart, index));
+        }
+
+        return starts;
+    }
+
+    public List<LocalDateTime> startsOverlapping(LocalDateTime firstStart, Duration duration, LocalDateTime from, LocalDateTime to) {
+        long occurrences = occurrenceCount(firstStart);
+        long index = Math.max(0, frequency.getUnit().between(firstStart, from.minus(duration)) / interval);
+
+        while (index < occurrences && !start(firstStart, index).plus(duration).isAfter(from)) {
+            index++;
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (; index < occurrences; index++) {
+            LocalDateTime start = start(firstStart, index);
+            if (!start.isBefore(to)) {
+                break;
+            }
+
+            starts.add(start);
+        }
+
+        return starts;
+    }
+}
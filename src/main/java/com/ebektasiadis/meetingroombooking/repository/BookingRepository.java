@@ -1,15 +1,131 @@
 package com.ebektasiadis.meetingroombooking.repository;
 
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomBookingCount;
 import com.ebektasiadis.meetingroombooking.model.Booking;
-import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    public List<Booking> findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(MeetingRoom meetingRoom, LocalDateTime endTime, LocalDateTime startTime);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    /**
+     * Bookings are partitioned by month of {@code start_time}. Queries for bookings overlapping an interval bound
+     * {@code start_time} from below by the longest booking stored for the rooms involved, so they do not scan every
+     * older partition. Without a stored maximum (no bookings yet, or a schema that does not track it) they are unbounded.
+     */
+    private static LocalDateTime earliestStart(Long maxDurationSeconds, LocalDateTime from) {
+        return maxDurationSeconds == null ? null : from.minusSeconds(maxDurationSeconds);
+    }
 
-    public List<Booking> findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(MeetingRoom meetingRoom, LocalDateTime endTime, LocalDateTime startTime, Long id);
-}
+    @Query("select max(d.maxDurationSeconds) from BookingMaxDuration d where d.meetingRoomId in :meetingRoomIds")
+    public Long findMaxDurationSeconds(@Param("meetingRoomIds") Collection<Long> meetingRoomIds);
+
+    @Query("select max(d.maxDurationSeconds) from BookingMaxDuration d")
+    public Long findMaxDurationSeconds();
+
+    public default List<Booking> findByMeetingRoomIdAndEndTimeAfter(Long meetingRoomId, LocalDateTime time) {
+        return findByMeetingRoomIdAndEndTimeAfter(meetingRoomId,
+                earliestStart(findMaxDurationSeconds(List.of(meetingRoomId)), time), time);
+    }
+
+    @Query("""
+            select b
+            from Booking b
+            where b.meetingRoom.id = :meetingRoomId
+              and (cast(:earliestStart as LocalDateTime) is null or b.startTime > :earliestStart)
+              and b.endTime > :time
+            """)
+    public List<Booking> findByMeetingRoomIdAndEndTimeAfter(@Param("meetingRoomId") Long meetingRoomId,
+                                                            @Param("earliestStart") LocalDateTime earliestStart,
+                                                            @Param("time") LocalDateTime time);
+
+    public default List<BookedInterval> findBookedIntervals(Collection<Long> meetingRoomIds, LocalDateTime from, LocalDateTime to) {
+        return findBookedIntervals(meetingRoomIds, earliestStart(findMaxDurationSeconds(meetingRoomIds), from), from, to);
+    }
+
+    @Query("""
+            select new com.ebektasiadis.meetingroombooking.dto.BookedInterval(b.meetingRoom.id, b.startTime, b.endTime)
+            from Booking b
+            where b.meetingRoom.id in :meetingRoomIds
+              and (cast(:earliestStart as LocalDateTime) is null or b.startTime > :earliestStart)
+              and b.startTime < :to
+              and b.endTime > :from
+            order by b.meetingRoom.id, b.startTime
+            """)
+    public List<BookedInterval> findBookedIntervals(@Param("meetingRoomIds") Collection<Long> meetingRoomIds,
+                                                    @Param("earliestStart") LocalDateTime earliestStart,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    public default boolean existsOverlapping(Long meetingRoomId, LocalDateTime startTime, LocalDateTime endTime, Long bookingIdToExclude) {
+        return existsOverlapping(meetingRoomId, earliestStart(findMaxDurationSeconds(List.of(meetingRoomId)), startTime),
+                startTime, endTime, bookingIdToExclude);
+    }
+
+    @Query("""
+            select count(b) > 0
+            from Booking b
+            where b.meetingRoom.id = :meetingRoomId
+              and (:bookingIdToExclude is null or b.id <> :bookingIdToExclude)
+              and (cast(:earliestStart as LocalDateTime) is null or b.startTime > :earliestStart)
+              and b.startTime < :endTime
+              and b.endTime > :startTime
+            """)
+    public boolean existsOverlapping(@Param("meetingRoomId") Long meetingRoomId,
+                                     @Param("earliestStart") LocalDateTime earliestStart,
+                                     @Param("startTime") LocalDateTime startTime,
+                                     @Param("endTime") LocalDateTime endTime,
+                                     @Param("bookingIdToExclude") Long bookingIdToExclude);
 
+    public default List<MeetingRoomBookingCount> countByMeetingRoomAndEndTimeAfter(LocalDateTime time) {
+        return countByMeetingRoomAndEndTimeAfter(earliestStart(findMaxDurationSeconds(), time), time);
+    }
+
+    @Query("""
+            select new com.ebektasiadis.meetingroombooking.dto.MeetingRoomBookingCount(b.meetingRoom.id, count(b))
+            from Booking b
+            where (cast(:earliestStart as LocalDateTime) is null or b.startTime > :earliestStart)
+              and b.endTime > :time
+            group by b.meetingRoom.id
+            """)
+    public List<MeetingRoomBookingCount> countByMeetingRoomAndEndTimeAfter(@Param("earliestStart") LocalDateTime earliestStart,
+                                                                          @Param("time") LocalDateTime time);
+
+    @Query("select distinct b.meetingRoom.id from Booking b where b.bookedBy.id = :userId")
+    public List<Long> findMeetingRoomIdsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+            select new com.ebektasiadis.meetingroombooking.dto.BookingResponse(b.id, b.startTime, b.endTime, b.purpose, b.bookedBy.id, b.meetingRoom.id, b.version)
+            from Booking b
+            where b.id = :id
+            """)
+    public Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
+    @Query("select b.version from Booking b where b.id = :id")
+    public Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Booking b where b.id = :id")
+    public int deleteBookingById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select b from Booking b order by b.id")
+    public Stream<Booking> streamAllOrderedById();
+}
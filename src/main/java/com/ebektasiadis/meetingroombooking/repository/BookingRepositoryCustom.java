@@ -0,0 +1,17 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingCursor;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepositoryCustom {
+    List<BookingResponse> findPage(BookingSearchCriteria criteria, BookingCursor after, int limit);
+
+    Optional<Long> updateById(Long id, LocalDateTime startTime, LocalDateTime endTime, String purpose, User bookedBy, MeetingRoom meetingRoom, Long version);
+}
@@ -0,0 +1,118 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingCursor;
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String UPDATE_BY_ID = """
+            update bookings
+            set start_time = ?, end_time = ?, purpose = ?, user_id = ?, meeting_room_id = ?, version = version + 1
+            where id = ?
+            """;
+    private static final String AND_VERSION = " and version = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findPage(BookingSearchCriteria criteria, BookingCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponse> query = cb.createQuery(BookingResponse.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (criteria.meetingRoomId() != null) {
+            predicates.add(cb.equal(booking.get("meetingRoom").get("id"), criteria.meetingRoomId()));
+        }
+
+        if (criteria.userId() != null) {
+            predicates.add(cb.equal(booking.get("bookedBy").get("id"), criteria.userId()));
+        }
+
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(booking.<LocalDateTime>get("startTime"), criteria.from()));
+        }
+
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThan(booking.<LocalDateTime>get("startTime"), criteria.to()));
+        }
+
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(booking.<LocalDateTime>get("startTime"), after.startTime()),
+                    cb.and(
+                            cb.equal(booking.get("startTime"), after.startTime()),
+                            cb.greaterThan(booking.<Long>get("id"), after.id())
+                    )
+            ));
+        }
+
+        query.select(cb.construct(
+                        BookingResponse.class,
+                        booking.get("id"),
+                        booking.get("startTime"),
+                        booking.get("endTime"),
+                        booking.get("purpose"),
+                        booking.get("bookedBy").get("id"),
+                        booking.get("meetingRoom").get("id"),
+                        booking.get("version")
+                ))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(booking.get("startTime")), cb.asc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // The new version comes back as a generated key, which PostgreSQL answers with UPDATE ... RETURNING, so a
+    // successful update needs no second round trip to read it.
+    @Override
+    @Transactional
+    public Optional<Long> updateById(Long id, LocalDateTime startTime, LocalDateTime endTime, String purpose, User bookedBy, MeetingRoom meetingRoom, Long version) {
+        String sql = version == null ? UPDATE_BY_ID : UPDATE_BY_ID + AND_VERSION;
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"version"})) {
+                statement.setObject(1, startTime);
+                statement.setObject(2, endTime);
+                statement.setString(3, purpose);
+                statement.setLong(4, bookedBy.getId());
+                statement.setLong(5, meetingRoom.getId());
+                statement.setLong(6, id);
+                if (version != null) {
+                    statement.setLong(7, version);
+                }
+
+                if (statement.executeUpdate() == 0) {
+                    return Optional.empty();
+                }
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    return keys.next() ? Optional.of(keys.getLong(1)) : Optional.empty();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+
+    public List<BookingSeries> findByMeetingRoomIdAndLastEndTimeAfter(Long meetingRoomId, LocalDateTime time);
+
+    @Query("""
+            select s
+            from BookingSeries s
+            where s.meetingRoom.id in :meetingRoomIds
+              and s.startTime < :to
+              and s.lastEndTime > :from
+            """)
+    public List<BookingSeries> findOverlapping(@Param("meetingRoomIds") Collection<Long> meetingRoomIds,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    @Query("""
+            select s
+            from BookingSeries s
+            where (:meetingRoomId is null or s.meetingRoom.id = :meetingRoomId)
+              and s.startTime < :to
+              and s.lastEndTime > :from
+            order by s.id
+            """)
+    public List<BookingSeries> findOverlappingWindow(@Param("meetingRoomId") Long meetingRoomId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BookingSeries s where s.id = :id")
+    public int deleteSeriesById(@Param("id") Long id);
+}
@@ -1,10 +1,61 @@
 package com.ebektasiadis.meetingroombooking.repository;
 
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
 import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface MeetingRoomRepository extends JpaRepository<MeetingRoom, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MeetingRoom> findByName(String name);
+
+    @Query("""
+            select m from MeetingRoom m
+            where (:minCapacity is null or m.capacity >= :minCapacity)
+              and (:projector = false or m.hasProjector = true)
+              and (:whiteboard = false or m.hasWhiteboard = true)
+            order by m.id
+            """)
+    List<MeetingRoom> findMatching(@Param("minCapacity") Integer minCapacity,
+                                   @Param("projector") boolean projector,
+                                   @Param("whiteboard") boolean whiteboard);
+
+    @Query("select new com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse(m.id, m.name, m.capacity, m.location, m.hasProjector, m.hasWhiteboard, m.version) from MeetingRoom m order by m.id")
+    List<MeetingRoomResponse> findAllResponses();
+
+    @Query("select new com.ebektasiadis.meetingroombooking.dto.CollectionVersion(count(m), coalesce(sum(m.version), 0L), coalesce(max(m.id), 0L)) from MeetingRoom m")
+    CollectionVersion findCollectionVersion();
+
+    @Query("select m.version from MeetingRoom m where m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // SimpleJpaRepository runs its reads in read-only transactions, which the routing data source sends to the
+    // read replica. The by-id lookups feed the response caches and the write paths, so they stay on the primary unless
+    // the caller already runs a read-only transaction.
+    @Override
+    @Transactional
+    Optional<MeetingRoom> findById(Long id);
+
+    @Override
+    @Transactional
+    List<MeetingRoom> findAllById(Iterable<Long> ids);
+
+    @Override
+    @Transactional
+    boolean existsById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MeetingRoom m where m.id = :id")
+    int deleteMeetingRoomById(@Param("id") Long id);
 }
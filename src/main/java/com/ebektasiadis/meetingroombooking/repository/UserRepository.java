@@ -1,12 +1,53 @@
 package com.ebektasiadis.meetingroombooking.repository;
 
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import com.ebektasiadis.meetingroombooking.dto.UserResponse;
 import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     public Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     public Optional<User> findByUsername(String username);
+
+    @Query("select new com.ebektasiadis.meetingroombooking.dto.UserResponse(u.id, u.username, u.email, u.version) from User u order by u.id")
+    public List<UserResponse> findAllResponses();
+
+    @Query("select new com.ebektasiadis.meetingroombooking.dto.CollectionVersion(count(u), coalesce(sum(u.version), 0L), coalesce(max(u.id), 0L)) from User u")
+    public CollectionVersion findCollectionVersion();
+
+    @Query("select u.version from User u where u.id = :id")
+    public Optional<Long> findVersionById(@Param("id") Long id);
+
+    // SimpleJpaRepository runs its reads in read-only transactions, which the routing data source sends to the
+    // read replica. The by-id lookups feed the response caches and the write paths, so they stay on the primary unless
+    // the caller already runs a read-only transaction.
+    @Override
+    @Transactional
+    public Optional<User> findById(Long id);
+
+    @Override
+    @Transactional
+    public List<User> findAllById(Iterable<Long> ids);
+
+    @Override
+    @Transactional
+    public boolean existsById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    public int deleteUserById(@Param("id") Long id);
 }
@@ -0,0 +1,23 @@
+package com.ebektasiadis.meetingroombooking.service;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingOccurrenceResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesResponse;
+import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingSeriesService {
+    BookingSeriesResponse getSeriesById(Long id) throws BookingSeriesNotFoundException;
+
+    List<BookingOccurrenceResponse> getOccurrences(Long id, LocalDateTime from, LocalDateTime to) throws BookingSeriesNotFoundException, BookingInvalidDateException;
+
+    List<BookingOccurrenceResponse> getOccurrencesInWindow(Long meetingRoomId, LocalDateTime from, LocalDateTime to) throws BookingInvalidDateException;
+
+    BookingSeriesResponse createSeries(BookingSeriesRequest bookingSeriesRequest) throws UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingSeriesInvalidRecurrenceException, BookingDateConflictException, BookingLockTimeoutException;
+
+    void deleteSeries(Long id) throws BookingSeriesNotFoundException;
+}
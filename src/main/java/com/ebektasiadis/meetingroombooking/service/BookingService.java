@@ -1,22 +1,33 @@
 package com.ebektasiadis.meetingroombooking.service;
 
+import com.ebektasiadis.meetingroombooking.dto.BookingBatchResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingPageResponse;
 import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
 import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
 import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface BookingService {
-    List<BookingResponse> getAllBookings();
+    BookingPageResponse getBookings(BookingSearchCriteria criteria, String cursor, int limit) throws BookingInvalidCursorException, BookingInvalidDateException;
+
+    void exportBookings(Consumer<BookingResponse> consumer);
+
+    Long getBookingVersion(Long id) throws BookingNotFoundException;
 
     BookingResponse getBookingById(Long id) throws BookingNotFoundException;
 
-    BookingResponse createBooking(BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException;
+    BookingResponse createBooking(BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException, BookingLockTimeoutException;
+
+    BookingBatchResponse createBookings(List<BookingRequest> bookingRequests) throws BookingLockTimeoutException;
 
-    BookingResponse updateBooking(Long id, BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException;
+    BookingResponse updateBooking(Long id, BookingRequest bookingRequest, Long expectedVersion) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException, BookingLockTimeoutException, ResourceVersionMismatchException;
 
     void deleteBooking(Long id) throws BookingNotFoundException;
 }
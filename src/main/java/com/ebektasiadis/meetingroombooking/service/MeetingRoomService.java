@@ -1,7 +1,12 @@
 package com.ebektasiadis.meetingroombooking.service;
 
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityCriteria;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityResponse;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomRequest;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomInvalidAvailabilityWindowException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNameExistsException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 
@@ -10,11 +15,17 @@ import java.util.List;
 public interface MeetingRoomService {
     List<MeetingRoomResponse> getAllMeetingRooms();
 
+    CollectionVersion getMeetingRoomsVersion();
+
+    List<MeetingRoomAvailabilityResponse> getAvailability(MeetingRoomAvailabilityCriteria criteria) throws MeetingRoomInvalidAvailabilityWindowException;
+
+    Long getMeetingRoomVersion(Long id) throws MeetingRoomNotFoundException;
+
     MeetingRoomResponse getMeetingRoomById(Long id) throws MeetingRoomNotFoundException;
 
     MeetingRoomResponse createMeetingRoom(MeetingRoomRequest meetingRoomRequest) throws MeetingRoomNameExistsException;
 
-    MeetingRoomResponse updateMeetingRoom(Long id, MeetingRoomRequest meetingRoomRequest) throws MeetingRoomNotFoundException, MeetingRoomNameExistsException;
+    MeetingRoomResponse updateMeetingRoom(Long id, MeetingRoomRequest meetingRoomRequest, Long expectedVersion) throws MeetingRoomNotFoundException, MeetingRoomNameExistsException, ResourceVersionMismatchException;
 
     void deleteMeetingRoom(Long id) throws MeetingRoomNotFoundException;
 }
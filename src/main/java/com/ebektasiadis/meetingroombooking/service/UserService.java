@@ -1,7 +1,9 @@
 package com.ebektasiadis.meetingroombooking.service;
 
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
 import com.ebektasiadis.meetingroombooking.dto.UserRequest;
 import com.ebektasiadis.meetingroombooking.dto.UserResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserEmailExistsException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserUsernameExistsException;
@@ -11,11 +13,15 @@ import java.util.List;
 public interface UserService {
     public List<UserResponse> getAllUsers();
 
+    public CollectionVersion getUsersVersion();
+
+    public Long getUserVersion(Long id) throws UserNotFoundException;
+
     public UserResponse getUserById(Long id) throws UserNotFoundException;
 
     public UserResponse createUser(UserRequest userRequest) throws UserEmailExistsException, UserUsernameExistsException;
 
-    public UserResponse updateUser(Long id, UserRequest userRequest) throws UserNotFoundException, UserEmailExistsException, UserUsernameExistsException;
+    public UserResponse updateUser(Long id, UserRequest userRequest, Long expectedVersion) throws UserNotFoundException, UserEmailExistsException, UserUsernameExistsException, ResourceVersionMismatchException;
 
     public void deleteUser(Long id) throws UserNotFoundException;
 }
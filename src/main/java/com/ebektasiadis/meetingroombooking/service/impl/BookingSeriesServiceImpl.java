@@ -0,0 +1,205 @@
+package com.ebektasiadis.meetingroombooking.service.impl;
+
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.BookingOccurrenceResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesResponse;
+import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.mapper.BookingSeriesMapper;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.recurrence.Occurrences;
+import com.ebektasiadis.meetingroombooking.recurrence.RecurrenceRule;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import com.ebektasiadis.meetingroombooking.service.BookingSeriesService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "booking.series.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
+public class BookingSeriesServiceImpl implements BookingSeriesService {
+
+    private static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    private static final String USER_FOREIGN_KEY = "fk_booking_series_user";
+    private static final String MEETING_ROOM_FOREIGN_KEY = "fk_booking_series_meeting_room";
+    // The only place the cap lives: booking_series_occurrences (V8) stops at each series' last_end_time instead.
+    private static final int MAX_OCCURRENCES = 1000;
+    private static final Duration MAX_OCCURRENCE_WINDOW = Duration.ofDays(31);
+
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final MeetingRoomRepository meetingRoomRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final MeetingRoomLocks meetingRoomLocks;
+    private final Clock clock;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingSeriesResponse getSeriesById(Long id) throws BookingSeriesNotFoundException {
+        return bookingSeriesRepository.findById(id)
+                .map(BookingSeriesMapper::toResponse)
+                .orElseThrow(() -> new BookingSeriesNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingOccurrenceResponse> getOccurrences(Long id, LocalDateTime from, LocalDateTime to) throws BookingSeriesNotFoundException, BookingInvalidDateException {
+        validateWindow(from, to);
+
+        BookingSeries series = bookingSeriesRepository.findById(id)
+                .orElseThrow(() -> new BookingSeriesNotFoundException(id));
+
+        return Occurrences.of(series, from, to).stream()
+                .map(occurrence -> BookingSeriesMapper.toOccurrenceResponse(series, occurrence))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingOccurrenceResponse> getOccurrencesInWindow(Long meetingRoomId, LocalDateTime from, LocalDateTime to) throws BookingInvalidDateException {
+        validateWindow(from, to);
+
+        return bookingSeriesRepository.findOverlappingWindow(meetingRoomId, from, to).stream()
+                .flatMap(series -> Occurrences.of(series, from, to).stream()
+                        .map(occurrence -> BookingSeriesMapper.toOccurrenceResponse(series, occurrence)))
+                .sorted(Comparator.comparing(BookingOccurrenceResponse::startTime))
+                .toList();
+    }
+
+    private void validateWindow(LocalDateTime from, LocalDateTime to) throws BookingInvalidDateException {
+        if (!from.isBefore(to)) {
+            throw new BookingInvalidDateException(from, to);
+        }
+
+        if (Duration.between(from, to).compareTo(MAX_OCCURRENCE_WINDOW) > 0) {
+            throw new BookingInvalidDateException(from, to, MAX_OCCURRENCE_WINDOW);
+        }
+    }
+
+    @Override
+    public BookingSeriesResponse createSeries(BookingSeriesRequest bookingSeriesRequest) throws UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingSeriesInvalidRecurrenceException, BookingDateConflictException, BookingLockTimeoutException {
+        return meetingRoomLocks.withLock(bookingSeriesRequest.meetingRoomId(), () -> {
+            BookingSeries series = BookingSeriesMapper.toEntity(bookingSeriesRequest);
+
+            List<BookedInterval> occurrences = expand(series);
+            validateAgainstExisting(series.getMeetingRoom().getId(), occurrences);
+
+            series.setLastEndTime(occurrences.getLast().endTime());
+            series.setBookedBy(userRepository.getReferenceById(series.getBookedBy().getId()));
+            series.setMeetingRoom(meetingRoomRepository.getReferenceById(series.getMeetingRoom().getId()));
+
+            series = saveSeries(series);
+            bookingIntervalIndex.recordSeries(series);
+
+            return BookingSeriesMapper.toResponse(series);
+        });
+    }
+
+    private List<BookedInterval> expand(BookingSeries series) throws BookingInvalidDateException, BookingPastStartDateException, BookingSeriesInvalidRecurrenceException {
+        LocalDateTime startTime = series.getStartTime();
+        LocalDateTime endTime = series.getEndTime();
+
+        if (startTime.isBefore(LocalDateTime.now(clock))) {
+            throw new BookingPastStartDateException(startTime);
+        }
+
+        if (!startTime.isBefore(endTime)) {
+            throw new BookingInvalidDateException(startTime, endTime);
+        }
+
+        if ((series.getUntil() == null) == (series.getCount() == null)) {
+            throw invalidRecurrence(series, "exactly one of until and count must be given");
+        }
+
+        RecurrenceRule rule = RecurrenceRule.of(series);
+        long occurrenceCount = rule.occurrenceCount(startTime);
+        if (occurrenceCount == 0) {
+            throw invalidRecurrence(series, "until is before the first occurrence");
+        }
+
+        if (occurrenceCount > MAX_OCCURRENCES) {
+            throw invalidRecurrence(series, String.format("a series can have at most %d occurrences", MAX_OCCURRENCES));
+        }
+
+        Duration duration = Duration.between(startTime, endTime);
+        Long meetingRoomId = series.getMeetingRoom().getId();
+        List<BookedInterval> occurrences = rule.starts(startTime).stream()
+                .map(start -> new BookedInterval(meetingRoomId, start, start.plus(duration)))
+                .toList();
+
+        for (int i = 1; i < occurrences.size(); i++) {
+            if (occurrences.get(i).startTime().isBefore(occurrences.get(i - 1).endTime())) {
+                throw invalidRecurrence(series, "occurrences overlap each other");
+            }
+        }
+
+        return occurrences;
+    }
+
+    private BookingSeriesInvalidRecurrenceException invalidRecurrence(BookingSeries series, String reason) {
+        return new BookingSeriesInvalidRecurrenceException(series.getFrequency(), series.getInterval(), series.getUntil(), series.getCount(), reason);
+    }
+
+    private void validateAgainstExisting(Long meetingRoomId, List<BookedInterval> occurrences) throws BookingDateConflictException {
+        LocalDateTime from = occurrences.getFirst().startTime();
+        LocalDateTime to = occurrences.getLast().endTime();
+        List<Long> meetingRoomIds = List.of(meetingRoomId);
+
+        List<BookedInterval> existing = Stream.concat(
+                        bookingRepository.findBookedIntervals(meetingRoomIds, from, to).stream(),
+                        Occurrences.of(bookingSeriesRepository.findOverlapping(meetingRoomIds, from, to), from, to).stream())
+                .sorted(Occurrences.BY_START_TIME)
+                .toList();
+
+        if (Occurrences.firstConflict(occurrences, existing).isPresent()) {
+            throw new BookingDateConflictException(meetingRoomId);
+        }
+    }
+
+    private BookingSeries saveSeries(BookingSeries series) throws UserNotFoundException, MeetingRoomNotFoundException, BookingDateConflictException {
+        try {
+            return bookingSeriesRepository.saveAndFlush(series);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, NO_OVERLAP_CONSTRAINT)) {
+                throw new BookingDateConflictException(series.getMeetingRoom().getId());
+            }
+
+            if (ConstraintViolations.isViolationOf(ex, USER_FOREIGN_KEY)) {
+                throw new UserNotFoundException(series.getBookedBy().getId());
+            }
+
+            if (ConstraintViolations.isViolationOf(ex, MEETING_ROOM_FOREIGN_KEY)) {
+                throw new MeetingRoomNotFoundException(series.getMeetingRoom().getId());
+            }
+
+            throw ex;
+        }
+    }
+
+    @Override
+    public void deleteSeries(Long id) throws BookingSeriesNotFoundException {
+        if (bookingSeriesRepository.deleteSeriesById(id) == 0) {
+            throw new BookingSeriesNotFoundException(id);
+        }
+
+        bookingIntervalIndex.forgetSeries(id);
+    }
+}
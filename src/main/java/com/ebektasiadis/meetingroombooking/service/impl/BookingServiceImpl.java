@@ -1,11 +1,15 @@
 package com.ebektasiadis.meetingroombooking.service.impl;
 
-import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
-import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.dto.*;
 import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.common.AbstractApiException;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
 import com.ebektasiadis.meetingroombooking.mapper.BookingMapper;
+import com.ebektasiadis.meetingroombooking.metrics.ApiExceptionMetrics;
 import com.ebektasiadis.meetingroombooking.model.Booking;
 import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
 import com.ebektasiadis.meetingroombooking.model.User;
@@ -13,55 +17,106 @@ import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
 import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
 import com.ebektasiadis.meetingroombooking.repository.UserRepository;
 import com.ebektasiadis.meetingroombooking.service.BookingService;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "bookings.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    private static final String USER_FOREIGN_KEY = "fk_bookings_user";
+    private static final String MEETING_ROOM_FOREIGN_KEY = "fk_bookings_meeting_room";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String RESOURCE = "booking";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final MeetingRoomRepository meetingRoomRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final MeetingRoomLocks meetingRoomLocks;
+    private final ApiExceptionMetrics apiExceptionMetrics;
+    private final EntityManager entityManager;
+    private final TransactionOperations transactionOperations;
     private final Clock clock;
 
     @Override
-    public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream().map(BookingMapper::toResponse).collect(Collectors.toList());
-    }
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookings(BookingSearchCriteria criteria, String cursor, int limit) throws BookingInvalidCursorException, BookingInvalidDateException {
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new BookingInvalidDateException(criteria.from(), criteria.to());
+        }
 
-    @Override
-    public BookingResponse getBookingById(Long id) throws BookingNotFoundException {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new BookingNotFoundException(id));
+        BookingCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = BookingCursor.decode(cursor);
+            } catch (IllegalArgumentException ex) {
+                throw new BookingInvalidCursorException(cursor);
+            }
+        }
+
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<BookingResponse> bookings = bookingRepository.findPage(criteria, after, pageSize + 1);
 
-        return BookingMapper.toResponse(booking);
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = bookings.subList(0, pageSize);
+
+            BookingResponse last = bookings.getLast();
+            nextCursor = new BookingCursor(last.startTime(), last.id()).encode();
+        }
+
+        return new BookingPageResponse(bookings, nextCursor);
     }
 
-    private void validateAndPrepareBooking(Booking booking) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
-        validateAndPrepareBooking(booking, null);
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(Consumer<BookingResponse> consumer) {
+        try (Stream<Booking> bookings = bookingRepository.streamAllOrderedById()) {
+            bookings.forEach(booking -> {
+                consumer.accept(BookingMapper.toResponse(booking));
+                entityManager.detach(booking);
+            });
+        }
     }
 
-    private void validateAndPrepareBooking(Booking booking, Long bookingIdToExclude)
-            throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
+    @Override
+    public Long getBookingVersion(Long id) throws BookingNotFoundException {
+        return bookingRepository.findVersionById(id)
+                .orElseThrow(() -> new BookingNotFoundException(id));
+    }
 
-        Long userId = booking.getBookedBy().getId();
-        User bookedBy = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+    // Stays on the primary like getBookingVersion, so the ETag check and the body it answers with read the same row.
+    @Override
+    public BookingResponse getBookingById(Long id) throws BookingNotFoundException {
+        return bookingRepository.findResponseById(id)
+                .orElseThrow(() -> new BookingNotFoundException(id));
+    }
 
-        booking.setBookedBy(bookedBy);
+    private void prepareReferences(Booking booking) {
+        booking.setBookedBy(userRepository.getReferenceById(booking.getBookedBy().getId()));
+        booking.setMeetingRoom(meetingRoomRepository.getReferenceById(booking.getMeetingRoom().getId()));
+    }
 
+    private void validateInterval(Booking booking, Long bookingIdToExclude)
+            throws BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
 
         Long meetingRoomId = booking.getMeetingRoom().getId();
-        MeetingRoom meetingRoom = meetingRoomRepository.findById(meetingRoomId)
-                .orElseThrow(() -> new MeetingRoomNotFoundException(meetingRoomId));
-        booking.setMeetingRoom(meetingRoom);
-
         LocalDateTime startTime = booking.getStartTime();
         LocalDateTime endTime = booking.getEndTime();
 
@@ -77,57 +132,206 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingInvalidDateException(startTime, endTime);
         }
 
-        List<Booking> conflictingBookings;
-        if (bookingIdToExclude != null) {
-            conflictingBookings = bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(
-                    booking.getMeetingRoom(), endTime, startTime, bookingIdToExclude
-            );
-        } else {
-            conflictingBookings = bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(
-                    booking.getMeetingRoom(), endTime, startTime
+        if (bookingIntervalIndex.hasConflict(meetingRoomId, startTime, endTime, bookingIdToExclude)) {
+            throw new BookingDateConflictException(meetingRoomId);
+        }
+    }
+
+    private Booking saveBooking(Booking booking) throws UserNotFoundException, MeetingRoomNotFoundException, BookingDateConflictException {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateViolation(ex, booking);
+        }
+    }
+
+    private void updateExistingBooking(Booking booking, Long expectedVersion) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingDateConflictException, ResourceVersionMismatchException {
+        Optional<Long> version;
+
+        try {
+            version = bookingRepository.updateById(
+                    booking.getId(),
+                    booking.getStartTime(),
+                    booking.getEndTime(),
+                    booking.getPurpose(),
+                    booking.getBookedBy(),
+                    booking.getMeetingRoom(),
+                    expectedVersion
             );
+        } catch (DataIntegrityViolationException ex) {
+            throw translateViolation(ex, booking);
+        }
+
+        if (version.isEmpty()) {
+            throw new ResourceVersionMismatchException(RESOURCE, booking.getId(), expectedVersion, getBookingVersion(booking.getId()));
+        }
+
+        booking.setVersion(version.get());
+    }
+
+    private RuntimeException translateViolation(DataIntegrityViolationException ex, Booking booking) {
+        if (ConstraintViolations.isViolationOf(ex, NO_OVERLAP_CONSTRAINT)) {
+            return new BookingDateConflictException(booking.getMeetingRoom().getId());
         }
 
-        if (!conflictingBookings.isEmpty()) {
-            throw new BookingDateConflictException(booking.getMeetingRoom().getId());
+        if (ConstraintViolations.isViolationOf(ex, USER_FOREIGN_KEY)) {
+            return new UserNotFoundException(booking.getBookedBy().getId());
         }
+
+        if (ConstraintViolations.isViolationOf(ex, MEETING_ROOM_FOREIGN_KEY)) {
+            bookingIntervalIndex.evictRoom(booking.getMeetingRoom().getId());
+            return new MeetingRoomNotFoundException(booking.getMeetingRoom().getId());
+        }
+
+        return ex;
     }
 
     @Override
-    public BookingResponse createBooking(BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
-        Booking booking = BookingMapper.toEntity(bookingRequest);
+    public BookingResponse createBooking(BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException, BookingLockTimeoutException {
+        return meetingRoomLocks.withLock(bookingRequest.meetingRoomId(), () -> {
+            Booking booking = BookingMapper.toEntity(bookingRequest);
 
-        validateAndPrepareBooking(booking);
+            prepareReferences(booking);
+            validateInterval(booking, null);
 
-        booking = bookingRepository.save(booking);
+            booking = saveBooking(booking);
+            bookingIntervalIndex.record(booking);
 
-        return BookingMapper.toResponse(booking);
+            return BookingMapper.toResponse(booking);
+        });
     }
 
     @Override
-    public BookingResponse updateBooking(Long id, BookingRequest bookingRequest) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
+    public BookingBatchResponse createBookings(List<BookingRequest> bookingRequests) throws BookingLockTimeoutException {
+        Set<Long> meetingRoomIds = bookingRequests.stream().map(BookingRequest::meetingRoomId).collect(Collectors.toSet());
+
+        return meetingRoomLocks.withLocks(meetingRoomIds, () -> {
+            BookingBatchItemResponse[] results = new BookingBatchItemResponse[bookingRequests.size()];
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            List<Booking> accepted = new ArrayList<>();
+
+            try {
+                // The lookups, the checks and the insert share one read-write transaction, so they all run against
+                // the primary and the valid items are committed together.
+                List<Booking> saved = transactionOperations.execute(status -> {
+                    prepareBatch(bookingRequests, results, acceptedIndexes, accepted);
+                    return accepted.isEmpty() ? accepted : bookingRepository.saveAllAndFlush(accepted);
+                });
+
+                for (int i = 0; i < saved.size(); i++) {
+                    results[acceptedIndexes.get(i)] = created(acceptedIndexes.get(i), saved.get(i));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                saveIndividually(accepted, acceptedIndexes, results);
+            }
+
+            int created = (int) Arrays.stream(results).filter(result -> result.booking() != null).count();
+            return new BookingBatchResponse(created, results.length - created, List.of(results));
+        });
+    }
+
+    private void prepareBatch(List<BookingRequest> bookingRequests, BookingBatchItemResponse[] results, List<Integer> acceptedIndexes, List<Booking> accepted) {
+        Set<Long> userIds = bookingRequests.stream().map(BookingRequest::userId).collect(Collectors.toSet());
+        Set<Long> meetingRoomIds = bookingRequests.stream().map(BookingRequest::meetingRoomId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, MeetingRoom> meetingRooms = meetingRoomRepository.findAllById(meetingRoomIds).stream()
+                .collect(Collectors.toMap(MeetingRoom::getId, Function.identity()));
+
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> acceptedIntervals = new HashMap<>();
+        Booking[] prepared = new Booking[bookingRequests.size()];
+
+        for (int index = 0; index < bookingRequests.size(); index++) {
+            try {
+                prepared[index] = prepareBatchBooking(bookingRequests.get(index), users, meetingRooms, acceptedIntervals);
+                acceptedIndexes.add(index);
+            } catch (AbstractApiException ex) {
+                apiExceptionMetrics.record(ex);
+                results[index] = BookingBatchItemResponse.rejected(index, ex.toProblemDetail());
+            }
+        }
+
+        // The overlap trigger locks each row's room as the row is inserted. Inserting in room order makes every
+        // batch take its room locks in the same order, so two batches sharing rooms cannot deadlock.
+        acceptedIndexes.sort(Comparator
+                .comparing((Integer index) -> prepared[index].getMeetingRoom().getId())
+                .thenComparing(index -> prepared[index].getStartTime()));
+        acceptedIndexes.forEach(index -> accepted.add(prepared[index]));
+    }
+
+    private void saveIndividually(List<Booking> bookings, List<Integer> indexes, BookingBatchItemResponse[] results) {
+        // The batch transaction rolled back as a whole and the batch statement does not tell which item broke a
+        // constraint, so every item is retried in its own transaction and only the offending ones are rejected.
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            booking.setId(null);
+            booking.setVersion(null);
+
+            try {
+                results[indexes.get(i)] = created(indexes.get(i), saveBooking(booking));
+            } catch (AbstractApiException rejection) {
+                apiExceptionMetrics.record(rejection);
+                results[indexes.get(i)] = BookingBatchItemResponse.rejected(indexes.get(i), rejection.toProblemDetail());
+            }
+        }
+    }
+
+    private BookingBatchItemResponse created(int index, Booking booking) {
+        bookingIntervalIndex.record(booking);
+        return BookingBatchItemResponse.created(index, BookingMapper.toResponse(booking));
+    }
+
+    private Booking prepareBatchBooking(BookingRequest bookingRequest, Map<Long, User> users, Map<Long, MeetingRoom> meetingRooms, Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> acceptedIntervals)
+            throws UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException {
+
         Booking booking = BookingMapper.toEntity(bookingRequest);
 
-        Booking existingBooking = bookingRepository.findById(id)
-                .orElseThrow(() -> new BookingNotFoundException(id));
+        User bookedBy = users.get(bookingRequest.userId());
+        if (bookedBy == null) {
+            throw new UserNotFoundException(bookingRequest.userId());
+        }
+        booking.setBookedBy(bookedBy);
 
-        validateAndPrepareBooking(booking, id);
+        MeetingRoom meetingRoom = meetingRooms.get(bookingRequest.meetingRoomId());
+        if (meetingRoom == null) {
+            throw new MeetingRoomNotFoundException(bookingRequest.meetingRoomId());
+        }
+        booking.setMeetingRoom(meetingRoom);
 
-        existingBooking.setStartTime(booking.getStartTime());
-        existingBooking.setEndTime(booking.getEndTime());
-        existingBooking.setPurpose(booking.getPurpose());
-        existingBooking.setBookedBy(booking.getBookedBy());
-        existingBooking.setMeetingRoom(booking.getMeetingRoom());
+        validateInterval(booking, null);
 
-        existingBooking = bookingRepository.save(existingBooking);
+        NavigableMap<LocalDateTime, LocalDateTime> roomIntervals = acceptedIntervals.computeIfAbsent(meetingRoom.getId(), id -> new TreeMap<>());
+        Map.Entry<LocalDateTime, LocalDateTime> previous = roomIntervals.lowerEntry(booking.getEndTime());
+        if (previous != null && previous.getValue().isAfter(booking.getStartTime())) {
+            throw new BookingDateConflictException(meetingRoom.getId());
+        }
+        roomIntervals.put(booking.getStartTime(), booking.getEndTime());
 
-        return BookingMapper.toResponse(existingBooking);
+        return booking;
+    }
+
+    @Override
+    public BookingResponse updateBooking(Long id, BookingRequest bookingRequest, Long expectedVersion) throws BookingNotFoundException, UserNotFoundException, MeetingRoomNotFoundException, BookingInvalidDateException, BookingPastStartDateException, BookingPastEndDateException, BookingDateConflictException, BookingLockTimeoutException, ResourceVersionMismatchException {
+        return meetingRoomLocks.withLock(bookingRequest.meetingRoomId(), () -> {
+            Booking booking = BookingMapper.toEntity(bookingRequest);
+            booking.setId(id);
+
+            prepareReferences(booking);
+            validateInterval(booking, id);
+
+            updateExistingBooking(booking, expectedVersion);
+            bookingIntervalIndex.record(booking);
+
+            return BookingMapper.toResponse(booking);
+        });
     }
 
     @Override
     public void deleteBooking(Long id) throws BookingNotFoundException {
-        bookingRepository.findById(id)
-                .orElseThrow(() -> new BookingNotFoundException(id));
-        bookingRepository.deleteById(id);
+        if (bookingRepository.deleteBookingById(id) == 0) {
+            throw new BookingNotFoundException(id);
+        }
+
+        bookingIntervalIndex.forget(id);
     }
 }
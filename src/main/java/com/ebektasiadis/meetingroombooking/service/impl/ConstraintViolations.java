@@ -0,0 +1,18 @@
+package com.ebektasiadis.meetingroombooking.service.impl;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells which named constraint a write violated. The database reports the constraint name quoted in its message,
+ * which is the one part of the error that is the same for every driver the services run against.
+ */
+final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    static boolean isViolationOf(DataIntegrityViolationException ex, String constraintName) {
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.contains(String.format("\"%s\"", constraintName));
+    }
+}
@@ -1,30 +1,134 @@
 package com.ebektasiadis.meetingroombooking.service.impl;
 
+import com.ebektasiadis.meetingroombooking.config.CacheConfig;
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import com.ebektasiadis.meetingroombooking.dto.FreeSlot;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityCriteria;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityResponse;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomRequest;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomInvalidAvailabilityWindowException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNameExistsException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
 import com.ebektasiadis.meetingroombooking.mapper.MeetingRoomMapper;
 import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.recurrence.Occurrences;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
 import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
 import com.ebektasiadis.meetingroombooking.service.MeetingRoomService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "meeting.rooms.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class MeetingRoomServiceImpl implements MeetingRoomService {
+    private static final String RESOURCE = "meeting room";
+    private static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(31);
+
     final private MeetingRoomRepository meetingRoomRepository;
+    final private BookingRepository bookingRepository;
+    final private BookingSeriesRepository bookingSeriesRepository;
+    final private BookingIntervalIndex bookingIntervalIndex;
 
     @Override
+    @Transactional(readOnly = true)
     public List<MeetingRoomResponse> getAllMeetingRooms() {
-        return meetingRoomRepository.findAll().stream().map(MeetingRoomMapper::toResponse).collect(Collectors.toList());
+        return meetingRoomRepository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getMeetingRoomsVersion() {
+        return meetingRoomRepository.findCollectionVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MeetingRoomAvailabilityResponse> getAvailability(MeetingRoomAvailabilityCriteria criteria) throws MeetingRoomInvalidAvailabilityWindowException {
+        LocalDateTime from = criteria.from();
+        LocalDateTime to = criteria.to();
+        Duration duration = criteria.duration();
+
+        if (!from.isBefore(to)
+                || Duration.between(from, to).compareTo(MAX_AVAILABILITY_WINDOW) > 0
+                || duration.isNegative()
+                || duration.isZero()
+                || from.plus(duration).isAfter(to)) {
+            throw new MeetingRoomInvalidAvailabilityWindowException(from, to, duration, MAX_AVAILABILITY_WINDOW);
+        }
+
+        List<MeetingRoom> meetingRooms = meetingRoomRepository.findMatching(criteria.minCapacity(), criteria.projector(), criteria.whiteboard());
+        if (meetingRooms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> meetingRoomIds = meetingRooms.stream().map(MeetingRoom::getId).toList();
+        Map<Long, List<BookedInterval>> bookedByRoom = Stream.concat(
+                        bookingRepository.findBookedIntervals(meetingRoomIds, from, to).stream(),
+                        Occurrences.of(bookingSeriesRepository.findOverlapping(meetingRoomIds, from, to), from, to).stream())
+                .sorted(Occurrences.BY_START_TIME)
+                .collect(Collectors.groupingBy(BookedInterval::meetingRoomId));
+
+        List<MeetingRoomAvailabilityResponse> availability = new ArrayList<>();
+        for (MeetingRoom meetingRoom : meetingRooms) {
+            List<FreeSlot> freeSlots = freeSlots(bookedByRoom.getOrDefault(meetingRoom.getId(), List.of()), from, to, duration);
+
+            if (!freeSlots.isEmpty()) {
+                availability.add(new MeetingRoomAvailabilityResponse(MeetingRoomMapper.toResponse(meetingRoom), freeSlots));
+            }
+        }
+
+        return availability;
+    }
+
+    private List<FreeSlot> freeSlots(List<BookedInterval> bookedIntervals, LocalDateTime from, LocalDateTime to, Duration duration) {
+        List<FreeSlot> freeSlots = new ArrayList<>();
+        LocalDateTime freeSince = from;
+
+        for (BookedInterval bookedInterval : bookedIntervals) {
+            if (!freeSince.plus(duration).isAfter(bookedInterval.startTime())) {
+                freeSlots.add(new FreeSlot(freeSince, bookedInterval.startTime()));
+            }
+
+            if (bookedInterval.endTime().isAfter(freeSince)) {
+                freeSince = bookedInterval.endTime();
+            }
+        }
+
+        if (!freeSince.plus(duration).isAfter(to)) {
+            freeSlots.add(new FreeSlot(freeSince, to));
+        }
+
+        return freeSlots;
+    }
+
+    @Override
+    public Long getMeetingRoomVersion(Long id) throws MeetingRoomNotFoundException {
+        return meetingRoomRepository.findVersionById(id)
+                .orElseThrow(() -> new MeetingRoomNotFoundException(id));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.MEETING_ROOMS, key = "#id")
     public MeetingRoomResponse getMeetingRoomById(Long id) throws MeetingRoomNotFoundException {
         MeetingRoom meetingRoom = meetingRoomRepository.findById(id)
                 .orElseThrow(() -> new MeetingRoomNotFoundException(id));
@@ -46,11 +150,16 @@ public class MeetingRoomServiceImpl implements MeetingRoomService {
     }
 
     @Override
-    public MeetingRoomResponse updateMeetingRoom(Long id, MeetingRoomRequest meetingRoomRequest) throws MeetingRoomNotFoundException, MeetingRoomNameExistsException {
+    @CachePut(cacheNames = CacheConfig.MEETING_ROOMS, key = "#id")
+    public MeetingRoomResponse updateMeetingRoom(Long id, MeetingRoomRequest meetingRoomRequest, Long expectedVersion) throws MeetingRoomNotFoundException, MeetingRoomNameExistsException, ResourceVersionMismatchException {
         MeetingRoom meetingRoom = MeetingRoomMapper.toEntity(meetingRoomRequest);
         MeetingRoom existingMeetingRoom = meetingRoomRepository.findById(id)
                 .orElseThrow(() -> new MeetingRoomNotFoundException(id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingMeetingRoom.getVersion())) {
+            throw new ResourceVersionMismatchException(RESOURCE, id, expectedVersion, existingMeetingRoom.getVersion());
+        }
+
         if (!existingMeetingRoom.getName().equals(meetingRoom.getName())) {
             if (meetingRoomRepository.findByName(meetingRoom.getName()).isPresent()) {
                 throw new MeetingRoomNameExistsException(meetingRoom.getName());
@@ -63,15 +172,24 @@ public class MeetingRoomServiceImpl implements MeetingRoomService {
         existingMeetingRoom.setHasProjector(meetingRoom.getHasProjector());
         existingMeetingRoom.setHasWhiteboard(meetingRoom.getHasWhiteboard());
 
-        existingMeetingRoom = meetingRoomRepository.save(existingMeetingRoom);
+        try {
+            existingMeetingRoom = meetingRoomRepository.save(existingMeetingRoom);
+        } catch (OptimisticLockingFailureException ex) {
+            Long currentVersion = meetingRoomRepository.findVersionById(id)
+                    .orElseThrow(() -> new MeetingRoomNotFoundException(id));
+            throw new ResourceVersionMismatchException(RESOURCE, id, expectedVersion != null ? expectedVersion : existingMeetingRoom.getVersion(), currentVersion);
+        }
 
         return MeetingRoomMapper.toResponse(existingMeetingRoom);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MEETING_ROOMS, key = "#id")
     public void deleteMeetingRoom(Long id) throws MeetingRoomNotFoundException {
-        meetingRoomRepository.findById(id)
-                .orElseThrow(() -> new MeetingRoomNotFoundException(id));
-        meetingRoomRepository.deleteById(id);
+        if (meetingRoomRepository.deleteMeetingRoomById(id) == 0) {
+            throw new MeetingRoomNotFoundException(id);
+        }
+
+        bookingIntervalIndex.evictRoom(id);
     }
 }
@@ -1,31 +1,60 @@
 package com.ebektasiadis.meetingroombooking.service.impl;
 
+import com.ebektasiadis.meetingroombooking.config.CacheConfig;
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
 import com.ebektasiadis.meetingroombooking.dto.UserRequest;
 import com.ebektasiadis.meetingroombooking.dto.UserResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserEmailExistsException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserUsernameExistsException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
 import com.ebektasiadis.meetingroombooking.mapper.UserMapper;
 import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
 import com.ebektasiadis.meetingroombooking.repository.UserRepository;
 import com.ebektasiadis.meetingroombooking.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "users.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class UserServiceImpl implements UserService {
+    private static final String RESOURCE = "user";
+
     final private UserRepository userRepository;
+    final private BookingRepository bookingRepository;
+    final private BookingIntervalIndex bookingIntervalIndex;
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream().map(UserMapper::toResponse).collect(Collectors.toList());
+        return userRepository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionVersion getUsersVersion() {
+        return userRepository.findCollectionVersion();
+    }
+
+    @Override
+    public Long getUserVersion(Long id) throws UserNotFoundException {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public UserResponse getUserById(Long id) throws UserNotFoundException {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
@@ -50,12 +79,17 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserResponse updateUser(Long id, UserRequest userRequest) throws UserNotFoundException, UserEmailExistsException {
+    @CachePut(cacheNames = CacheConfig.USERS, key = "#id")
+    public UserResponse updateUser(Long id, UserRequest userRequest, Long expectedVersion) throws UserNotFoundException, UserEmailExistsException, ResourceVersionMismatchException {
         User user = UserMapper.toEntity(userRequest);
 
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new ResourceVersionMismatchException(RESOURCE, id, expectedVersion, existingUser.getVersion());
+        }
+
         if (!existingUser.getEmail().equals(user.getEmail())) {
             if (userRepository.findByEmail(user.getEmail()).isPresent()) {
                 throw new UserEmailExistsException(user.getEmail());
@@ -71,15 +105,26 @@ public class UserServiceImpl implements UserService {
         existingUser.setUsername(user.getUsername());
         existingUser.setEmail(user.getEmail());
 
-        existingUser = userRepository.save(existingUser);
+        try {
+            existingUser = userRepository.save(existingUser);
+        } catch (OptimisticLockingFailureException ex) {
+            Long currentVersion = userRepository.findVersionById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            throw new ResourceVersionMismatchException(RESOURCE, id, expectedVersion != null ? expectedVersion : existingUser.getVersion(), currentVersion);
+        }
 
         return UserMapper.toResponse(existingUser);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(Long id) throws UserNotFoundException {
-        userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
-        userRepository.deleteById(id);
+        List<Long> meetingRoomIds = bookingRepository.findMeetingRoomIdsByUserId(id);
+
+        if (userRepository.deleteUserById(id) == 0) {
+            throw new UserNotFoundException(id);
+        }
+
+        meetingRoomIds.forEach(bookingIntervalIndex::evictRoom);
     }
 }
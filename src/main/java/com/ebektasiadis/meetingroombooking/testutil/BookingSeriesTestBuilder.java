@@ -0,0 +1,146 @@
+package com.ebektasiadis.meetingroombooking.testutil;
+
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import com.ebektasiadis.meetingroombooking.model.User;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+
+public class BookingSeriesTestBuilder {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private Long id;
+    private Long version;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private RecurrenceFrequency frequency;
+    private Integer interval;
+    private LocalDate until;
+    private Integer count;
+    private LocalDateTime lastEndTime;
+    private String purpose;
+    private User bookedBy;
+    private MeetingRoom meetingRoom;
+
+    private BookingSeriesTestBuilder() {
+        this.id = 1L;
+        this.startTime = LocalDateTime.now(FIXED_CLOCK);
+        this.endTime = LocalDateTime.now(FIXED_CLOCK).plusHours(1);
+        this.frequency = RecurrenceFrequency.WEEKLY;
+        this.interval = 1;
+        this.count = 4;
+        this.lastEndTime = LocalDateTime.now(FIXED_CLOCK).plusWeeks(3).plusHours(1);
+        this.purpose = "Default Purpose";
+        this.bookedBy = aUser().build();
+        this.meetingRoom = aMeetingRoom().build();
+    }
+
+    private BookingSeriesTestBuilder(BookingSeriesTestBuilder bookingSeriesTestBuilder) {
+        this.id = bookingSeriesTestBuilder.id;
+        this.version = bookingSeriesTestBuilder.version;
+        this.startTime = bookingSeriesTestBuilder.startTime;
+        this.endTime = bookingSeriesTestBuilder.endTime;
+        this.frequency = bookingSeriesTestBuilder.frequency;
+        this.interval = bookingSeriesTestBuilder.interval;
+        this.until = bookingSeriesTestBuilder.until;
+        this.count = bookingSeriesTestBuilder.count;
+        this.lastEndTime = bookingSeriesTestBuilder.lastEndTime;
+        this.purpose = bookingSeriesTestBuilder.purpose;
+        this.bookedBy = bookingSeriesTestBuilder.bookedBy;
+        this.meetingRoom = bookingSeriesTestBuilder.meetingRoom;
+    }
+
+    public static BookingSeriesTestBuilder aBookingSeries() {
+        return new BookingSeriesTestBuilder();
+    }
+
+    public BookingSeriesTestBuilder withId(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withInterval(Integer interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withUntil(LocalDate until) {
+        this.until = until;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withCount(Integer count) {
+        this.count = count;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withLastEndTime(LocalDateTime lastEndTime) {
+        this.lastEndTime = lastEndTime;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withPurpose(String purpose) {
+        this.purpose = purpose;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withBookedBy(User bookedBy) {
+        this.bookedBy = bookedBy;
+        return this;
+    }
+
+    public BookingSeriesTestBuilder withMeetingRoom(MeetingRoom meetingRoom) {
+        this.meetingRoom = meetingRoom;
+        return this;
+    }
+
+    public BookingSeries build() {
+        BookingSeries series = new BookingSeries();
+        series.setId(id);
+        series.setVersion(version);
+        series.setStartTime(startTime);
+        series.setEndTime(endTime);
+        series.setFrequency(frequency);
+        series.setInterval(interval);
+        series.setUntil(until);
+        series.setCount(count);
+        series.setLastEndTime(lastEndTime);
+        series.setPurpose(purpose);
+        series.setBookedBy(bookedBy);
+        series.setMeetingRoom(meetingRoom);
+        return series;
+    }
+
+    public BookingSeriesTestBuilder but() {
+        return new BookingSeriesTestBuilder(this);
+    }
+}
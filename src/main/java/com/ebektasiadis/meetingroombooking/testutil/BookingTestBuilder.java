@@ -17,6 +17,7 @@ public class BookingTestBuilder {
     private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
 
     private Long id;
+    private Long version;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String purpose;
@@ -34,6 +35,7 @@ public class BookingTestBuilder {
 
     private BookingTestBuilder(BookingTestBuilder bookingTestBuilder) {
         this.id = bookingTestBuilder.id;
+        this.version = bookingTestBuilder.version;
         this.startTime = bookingTestBuilder.startTime;
         this.endTime = bookingTestBuilder.endTime;
         this.purpose = bookingTestBuilder.purpose;
@@ -50,6 +52,11 @@ public class BookingTestBuilder {
         return this;
     }
 
+    public BookingTestBuilder withVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
     public BookingTestBuilder withStartTime(LocalDateTime startDate) {
         this.startTime = startDate;
         return this;
@@ -88,6 +95,7 @@ public class BookingTestBuilder {
     public Booking build() {
         Booking booking = new Booking();
         booking.setId(id);
+        booking.setVersion(version);
         booking.setStartTime(startTime);
         booking.setEndTime(endTime);
         booking.setPurpose(purpose);
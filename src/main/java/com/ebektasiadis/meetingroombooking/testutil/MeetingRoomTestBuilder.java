@@ -4,6 +4,7 @@ import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
 
 public class MeetingRoomTestBuilder {
     private Long id;
+    private Long version;
     private String name;
     private Integer capacity;
     private String location;
@@ -21,6 +22,7 @@ public class MeetingRoomTestBuilder {
 
     private MeetingRoomTestBuilder(MeetingRoomTestBuilder meetingRoomTestBuilder) {
         this.id = meetingRoomTestBuilder.id;
+        this.version = meetingRoomTestBuilder.version;
         this.name = meetingRoomTestBuilder.name;
         this.capacity = meetingRoomTestBuilder.capacity;
         this.location = meetingRoomTestBuilder.location;
@@ -37,6 +39,11 @@ public class MeetingRoomTestBuilder {
         return this;
     }
 
+    public MeetingRoomTestBuilder withVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
     public MeetingRoomTestBuilder withName(String name) {
         this.name = name;
         return this;
@@ -65,6 +72,7 @@ public class MeetingRoomTestBuilder {
     public MeetingRoom build() {
         MeetingRoom meetingRoom = new MeetingRoom();
         meetingRoom.setId(id);
+        meetingRoom.setVersion(version);
         meetingRoom.setName(name);
         meetingRoom.setCapacity(capacity);
         meetingRoom.setLocation(location);
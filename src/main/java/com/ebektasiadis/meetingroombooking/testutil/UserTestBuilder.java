@@ -4,6 +4,7 @@ import com.ebektasiadis.meetingroombooking.model.User;
 
 public class UserTestBuilder {
     private Long id;
+    private Long version;
     private String username;
     private String email;
 
@@ -15,6 +16,7 @@ public class UserTestBuilder {
 
     private UserTestBuilder(UserTestBuilder userTestBuilder) {
         this.id = userTestBuilder.id;
+        this.version = userTestBuilder.version;
         this.username = userTestBuilder.username;
         this.email = userTestBuilder.email;
     }
@@ -28,6 +30,11 @@ public class UserTestBuilder {
         return this;
     }
 
+    public UserTestBuilder withVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
     public UserTestBuilder withUsername(String username) {
         this.username = username;
         return this;
@@ -41,6 +48,7 @@ public class UserTestBuilder {
     public User build() {
         User user = new User();
         user.setId(id);
+        user.setVersion(version);
         user.setUsername(username);
         user.setEmail(email);
         return user;
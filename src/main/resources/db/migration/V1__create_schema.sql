@@ -0,0 +1,40 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE users
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE meeting_rooms
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL,
+    capacity       INTEGER      NOT NULL,
+    location       VARCHAR(255) NOT NULL,
+    has_projector  BOOLEAN      NOT NULL,
+    has_whiteboard BOOLEAN      NOT NULL,
+    CONSTRAINT uk_meeting_rooms_name UNIQUE (name)
+);
+
+CREATE TABLE bookings
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_time      TIMESTAMP(6) NOT NULL,
+    end_time        TIMESTAMP(6) NOT NULL,
+    purpose         VARCHAR(255) NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    meeting_room_id BIGINT       NOT NULL,
+    period          TSRANGE GENERATED ALWAYS AS (TSRANGE(start_time, end_time, '[)')) STORED,
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_meeting_room FOREIGN KEY (meeting_room_id) REFERENCES meeting_rooms (id),
+    CONSTRAINT bookings_no_overlap EXCLUDE USING gist (meeting_room_id WITH =, period WITH &&)
+);
+
+CREATE INDEX idx_bookings_start_time_id ON bookings (start_time, id);
+CREATE INDEX idx_bookings_meeting_room_id_start_time_id ON bookings (meeting_room_id, start_time, id);
+CREATE INDEX idx_bookings_meeting_room_id_start_time_end_time ON bookings (meeting_room_id, start_time, end_time);
+CREATE INDEX idx_bookings_user_id_start_time_id ON bookings (user_id, start_time, id);
@@ -0,0 +1,11 @@
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_id_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+
+ALTER TABLE meeting_rooms ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE meeting_rooms_id_seq INCREMENT BY 50 OWNED BY meeting_rooms.id;
+SELECT setval('meeting_rooms_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM meeting_rooms;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE bookings_id_seq INCREMENT BY 50 OWNED BY bookings.id;
+SELECT setval('bookings_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
@@ -0,0 +1,5 @@
+ALTER TABLE bookings DROP CONSTRAINT fk_bookings_user;
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+
+ALTER TABLE bookings DROP CONSTRAINT fk_bookings_meeting_room;
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_meeting_room FOREIGN KEY (meeting_room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE;
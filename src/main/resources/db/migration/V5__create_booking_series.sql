@@ -0,0 +1,27 @@
+CREATE SEQUENCE booking_series_id_seq INCREMENT BY 50;
+
+CREATE TABLE booking_series
+(
+    id                  BIGINT       NOT NULL PRIMARY KEY,
+    start_time          TIMESTAMP(6) NOT NULL,
+    end_time            TIMESTAMP(6) NOT NULL,
+    frequency           VARCHAR(16)  NOT NULL,
+    recurrence_interval INTEGER      NOT NULL,
+    until_date          DATE,
+    occurrence_count    INTEGER,
+    last_end_time       TIMESTAMP(6) NOT NULL,
+    purpose             VARCHAR(255) NOT NULL,
+    version             BIGINT       NOT NULL DEFAULT 0,
+    user_id             BIGINT       NOT NULL,
+    meeting_room_id     BIGINT       NOT NULL,
+    CONSTRAINT fk_booking_series_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_series_meeting_room FOREIGN KEY (meeting_room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE,
+    CONSTRAINT ck_booking_series_frequency CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY')),
+    CONSTRAINT ck_booking_series_interval CHECK (recurrence_interval > 0),
+    CONSTRAINT ck_booking_series_end CHECK ((until_date IS NULL) <> (occurrence_count IS NULL))
+);
+
+ALTER SEQUENCE booking_series_id_seq OWNED BY booking_series.id;
+
+CREATE INDEX idx_booking_series_meeting_room_id_start_time_last_end_time ON booking_series (meeting_room_id, start_time, last_end_time);
+CREATE INDEX idx_booking_series_user_id ON booking_series (user_id);
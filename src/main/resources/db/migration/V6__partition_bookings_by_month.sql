@@ -0,0 +1,191 @@
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER TABLE bookings_unpartitioned DROP CONSTRAINT bookings_no_overlap;
+ALTER TABLE bookings_unpartitioned RENAME CONSTRAINT bookings_pkey TO bookings_unpartitioned_pkey;
+DROP INDEX idx_bookings_start_time_id;
+DROP INDEX idx_bookings_meeting_room_id_start_time_id;
+DROP INDEX idx_bookings_meeting_room_id_start_time_end_time;
+DROP INDEX idx_bookings_user_id_start_time_id;
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+
+CREATE TABLE bookings
+(
+    id              BIGINT       NOT NULL,
+    start_time      TIMESTAMP(6) NOT NULL,
+    end_time        TIMESTAMP(6) NOT NULL,
+    purpose         VARCHAR(255) NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    meeting_room_id BIGINT       NOT NULL,
+    version         BIGINT       NOT NULL DEFAULT 0,
+    period          TSRANGE GENERATED ALWAYS AS (TSRANGE(start_time, end_time, '[)')) STORED,
+    CONSTRAINT bookings_pkey PRIMARY KEY (id, start_time),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_bookings_meeting_room FOREIGN KEY (meeting_room_id) REFERENCES meeting_rooms (id) ON DELETE CASCADE
+) PARTITION BY RANGE (start_time);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+CREATE INDEX idx_bookings_start_time_id ON bookings (start_time, id);
+CREATE INDEX idx_bookings_meeting_room_id_start_time_id ON bookings (meeting_room_id, start_time, id);
+CREATE INDEX idx_bookings_meeting_room_id_start_time_end_time ON bookings (meeting_room_id, start_time, end_time);
+CREATE INDEX idx_bookings_user_id_start_time_id ON bookings (user_id, start_time, id);
+CREATE INDEX idx_bookings_meeting_room_id_period ON bookings USING gist (meeting_room_id, period);
+
+-- Catches bookings beyond the months that have been created ahead of time until their month gets a partition.
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Longest booking ever stored per room. A booking overlapping a given interval starts at most that long before it,
+-- which gives overlap queries a lower bound on start_time so that they only scan the partitions in between. It only
+-- ever grows, so deleting or shortening bookings keeps it a safe bound. Rows of deleted rooms are left behind on
+-- purpose: there is no foreign key, so that inserting a booking of a missing room still fails on fk_bookings_meeting_room.
+CREATE TABLE booking_max_durations
+(
+    meeting_room_id      BIGINT NOT NULL,
+    max_duration_seconds BIGINT NOT NULL,
+    CONSTRAINT booking_max_durations_pkey PRIMARY KEY (meeting_room_id)
+);
+
+-- An exclusion constraint on a partitioned table has to compare the partition key with equality, so it cannot
+-- reject overlaps across months. Writes to the same room are serialized with an advisory lock instead and checked
+-- against every attached partition, raising the same error the constraint used to.
+CREATE FUNCTION bookings_check_no_overlap() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    max_duration INTERVAL;
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND NEW.meeting_room_id = OLD.meeting_room_id
+        AND NEW.start_time = OLD.start_time
+        AND NEW.end_time = OLD.end_time THEN
+        RETURN NEW;
+    END IF;
+
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_no_overlap'), hashint8(NEW.meeting_room_id));
+
+    SELECT make_interval(secs => d.max_duration_seconds)
+    INTO max_duration
+    FROM booking_max_durations d
+    WHERE d.meeting_room_id = NEW.meeting_room_id;
+
+    IF max_duration IS NULL OR max_duration < NEW.end_time - NEW.start_time THEN
+        max_duration := NEW.end_time - NEW.start_time;
+
+        INSERT INTO booking_max_durations (meeting_room_id, max_duration_seconds)
+        VALUES (NEW.meeting_room_id, ceil(extract(EPOCH FROM max_duration)))
+        ON CONFLICT (meeting_room_id) DO UPDATE SET max_duration_seconds = EXCLUDED.max_duration_seconds;
+    END IF;
+
+    IF EXISTS (SELECT 1
+               FROM bookings b
+               WHERE b.meeting_room_id = NEW.meeting_room_id
+                 AND b.id <> NEW.id
+                 AND b.start_time > NEW.start_time - max_duration
+                 AND b.start_time < NEW.end_time
+                 AND b.period && TSRANGE(NEW.start_time, NEW.end_time, '[)')) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "bookings_no_overlap"'
+            USING ERRCODE = 'exclusion_violation',
+                CONSTRAINT = 'bookings_no_overlap',
+                TABLE = 'bookings',
+                DETAIL = format('Key (meeting_room_id, period)=(%s, %s) conflicts with existing key.',
+                                NEW.meeting_room_id, TSRANGE(NEW.start_time, NEW.end_time, '[)'));
+    END IF;
+
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER bookings_no_overlap
+    BEFORE INSERT OR UPDATE OF start_time, end_time, meeting_room_id
+    ON bookings
+    FOR EACH ROW
+EXECUTE FUNCTION bookings_check_no_overlap();
+
+-- Creates the partition of the month containing month_start and returns its name, or NULL if it already exists.
+-- Bookings of that month that landed in the default partition are moved into the new partition.
+CREATE FUNCTION create_bookings_partition(month_start DATE) RETURNS TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    lower_bound    TIMESTAMP := date_trunc('month', month_start);
+    upper_bound    TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT      := 'bookings_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+
+    CREATE TEMPORARY TABLE bookings_moved AS
+    SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version
+    FROM bookings_default
+    WHERE start_time >= lower_bound
+      AND start_time < upper_bound;
+
+    DELETE FROM bookings_default WHERE start_time >= lower_bound AND start_time < upper_bound;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+
+    INSERT INTO bookings (id, start_time, end_time, purpose, user_id, meeting_room_id, version)
+    SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version
+    FROM bookings_moved;
+
+    DROP TABLE bookings_moved;
+
+    RETURN partition_name;
+END;
+$$;
+
+-- Detaches the oldest monthly partitions whose bookings have all ended before the cutoff and returns their names.
+-- Detached partitions stay behind as standalone tables, ready to be archived or dropped.
+CREATE FUNCTION detach_bookings_partitions(cutoff TIMESTAMP) RETURNS SETOF TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    partition_name TEXT;
+    has_active     BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_partitions'));
+
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'bookings'::regclass
+          AND c.relname ~ '^bookings_p[0-9]{4}_[0-9]{2}$'
+        ORDER BY c.relname
+        LOOP
+            EXIT WHEN to_date(substr(partition_name, 11), 'YYYY_MM') + INTERVAL '1 month' > cutoff;
+
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE end_time > %L)', partition_name, cutoff) INTO has_active;
+            EXIT WHEN has_active;
+
+            EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+            RETURN NEXT partition_name;
+        END LOOP;
+END;
+$$;
+
+SELECT create_bookings_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', LEAST((SELECT MIN(start_time) FROM bookings_unpartitioned), LOCALTIMESTAMP)),
+             date_trunc('month', GREATEST((SELECT MAX(start_time) FROM bookings_unpartitioned), LOCALTIMESTAMP)),
+             INTERVAL '1 month'
+     ) AS month;
+
+-- The copied bookings already satisfied the exclusion constraint, so they skip the per-row overlap check.
+ALTER TABLE bookings DISABLE TRIGGER bookings_no_overlap;
+
+INSERT INTO bookings (id, start_time, end_time, purpose, user_id, meeting_room_id, version)
+SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version
+FROM bookings_unpartitioned;
+
+ALTER TABLE bookings ENABLE TRIGGER bookings_no_overlap;
+
+INSERT INTO booking_max_durations (meeting_room_id, max_duration_seconds)
+SELECT meeting_room_id, ceil(extract(EPOCH FROM max(end_time - start_time)))
+FROM bookings
+GROUP BY meeting_room_id;
+
+DROP TABLE bookings_unpartitioned;
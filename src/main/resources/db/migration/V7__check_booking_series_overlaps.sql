@@ -0,0 +1,147 @@
+-- Index of the occurrence of the series starting at or just before at_time. Monthly occurrences fall back to the
+-- last day of shorter months, so the estimate can be one short; callers widen the range they expand by one.
+CREATE FUNCTION booking_series_index_at(series booking_series, at_time TIMESTAMP) RETURNS BIGINT
+    LANGUAGE sql
+    IMMUTABLE AS
+$$
+SELECT floor(CASE series.frequency
+                 WHEN 'DAILY' THEN extract(EPOCH FROM at_time - series.start_time) / 86400
+                 WHEN 'WEEKLY' THEN extract(EPOCH FROM at_time - series.start_time) / 604800
+                 ELSE extract(YEAR FROM age(at_time, series.start_time)) * 12
+                     + extract(MONTH FROM age(at_time, series.start_time))
+                 END / series.recurrence_interval)::BIGINT
+$$;
+
+-- Occurrences of the series overlapping [from_time, to_time), computed like RecurrenceRule does: the n-th occurrence
+-- starts n * interval days, weeks or months after the first one, and none ends after the last occurrence.
+-- Only the occurrences around the window are generated, however long the series is.
+CREATE FUNCTION booking_series_occurrences(series booking_series, from_time TIMESTAMP, to_time TIMESTAMP)
+    RETURNS TABLE
+            (
+                occurrence_start TIMESTAMP,
+                occurrence_end   TIMESTAMP
+            )
+    LANGUAGE sql
+    IMMUTABLE AS
+$$
+SELECT o.occurrence_start, o.occurrence_start + (series.end_time - series.start_time)
+FROM generate_series(
+             GREATEST(0, booking_series_index_at(series, from_time - (series.end_time - series.start_time)) - 1),
+             LEAST(COALESCE(series.occurrence_count, 1000) - 1, booking_series_index_at(series, to_time) + 1)
+     ) AS n
+         CROSS JOIN LATERAL (SELECT series.start_time + CASE series.frequency
+                                                            WHEN 'DAILY' THEN make_interval(days => (n * series.recurrence_interval)::INTEGER)
+                                                            WHEN 'WEEKLY' THEN make_interval(weeks => (n * series.recurrence_interval)::INTEGER)
+                                                            ELSE make_interval(months => (n * series.recurrence_interval)::INTEGER)
+                                                            END AS occurrence_start) o
+WHERE o.occurrence_start < to_time
+  AND o.occurrence_start + (series.end_time - series.start_time) > from_time
+  AND o.occurrence_start + (series.end_time - series.start_time) <= series.last_end_time
+$$;
+
+CREATE FUNCTION booking_series_overlaps(room_id BIGINT, from_time TIMESTAMP, to_time TIMESTAMP, excluded_series_id BIGINT)
+    RETURNS BOOLEAN
+    LANGUAGE sql
+    STABLE AS
+$$
+SELECT EXISTS (SELECT 1
+               FROM booking_series s
+                        CROSS JOIN LATERAL booking_series_occurrences(s, from_time, to_time)
+               WHERE s.meeting_room_id = room_id
+                 AND s.id IS DISTINCT FROM excluded_series_id
+                 AND s.start_time < to_time
+                 AND s.last_end_time > from_time)
+$$;
+
+-- Bookings are checked against the occurrences of every series of their room as well, under the same lock.
+CREATE OR REPLACE FUNCTION bookings_check_no_overlap() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    max_duration INTERVAL;
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND NEW.meeting_room_id = OLD.meeting_room_id
+        AND NEW.start_time = OLD.start_time
+        AND NEW.end_time = OLD.end_time THEN
+        RETURN NEW;
+    END IF;
+
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_no_overlap'), hashint8(NEW.meeting_room_id));
+
+    SELECT make_interval(secs => d.max_duration_seconds)
+    INTO max_duration
+    FROM booking_max_durations d
+    WHERE d.meeting_room_id = NEW.meeting_room_id;
+
+    IF max_duration IS NULL OR max_duration < NEW.end_time - NEW.start_time THEN
+        max_duration := NEW.end_time - NEW.start_time;
+
+        INSERT INTO booking_max_durations (meeting_room_id, max_duration_seconds)
+        VALUES (NEW.meeting_room_id, ceil(extract(EPOCH FROM max_duration)))
+        ON CONFLICT (meeting_room_id) DO UPDATE SET max_duration_seconds = EXCLUDED.max_duration_seconds;
+    END IF;
+
+    IF EXISTS (SELECT 1
+               FROM bookings b
+               WHERE b.meeting_room_id = NEW.meeting_room_id
+                 AND b.id <> NEW.id
+                 AND b.start_time > NEW.start_time - max_duration
+                 AND b.start_time < NEW.end_time
+                 AND b.period && TSRANGE(NEW.start_time, NEW.end_time, '[)'))
+        OR booking_series_overlaps(NEW.meeting_room_id, NEW.start_time, NEW.end_time, NULL) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "bookings_no_overlap"'
+            USING ERRCODE = 'exclusion_violation',
+                CONSTRAINT = 'bookings_no_overlap',
+                TABLE = 'bookings',
+                DETAIL = format('Key (meeting_room_id, period)=(%s, %s) conflicts with existing key.',
+                                NEW.meeting_room_id, TSRANGE(NEW.start_time, NEW.end_time, '[)'));
+    END IF;
+
+    RETURN NEW;
+END;
+$$;
+
+-- A series takes the lock of its room that bookings take, so a series and a booking written concurrently for the
+-- same room are checked one after the other, and every occurrence is checked against bookings and other series.
+-- Bookings are bounded by the longest booking of the room like in bookings_check_no_overlap; a room without one has
+-- no bookings to conflict with.
+CREATE FUNCTION booking_series_check_no_overlap() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    max_duration INTERVAL;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('bookings_no_overlap'), hashint8(NEW.meeting_room_id));
+
+    SELECT make_interval(secs => d.max_duration_seconds)
+    INTO max_duration
+    FROM booking_max_durations d
+    WHERE d.meeting_room_id = NEW.meeting_room_id;
+
+    IF EXISTS (SELECT 1
+               FROM booking_series_occurrences(NEW, NEW.start_time, NEW.last_end_time) o
+               WHERE EXISTS (SELECT 1
+                             FROM bookings b
+                             WHERE b.meeting_room_id = NEW.meeting_room_id
+                               AND b.start_time > o.occurrence_start - max_duration
+                               AND b.start_time < o.occurrence_end
+                               AND b.period && TSRANGE(o.occurrence_start, o.occurrence_end, '[)'))
+                  OR booking_series_overlaps(NEW.meeting_room_id, o.occurrence_start, o.occurrence_end, NEW.id)) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "bookings_no_overlap"'
+            USING ERRCODE = 'exclusion_violation',
+                CONSTRAINT = 'bookings_no_overlap',
+                TABLE = 'booking_series',
+                DETAIL = format('Key (meeting_room_id)=(%s) has an occurrence conflicting with existing key.',
+                                NEW.meeting_room_id);
+    END IF;
+
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER booking_series_no_overlap
+    BEFORE INSERT OR UPDATE OF start_time, end_time, frequency, recurrence_interval, until_date, occurrence_count, last_end_time, meeting_room_id
+    ON booking_series
+    FOR EACH ROW
+EXECUTE FUNCTION booking_series_check_no_overlap();
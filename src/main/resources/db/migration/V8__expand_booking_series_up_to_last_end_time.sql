@@ -0,0 +1,28 @@
+-- Occurrences of the series overlapping [from_time, to_time), computed like RecurrenceRule.startsOverlapping: the n-th
+-- occurrence starts n * interval days, weeks or months after the first one, and none ends after the last occurrence.
+-- The generated indexes stop at the occurrence ending at last_end_time, so the cap on the number of occurrences of a
+-- series lives only in BookingSeriesServiceImpl.MAX_OCCURRENCES. RecurrenceRulePostgresTest compares both sides.
+CREATE OR REPLACE FUNCTION booking_series_occurrences(series booking_series, from_time TIMESTAMP, to_time TIMESTAMP)
+    RETURNS TABLE
+            (
+                occurrence_start TIMESTAMP,
+                occurrence_end   TIMESTAMP
+            )
+    LANGUAGE sql
+    IMMUTABLE AS
+$$
+SELECT o.occurrence_start, o.occurrence_start + (series.end_time - series.start_time)
+FROM generate_series(
+             GREATEST(0, booking_series_index_at(series, from_time - (series.end_time - series.start_time)) - 1),
+             LEAST(booking_series_index_at(series, series.last_end_time - (series.end_time - series.start_time)),
+                   booking_series_index_at(series, to_time)) + 1
+     ) AS n
+         CROSS JOIN LATERAL (SELECT series.start_time + CASE series.frequency
+                                                            WHEN 'DAILY' THEN make_interval(days => (n * series.recurrence_interval)::INTEGER)
+                                                            WHEN 'WEEKLY' THEN make_interval(weeks => (n * series.recurrence_interval)::INTEGER)
+                                                            ELSE make_interval(months => (n * series.recurrence_interval)::INTEGER)
+                                                            END AS occurrence_start) o
+WHERE o.occurrence_start < to_time
+  AND o.occurrence_start + (series.end_time - series.start_time) > from_time
+  AND o.occurrence_start + (series.end_time - series.start_time) <= series.last_end_time
+$$;
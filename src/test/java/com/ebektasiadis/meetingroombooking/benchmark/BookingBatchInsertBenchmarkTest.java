@@ -0,0 +1,115 @@
+package com.ebektasiadis.meetingroombooking.benchmark;
+
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares bulk booking inserts with JDBC batching disabled, which is what IDENTITY ids forced on every insert,
+ * against the configured batch size that pooled sequence ids make possible. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Booking bulk insert benchmark")
+public class BookingBatchInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingBatchInsertBenchmarkTest.class);
+
+    private static final int WARMUP_ROWS = 2_000;
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 3;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    @DisplayName("should report bulk insert throughput with and without JDBC batching")
+    void bulkInsert_batchedAndUnbatched_reportsThroughput() {
+        User user = aUser().withId(null).build();
+        MeetingRoom meetingRoom = aMeetingRoom().withId(null).build();
+        entityManager.persist(user);
+        entityManager.persist(meetingRoom);
+
+        insert(1, WARMUP_ROWS, user, meetingRoom);
+        insert(50, WARMUP_ROWS, user, meetingRoom);
+
+        Duration unbatched = bestOf(1, user, meetingRoom);
+        Duration batched = bestOf(50, user, meetingRoom);
+
+        log.info("Inserted {} bookings: unbatched {} ms ({} rows/s), batch size 50 {} ms ({} rows/s)",
+                ROWS,
+                unbatched.toMillis(), throughput(unbatched),
+                batched.toMillis(), throughput(batched));
+
+        Long rows = entityManager.createQuery("select count(b) from Booking b", Long.class).getSingleResult();
+        assertThat(rows).isEqualTo(2L * WARMUP_ROWS + 2L * ROUNDS * ROWS);
+    }
+
+    private Duration bestOf(int batchSize, User user, MeetingRoom meetingRoom) {
+        Duration best = null;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Duration elapsed = insert(batchSize, ROWS, user, meetingRoom);
+            if (best == null || elapsed.compareTo(best) < 0) {
+                best = elapsed;
+            }
+        }
+
+        return best;
+    }
+
+    private Duration insert(int batchSize, int rows, User user, MeetingRoom meetingRoom) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < rows; i++) {
+            Booking booking = aBooking()
+                    .withId(null)
+                    .withStartTime(START.plusMinutes(i))
+                    .withEndTime(START.plusMinutes(i + 1))
+                    .withBookedBy(user)
+                    .withMeetingRoom(meetingRoom)
+                    .build();
+            entityManager.persist(booking);
+
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return Duration.ofNanos(System.nanoTime() - startedAt);
+    }
+
+    private long throughput(Duration elapsed) {
+        return Math.round(ROWS / (elapsed.toNanos() / 1_000_000_000.0));
+    }
+}
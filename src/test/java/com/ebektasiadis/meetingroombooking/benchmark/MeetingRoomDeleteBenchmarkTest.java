@@ -0,0 +1,121 @@
+package com.ebektasiadis.meetingroombooking.benchmark;
+
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deletes a meeting room with 100k bookings the way the former {@code cascade = ALL, orphanRemoval = true}
+ * collection did, loading every booking and removing it row by row, and with the single bulk delete that relies on
+ * the {@code ON DELETE CASCADE} foreign key. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Meeting room delete benchmark")
+public class MeetingRoomDeleteBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MeetingRoomDeleteBenchmarkTest.class);
+
+    private static final int BOOKINGS_PER_ROOM = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Test
+    @DisplayName("should report the cost of deleting a room with 100k bookings entity by entity and in bulk")
+    void deleteMeetingRoom_entityCascadeAndBulkDelete_reportsCost() {
+        User user = aUser().withId(null).build();
+        entityManager.persist(user);
+        Long entityCascadeRoomId = seedRoom("Entity cascade", user);
+        Long bulkDeleteRoomId = seedRoom("Bulk delete", user);
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        entityManager.createQuery("select b from Booking b where b.meetingRoom.id = :id", Booking.class)
+                .setParameter("id", entityCascadeRoomId)
+                .getResultList()
+                .forEach(entityManager::remove);
+        entityManager.remove(entityManager.find(MeetingRoom.class, entityCascadeRoomId));
+        entityManager.flush();
+        entityManager.clear();
+        Duration entityCascade = Duration.ofNanos(System.nanoTime() - startedAt);
+        long entityCascadeDeletes = statistics.getEntityDeleteCount();
+        long entityCascadeLoads = statistics.getEntityLoadCount();
+
+        statistics.clear();
+        startedAt = System.nanoTime();
+        int deleted = meetingRoomRepository.deleteMeetingRoomById(bulkDeleteRoomId);
+        Duration bulkDelete = Duration.ofNanos(System.nanoTime() - startedAt);
+        long bulkDeleteDeletes = statistics.getEntityDeleteCount();
+        long bulkDeleteLoads = statistics.getEntityLoadCount();
+
+        log.info("Deleted a meeting room with {} bookings: entity cascade {} ms ({} entities loaded, {} deleted one by one), bulk delete {} ms ({} entities loaded, {} deleted one by one)",
+                BOOKINGS_PER_ROOM,
+                entityCascade.toMillis(), entityCascadeLoads, entityCascadeDeletes,
+                bulkDelete.toMillis(), bulkDeleteLoads, bulkDeleteDeletes);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(bulkDeleteLoads).isZero();
+        assertThat(bulkDeleteDeletes).isZero();
+        Long remaining = entityManager.createQuery("select count(b) from Booking b", Long.class).getSingleResult();
+        assertThat(remaining).isZero();
+    }
+
+    private Long seedRoom(String name, User user) {
+        MeetingRoom meetingRoom = aMeetingRoom().withId(null).withName(name).build();
+        entityManager.persist(meetingRoom);
+        User bookedBy = entityManager.getReference(User.class, user.getId());
+
+        for (int i = 0; i < BOOKINGS_PER_ROOM; i++) {
+            entityManager.persist(aBooking()
+                    .withId(null)
+                    .withStartTime(START.plusMinutes(i))
+                    .withEndTime(START.plusMinutes(i + 1))
+                    .withBookedBy(bookedBy)
+                    .withMeetingRoom(meetingRoom)
+                    .build());
+
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                meetingRoom = entityManager.getReference(MeetingRoom.class, meetingRoom.getId());
+                bookedBy = entityManager.getReference(User.class, user.getId());
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return meetingRoom.getId();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ebektasiadis.meetingroombooking.controller;
+
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.service.MeetingRoomService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MeetingRoomController.class)
+@DisplayName("MeetingRoomController")
+public class MeetingRoomControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    MeetingRoomService meetingRoomService;
+
+    @Nested
+    @DisplayName("GET /api/v1/meeting-rooms/{id}")
+    class GetMeetingRoomById {
+
+        @Test
+        @DisplayName("should respond with 304 without loading the meeting room if If-None-Match matches its ETag")
+        void getMeetingRoomById_matchingIfNoneMatch_respondsNotModified() throws Exception {
+            when(meetingRoomService.getMeetingRoomVersion(1L)).thenReturn(3L);
+
+            mockMvc.perform(get("/api/v1/meeting-rooms/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(content().string(""));
+
+            verify(meetingRoomService, never()).getMeetingRoomById(any());
+        }
+
+        @Test
+        @DisplayName("should return the meeting room with its ETag if If-None-Match is stale")
+        void getMeetingRoomById_staleIfNoneMatch_returnsMeetingRoom() throws Exception {
+            when(meetingRoomService.getMeetingRoomVersion(1L)).thenReturn(4L);
+            when(meetingRoomService.getMeetingRoomById(1L))
+                    .thenReturn(new MeetingRoomResponse(1L, "Meeting Room 1", 5, "Thessaloniki, Greece", true, true, 4L));
+
+            mockMvc.perform(get("/api/v1/meeting-rooms/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                    .andExpect(jsonPath("$.name").value("Meeting Room 1"));
+        }
+
+        @Test
+        @DisplayName("should respond with 404 if the meeting room does not exist")
+        void getMeetingRoomById_nonExistingMeetingRoom_respondsNotFound() throws Exception {
+            when(meetingRoomService.getMeetingRoomVersion(999L)).thenThrow(new MeetingRoomNotFoundException(999L));
+
+            mockMvc.perform(get("/api/v1/meeting-rooms/999").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isNotFound());
+
+            verify(meetingRoomService, never()).getMeetingRoomById(any());
+        }
+    }
+}
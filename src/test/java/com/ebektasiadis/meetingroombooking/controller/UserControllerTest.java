@@ -0,0 +1,73 @@
+package com.ebektasiadis.meetingroombooking.controller;
+
+import com.ebektasiadis.meetingroombooking.dto.UserResponse;
+import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserController.class)
+@DisplayName("UserController")
+public class UserControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    UserService userService;
+
+    @Nested
+    @DisplayName("GET /api/v1/users/{id}")
+    class GetUserById {
+
+        @Test
+        @DisplayName("should respond with 304 without loading the user if If-None-Match matches its ETag")
+        void getUserById_matchingIfNoneMatch_respondsNotModified() throws Exception {
+            when(userService.getUserVersion(1L)).thenReturn(3L);
+
+            mockMvc.perform(get("/api/v1/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(content().string(""));
+
+            verify(userService, never()).getUserById(any());
+        }
+
+        @Test
+        @DisplayName("should return the user with its ETag if If-None-Match is stale")
+        void getUserById_staleIfNoneMatch_returnsUser() throws Exception {
+            when(userService.getUserVersion(1L)).thenReturn(4L);
+            when(userService.getUserById(1L))
+                    .thenReturn(new UserResponse(1L, "john_doe", "john@doe.com", 4L));
+
+            mockMvc.perform(get("/api/v1/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                    .andExpect(jsonPath("$.username").value("john_doe"));
+        }
+
+        @Test
+        @DisplayName("should respond with 404 if the user does not exist")
+        void getUserById_nonExistingUser_respondsNotFound() throws Exception {
+            when(userService.getUserVersion(999L)).thenThrow(new UserNotFoundException(999L));
+
+            mockMvc.perform(get("/api/v1/users/999").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isNotFound());
+
+            verify(userService, never()).getUserById(any());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ebektasiadis.meetingroombooking.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadWriteRoutingDataSource")
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    ReplicaLagMonitor replicaLagMonitor;
+
+    SimpleMeterRegistry meterRegistry;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWriteTransaction;
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                h2("primary"), h2("replica"), replicaLagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("should route read-write transactions to the primary")
+    void getConnection_readWriteTransaction_routesToPrimary() {
+        lenient().when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        String database = readWriteTransaction.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualTo("PRIMARY");
+        assertThat(routedConnections("primary")).isEqualTo(1);
+        assertThat(routedConnections("replica")).isZero();
+    }
+
+    @Test
+    @DisplayName("should route read-only transactions to the replica while it is usable")
+    void getConnection_readOnlyTransactionUsableReplica_routesToReplica() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualTo("REPLICA");
+        assertThat(routedConnections("replica")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary for read-only transactions while the replica is unusable")
+    void getConnection_readOnlyTransactionLaggingReplica_fallsBackToPrimary() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        String database = readOnlyTransaction.execute(status -> currentDatabase());
+
+        assertThat(database).isEqualTo("PRIMARY");
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+        assertThat(routedConnections("replica")).isZero();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private double routedConnections(String pool) {
+        return meterRegistry.get("datasource.routed.connections").tag("pool", pool).counter().count();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+}
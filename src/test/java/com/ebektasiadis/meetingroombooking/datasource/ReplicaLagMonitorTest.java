@@ -0,0 +1,79 @@
+package com.ebektasiadis.meetingroombooking.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaLagMonitor")
+public class ReplicaLagMonitorTest {
+
+    @Mock
+    JdbcOperations replicaJdbcOperations;
+
+    SimpleMeterRegistry meterRegistry;
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replicaLagMonitor = new ReplicaLagMonitor(replicaJdbcOperations, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should not use the replica before the first check")
+    void isReplicaUsable_notChecked_returnsFalse() {
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isNaN();
+    }
+
+    @Test
+    @DisplayName("should use the replica while its lag stays within the maximum")
+    void check_lagWithinMaximum_usesReplica() {
+        when(replicaJdbcOperations.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(1.5);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(1.5);
+        assertThat(meterRegistry.get("datasource.replica.usable").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary once the lag exceeds the maximum")
+    void check_lagAboveMaximum_fallsBackToPrimary() {
+        when(replicaJdbcOperations.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.0, 7.5);
+
+        replicaLagMonitor.check();
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(7.5);
+        assertThat(meterRegistry.get("datasource.replica.usable").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary if the replica cannot be reached")
+    void check_replicaUnreachable_fallsBackToPrimary() {
+        when(replicaJdbcOperations.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class))
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        replicaLagMonitor.check();
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isNaN();
+    }
+}
@@ -0,0 +1,326 @@
+package com.ebektasiadis.meetingroombooking.index;
+
+import com.ebektasiadis.meetingroombooking.config.BookingIndexProperties;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingSeriesTestBuilder.aBookingSeries;
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingIntervalIndex")
+public class BookingIntervalIndexTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Mock
+    Clock clock;
+
+    BookingIntervalIndex bookingIntervalIndex;
+
+    MeetingRoom meetingRoomFirst;
+    Booking bookingMorning;
+    Booking bookingAfternoon;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        lenient().when(clock.instant()).thenReturn(NOW.toInstant());
+        lenient().when(meetingRoomRepository.existsById(1L)).thenReturn(true);
+        lenient().when(bookingRepository.existsOverlapping(any(), any(), any(), any())).thenReturn(true);
+
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, bookingSeriesRepository, meetingRoomRepository, clock, new BookingIndexProperties(Duration.ofMinutes(5)));
+
+        meetingRoomFirst = aMeetingRoom()
+                .withId(1L)
+                .build();
+
+        bookingMorning = aBooking()
+                .withId(1L)
+                .withStartTime(LocalDateTime.now(clock).plusHours(9))
+                .withEndTime(LocalDateTime.now(clock).plusHours(10))
+                .withMeetingRoom(meetingRoomFirst)
+                .build();
+
+        bookingAfternoon = aBooking()
+                .withId(2L)
+                .withStartTime(LocalDateTime.now(clock).plusHours(14))
+                .withEndTime(LocalDateTime.now(clock).plusHours(15))
+                .withMeetingRoom(meetingRoomFirst)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("hasConflict method")
+    class HasConflict {
+
+        @BeforeEach
+        void setUp() {
+            when(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class)))
+                    .thenReturn(List.of(bookingMorning, bookingAfternoon));
+        }
+
+        @Test
+        @DisplayName("should report a conflict if the interval overlaps an existing booking")
+        void hasConflict_overlappingInterval_returnsTrue() {
+            LocalDateTime startTime = bookingMorning.getStartTime().plusMinutes(30);
+            LocalDateTime endTime = bookingMorning.getEndTime().plusMinutes(30);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should report a conflict if the interval contains an existing booking")
+        void hasConflict_containingInterval_returnsTrue() {
+            LocalDateTime startTime = bookingAfternoon.getStartTime().minusHours(1);
+            LocalDateTime endTime = bookingAfternoon.getEndTime().plusHours(1);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not report a conflict if the interval fits between existing bookings")
+        void hasConflict_intervalBetweenBookings_returnsFalse() {
+            LocalDateTime startTime = bookingMorning.getEndTime();
+            LocalDateTime endTime = bookingAfternoon.getStartTime();
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should ignore the excluded booking")
+        void hasConflict_overlappingExcludedBooking_returnsFalse() {
+            LocalDateTime startTime = bookingMorning.getStartTime();
+            LocalDateTime endTime = bookingMorning.getEndTime().plusHours(1);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, bookingMorning.getId())).isFalse();
+        }
+
+        @Test
+        @DisplayName("should load the room timeline only once within the refresh interval")
+        void hasConflict_repeatedChecks_loadsTimelineOnce() {
+            LocalDateTime startTime = bookingMorning.getEndTime();
+            LocalDateTime endTime = bookingAfternoon.getStartTime();
+
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+
+            verify(bookingRepository, times(1)).findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("should reload the room timeline once the refresh interval has passed")
+        void hasConflict_expiredTimeline_reloadsTimeline() {
+            LocalDateTime startTime = bookingMorning.getEndTime();
+            LocalDateTime endTime = bookingAfternoon.getStartTime();
+
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+            when(clock.instant()).thenReturn(NOW.plusMinutes(5).toInstant());
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+
+            verify(bookingRepository, times(2)).findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("should confirm a conflict with the database and not query it when there is none")
+        void hasConflict_cachedConflict_isConfirmedByDatabase() {
+            LocalDateTime startTime = bookingMorning.getStartTime();
+            LocalDateTime endTime = bookingMorning.getEndTime();
+
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getEndTime(), bookingAfternoon.getStartTime(), null);
+            verify(bookingRepository, never()).existsOverlapping(any(), any(), any(), any());
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isTrue();
+            verify(bookingRepository).existsOverlapping(meetingRoomFirst.getId(), startTime, endTime, null);
+        }
+
+        @Test
+        @DisplayName("should not report a conflict the database does not confirm and reload the stale timeline")
+        void hasConflict_staleConflict_returnsFalseAndReloadsTimeline() {
+            LocalDateTime startTime = bookingMorning.getStartTime();
+            LocalDateTime endTime = bookingMorning.getEndTime();
+            when(bookingRepository.existsOverlapping(meetingRoomFirst.getId(), startTime, endTime, null)).thenReturn(false);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isFalse();
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getEndTime(), bookingAfternoon.getStartTime(), null);
+
+            verify(bookingRepository, times(2)).findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("booking series")
+    class BookingSeriesOccurrences {
+
+        BookingSeries weeklySeries;
+
+        @BeforeEach
+        void setUp() {
+            weeklySeries = aBookingSeries()
+                    .withId(7L)
+                    .withMeetingRoom(meetingRoomFirst)
+                    .build();
+
+            when(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class)))
+                    .thenReturn(Collections.emptyList());
+            when(bookingSeriesRepository.findByMeetingRoomIdAndLastEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class)))
+                    .thenReturn(List.of(weeklySeries));
+        }
+
+        @Test
+        @DisplayName("should report a conflict with an occurrence of a series confirmed by the database")
+        void hasConflict_overlappingOccurrence_returnsTrue() {
+            LocalDateTime startTime = weeklySeries.getStartTime().plusWeeks(2).plusMinutes(30);
+            LocalDateTime endTime = startTime.plusHours(1);
+            when(bookingRepository.existsOverlapping(meetingRoomFirst.getId(), startTime, endTime, null)).thenReturn(false);
+            when(bookingSeriesRepository.findOverlapping(List.of(meetingRoomFirst.getId()), startTime, endTime)).thenReturn(List.of(weeklySeries));
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not query the database for an interval between occurrences")
+        void hasConflict_intervalBetweenOccurrences_returnsFalseWithoutQuery() {
+            LocalDateTime startTime = weeklySeries.getStartTime().plusDays(1);
+            LocalDateTime endTime = startTime.plusHours(1);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isFalse();
+
+            verify(bookingRepository, never()).existsOverlapping(any(), any(), any(), any());
+            verify(bookingSeriesRepository, never()).findOverlapping(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should stop reporting conflicts with a forgotten series")
+        void forgetSeries_existingSeries_isNoLongerVisible() {
+            LocalDateTime startTime = weeklySeries.getStartTime().plusWeeks(1);
+            LocalDateTime endTime = startTime.plusHours(1);
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+
+            bookingIntervalIndex.forgetSeries(weeklySeries.getId());
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should report a conflict with a recorded series")
+        void recordSeries_newSeries_isVisibleToHasConflict() {
+            BookingSeries laterSeries = aBookingSeries()
+                    .withId(8L)
+                    .withStartTime(weeklySeries.getStartTime().plusHours(2))
+                    .withEndTime(weeklySeries.getStartTime().plusHours(3))
+                    .withMeetingRoom(meetingRoomFirst)
+                    .build();
+            LocalDateTime startTime = laterSeries.getStartTime().plusWeeks(1);
+            LocalDateTime endTime = startTime.plusMinutes(30);
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isFalse();
+
+            bookingIntervalIndex.recordSeries(laterSeries);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("unknown meeting rooms")
+    class UnknownMeetingRooms {
+
+        @Test
+        @DisplayName("should not keep a timeline for a meeting room that does not exist")
+        void hasConflict_unknownMeetingRoom_isNotCached() {
+            Long unknownMeetingRoomId = 99L;
+            when(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(eq(unknownMeetingRoomId), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+            when(meetingRoomRepository.existsById(unknownMeetingRoomId)).thenReturn(false);
+
+            LocalDateTime startTime = bookingMorning.getStartTime();
+            LocalDateTime endTime = bookingMorning.getEndTime();
+            assertThat(bookingIntervalIndex.hasConflict(unknownMeetingRoomId, startTime, endTime, null)).isFalse();
+            assertThat(bookingIntervalIndex.hasConflict(unknownMeetingRoomId, startTime, endTime, null)).isFalse();
+
+            verify(bookingRepository, times(2)).findByMeetingRoomIdAndEndTimeAfter(eq(unknownMeetingRoomId), any(LocalDateTime.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("record and forget methods")
+    class RecordAndForget {
+
+        @BeforeEach
+        void setUp() {
+            when(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(eq(meetingRoomFirst.getId()), any(LocalDateTime.class)))
+                    .thenReturn(Collections.emptyList());
+        }
+
+        @Test
+        @DisplayName("should report a conflict with a recorded booking")
+        void record_newBooking_isVisibleToHasConflict() {
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null);
+
+            bookingIntervalIndex.record(bookingMorning);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should move a re-recorded booking to its new interval")
+        void record_updatedBooking_replacesPreviousInterval() {
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null);
+            bookingIntervalIndex.record(bookingMorning);
+
+            Booking movedBooking = aBooking()
+                    .withId(bookingMorning.getId())
+                    .withStartTime(bookingAfternoon.getStartTime())
+                    .withEndTime(bookingAfternoon.getEndTime())
+                    .withMeetingRoom(meetingRoomFirst)
+                    .build();
+            bookingIntervalIndex.record(movedBooking);
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null)).isFalse();
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingAfternoon.getStartTime(), bookingAfternoon.getEndTime(), null)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not report a conflict with a forgotten booking")
+        void forget_existingBooking_isNoLongerVisible() {
+            bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null);
+            bookingIntervalIndex.record(bookingMorning);
+
+            bookingIntervalIndex.forget(bookingMorning.getId());
+
+            assertThat(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), bookingMorning.getStartTime(), bookingMorning.getEndTime(), null)).isFalse();
+        }
+    }
+}
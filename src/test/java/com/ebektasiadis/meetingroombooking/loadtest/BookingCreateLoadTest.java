@@ -0,0 +1,164 @@
+package com.ebektasiadis.meetingroombooking.loadtest;
+
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@code POST /api/v1/bookings} over HTTP with the default platform-thread pool and with the
+ * {@code virtual-threads} profile, and reports throughput and latency percentiles for both. Every request books a
+ * distinct slot, so all of them are expected to succeed. Run with {@code mvn test -Pbenchmark}.
+ * <p>
+ * Runs against PostgreSQL by default; {@code loadtest.database} picks the database, see {@link LoadTestApplication}.
+ * {@code loadtest.requests} and {@code loadtest.concurrency} tune the load.
+ */
+@Tag("benchmark")
+@DisplayName("Booking creation load test")
+public class BookingCreateLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCreateLoadTest.class);
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 5_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 256);
+    private static final int WARMUP_REQUESTS = 1_000;
+    private static final int MEETING_ROOMS = 100;
+
+    @Test
+    @DisplayName("should report throughput and latency of booking creation on platform and virtual threads")
+    void createBooking_platformAndVirtualThreads_reportsThroughputAndLatency() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("POST /api/v1/bookings, {} requests at concurrency {}", REQUESTS, CONCURRENCY);
+        log.info("platform threads: {}", platform);
+        log.info("virtual threads:  {}", virtual);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestApplication.start(virtualThreads)) {
+            URI uri = LoadTestApplication.baseUri(context).resolve("/api/v1/bookings");
+
+            User user = context.getBean(UserRepository.class).save(aUser()
+                    .withId(null)
+                    .withUsername("load_" + System.nanoTime())
+                    .withEmail("load_" + System.nanoTime() + "@example.com")
+                    .build());
+            List<Long> meetingRoomIds = IntStream.range(0, MEETING_ROOMS)
+                    .mapToObj(i -> context.getBean(MeetingRoomRepository.class).save(aMeetingRoom()
+                            .withId(null)
+                            .withName("Load " + System.nanoTime() + " " + i)
+                            .build()))
+                    .map(MeetingRoom::getId)
+                    .toList();
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+            fire(uri, user.getId(), meetingRoomIds, start, WARMUP_REQUESTS);
+
+            return fire(uri, user.getId(), meetingRoomIds, start.plusYears(1), REQUESTS);
+        }
+    }
+
+    private Result fire(URI uri, Long userId, List<Long> meetingRoomIds, LocalDateTime start, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            long startedAt = System.nanoTime();
+
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                LocalDateTime startTime = start.plusHours(i / meetingRoomIds.size());
+                String body = String.format(
+                        "{\"startTime\":\"%s\",\"endTime\":\"%s\",\"purpose\":\"Load test\",\"userId\":%d,\"meetingRoomId\":%d}",
+                        startTime, startTime.plusHours(1), userId, meetingRoomIds.get(i % meetingRoomIds.size()));
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long sentAt = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 201) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            return Result.of(latencies, Duration.ofNanos(System.nanoTime() - startedAt), failures.get());
+        }
+    }
+
+    private record Result(long throughput, Duration p50, Duration p99, Duration max, int failures) {
+
+        static Result of(long[] latencies, Duration elapsed, int failures) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+
+            return new Result(
+                    Math.round(sorted.length / (elapsed.toNanos() / 1_000_000_000.0)),
+                    Duration.ofNanos(percentile(sorted, 0.50)),
+                    Duration.ofNanos(percentile(sorted, 0.99)),
+                    Duration.ofNanos(sorted[sorted.length - 1]),
+                    failures
+            );
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d failures",
+                    throughput, p50.toNanos() / 1e6, p99.toNanos() / 1e6, max.toNanos() / 1e6, failures);
+        }
+    }
+}
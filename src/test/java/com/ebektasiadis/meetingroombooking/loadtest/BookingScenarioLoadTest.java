@@ -0,0 +1,276 @@
+package com.ebektasiadis.meetingroombooking.loadtest;
+
+import com.ebektasiadis.meetingroombooking.loadtest.DatasetGenerator.Dataset;
+import com.ebektasiadis.meetingroombooking.loadtest.DatasetGenerator.SeededBooking;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a reproducible dataset with {@link DatasetGenerator} and drives a mixed workload against it over HTTP:
+ * 80% reads of bookings and meeting rooms, 15% booking creations of which a fifth target an already booked slot,
+ * and 5% booking updates and deletions. Throughput, latency percentiles and response statuses are reported per
+ * endpoint. Run with {@code mvn test -Pbenchmark -Dtest=BookingScenarioLoadTest}.
+ * <p>
+ * The size of the dataset and of the run are tuned with {@code loadtest.users}, {@code loadtest.rooms},
+ * {@code loadtest.bookings}, {@code loadtest.operations}, {@code loadtest.concurrency} and {@code loadtest.seed};
+ * {@code loadtest.virtualThreads} serves the requests on virtual threads and {@code loadtest.database} selects the
+ * database, PostgreSQL by default, see {@link LoadTestApplication}.
+ */
+@Tag("benchmark")
+@DisplayName("Booking scenario load test")
+public class BookingScenarioLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingScenarioLoadTest.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 500);
+    private static final int MEETING_ROOMS = Integer.getInteger("loadtest.rooms", 50);
+    private static final int BOOKINGS = Integer.getInteger("loadtest.bookings", 20_000);
+    private static final int OPERATIONS = Integer.getInteger("loadtest.operations", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("loadtest.virtualThreads");
+    private static final int WARMUP_OPERATIONS = 2_000;
+    private static final double CONFLICT_RATIO = 0.2;
+
+    @Test
+    @DisplayName("should report per-endpoint throughput and latency of the booking scenario mix")
+    void scenarioMix_seededDataset_reportsThroughputAndLatencyPerEndpoint() throws Exception {
+        try (ConfigurableApplicationContext context = LoadTestApplication.start(VIRTUAL_THREADS)) {
+            long seededAt = System.nanoTime();
+            Dataset dataset = new DatasetGenerator(context.getBean(EntityManagerFactory.class), SEED)
+                    .generate(USERS, MEETING_ROOMS, BOOKINGS, LocalDate.now());
+            log.info("Seeded {} users, {} meeting rooms and {} bookings in {} ms", USERS, MEETING_ROOMS, BOOKINGS,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seededAt));
+
+            Scenario scenario = new Scenario(LoadTestApplication.baseUri(context), dataset, new Random(SEED));
+            scenario.run(WARMUP_OPERATIONS, new SimpleMeterRegistry());
+
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            Duration elapsed = scenario.run(OPERATIONS, registry);
+
+            log.info("{} operations at concurrency {} on {} threads in {} ms", OPERATIONS, CONCURRENCY,
+                    VIRTUAL_THREADS ? "virtual" : "platform", elapsed.toMillis());
+            for (Operation operation : Operation.values()) {
+                log.info(report(registry, operation, elapsed));
+            }
+
+            assertThat(scenario.failures()).isZero();
+            assertThat(registry.find("loadtest.responses").tag("status", value -> value.startsWith("5")).counters()).isEmpty();
+        }
+    }
+
+    private static String report(MeterRegistry registry, Operation operation, Duration elapsed) {
+        Timer timer = registry.find("loadtest.requests").tag("endpoint", operation.endpoint).timer();
+        if (timer == null || timer.count() == 0) {
+            return String.format("%-26s no requests", operation.endpoint);
+        }
+
+        Map<Double, Double> percentiles = new TreeMap<>();
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, Long> statuses = new TreeMap<>();
+        for (Counter counter : registry.find("loadtest.responses").tag("endpoint", operation.endpoint).counters()) {
+            statuses.put(counter.getId().getTag("status"), (long) counter.count());
+        }
+
+        return String.format("%-26s %6d req %7.1f req/s  p50 %7.1f ms  p95 %7.1f ms  p99 %7.1f ms  max %7.1f ms  %s",
+                operation.endpoint,
+                timer.count(),
+                timer.count() / (elapsed.toNanos() / 1_000_000_000.0),
+                percentiles.get(0.5),
+                percentiles.get(0.95),
+                percentiles.get(0.99),
+                timer.max(TimeUnit.MILLISECONDS),
+                statuses);
+    }
+
+    private enum Operation {
+        GET_BOOKING("GET /bookings/{id}", 50),
+        GET_MEETING_ROOM("GET /meeting-rooms/{id}", 20),
+        GET_MEETING_ROOMS("GET /meeting-rooms", 10),
+        CREATE_BOOKING("POST /bookings", 15),
+        UPDATE_BOOKING("PUT /bookings/{id}", 3),
+        DELETE_BOOKING("DELETE /bookings/{id}", 2);
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        static Operation pick(Random random) {
+            int roll = random.nextInt(100);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+
+            return GET_BOOKING;
+        }
+    }
+
+    private static final class Scenario {
+
+        private final URI baseUri;
+        private final Dataset dataset;
+        private final List<SeededBooking> upcomingBookings;
+        private final Random random;
+        private final LocalDateTime freeSlotsFrom;
+        private final AtomicInteger failures = new AtomicInteger();
+        private int freeSlots;
+
+        private Scenario(URI baseUri, Dataset dataset, Random random) {
+            this.baseUri = baseUri;
+            this.dataset = dataset;
+            this.random = random;
+            this.upcomingBookings = dataset.bookings().stream()
+                    .filter(booking -> booking.startTime().isAfter(LocalDateTime.now().plusDays(1)))
+                    .toList();
+            this.freeSlotsFrom = dataset.bookings().stream()
+                    .map(SeededBooking::endTime)
+                    .max(LocalDateTime::compareTo)
+                    .orElseGet(LocalDateTime::now)
+                    .toLocalDate()
+                    .plusDays(1)
+                    .atStartOfDay();
+        }
+
+        Duration run(int operations, MeterRegistry registry) throws Exception {
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            List<Future<?>> futures = new ArrayList<>(operations);
+
+            try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+                 ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                long startedAt = System.nanoTime();
+
+                for (int i = 0; i < operations; i++) {
+                    Operation operation = Operation.pick(random);
+                    HttpRequest request = request(operation);
+                    Timer timer = Timer.builder("loadtest.requests")
+                            .tag("endpoint", operation.endpoint)
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .distributionStatisticExpiry(Duration.ofHours(1))
+                            .distributionStatisticBufferLength(1)
+                            .register(registry);
+
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        long sentAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            timer.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                            registry.counter("loadtest.responses", "endpoint", operation.endpoint, "status", String.valueOf(response.statusCode())).increment();
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                return Duration.ofNanos(System.nanoTime() - startedAt);
+            }
+        }
+
+        int failures() {
+            return failures.get();
+        }
+
+        private HttpRequest request(Operation operation) {
+            return switch (operation) {
+                case GET_BOOKING -> HttpRequest.newBuilder(uri("/bookings/" + anyBooking().id())).GET().build();
+                case GET_MEETING_ROOM -> HttpRequest.newBuilder(uri("/meeting-rooms/" + anyOf(dataset.meetingRoomIds()))).GET().build();
+                case GET_MEETING_ROOMS -> HttpRequest.newBuilder(uri("/meeting-rooms")).GET().build();
+                case CREATE_BOOKING -> {
+                    String body = random.nextDouble() < CONFLICT_RATIO
+                            ? conflictingBookingBody()
+                            : freeBookingBody(anyOf(dataset.meetingRoomIds()));
+                    yield HttpRequest.newBuilder(uri("/bookings"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                }
+                case UPDATE_BOOKING -> {
+                    SeededBooking booking = anyOf(upcomingBookings);
+                    yield HttpRequest.newBuilder(uri("/bookings/" + booking.id()))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(freeBookingBody(booking.meetingRoomId())))
+                            .build();
+                }
+                case DELETE_BOOKING -> HttpRequest.newBuilder(uri("/bookings/" + anyBooking().id())).DELETE().build();
+            };
+        }
+
+        private String conflictingBookingBody() {
+            SeededBooking booking = anyOf(upcomingBookings);
+
+            return bookingBody(booking.startTime(), booking.endTime(), booking.meetingRoomId());
+        }
+
+        private String freeBookingBody(Long meetingRoomId) {
+            LocalDateTime startTime = freeSlotsFrom.plusHours(freeSlots++);
+
+            return bookingBody(startTime, startTime.plusHours(1), meetingRoomId);
+        }
+
+        private String bookingBody(LocalDateTime startTime, LocalDateTime endTime, Long meetingRoomId) {
+            return String.format(
+                    "{\"startTime\":\"%s\",\"endTime\":\"%s\",\"purpose\":\"Load test\",\"userId\":%d,\"meetingRoomId\":%d}",
+                    startTime, endTime, anyOf(dataset.userIds()), meetingRoomId);
+        }
+
+        private SeededBooking anyBooking() {
+            return anyOf(dataset.bookings());
+        }
+
+        private <T> T anyOf(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private URI uri(String path) {
+            return URI.create(baseUri + path);
+        }
+    }
+}
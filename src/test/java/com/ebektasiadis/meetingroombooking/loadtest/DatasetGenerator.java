@@ -0,0 +1,194 @@
+package com.ebektasiadis.meetingroombooking.loadtest;
+
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+
+/**
+ * Seeds users, meeting rooms and bookings for the load tests. The same seed always produces the same dataset
+ * shape: bookings fall on weekdays between 08:00 and 18:00 on half-hour boundaries, last 30 minutes to 2 hours,
+ * fill some rooms more than others and come mostly from a minority of busy users. Roughly a quarter of them lie
+ * in the past. Rows are inserted through JPA in JDBC batches, so the ids stay in step with the pooled sequences.
+ * Names carry a per-run prefix, so repeated runs against the same database do not collide.
+ */
+final class DatasetGenerator {
+
+    private static final LocalTime DAY_START = LocalTime.of(8, 0);
+    private static final LocalTime DAY_END = LocalTime.of(18, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int[] DURATION_SLOTS = {1, 1, 2, 2, 2, 2, 3, 4};
+    private static final String[] LOCATIONS = {"Ground floor", "First floor", "Second floor", "Third floor"};
+    private static final String[] PURPOSES = {"Stand-up", "Planning", "Retrospective", "Interview", "1:1", "Workshop", "Client call"};
+    private static final double MIN_OCCUPANCY = 0.2;
+    private static final double MAX_OCCUPANCY = 0.9;
+    private static final int BATCH_SIZE = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Random random;
+    private final String prefix;
+
+    DatasetGenerator(EntityManagerFactory entityManagerFactory, long seed) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.random = new Random(seed);
+        this.prefix = "seed" + seed + "_" + Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    Dataset generate(int users, int meetingRooms, int bookings, LocalDate today) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+
+        try {
+            transaction.begin();
+
+            List<Long> userIds = seedUsers(entityManager, users);
+            List<Long> meetingRoomIds = seedMeetingRooms(entityManager, meetingRooms);
+            List<SeededBooking> seededBookings = seedBookings(entityManager, userIds, meetingRoomIds, bookings, today);
+
+            transaction.commit();
+
+            return new Dataset(userIds, meetingRoomIds, seededBookings);
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private List<Long> seedUsers(EntityManager entityManager, int users) {
+        List<User> persisted = new ArrayList<>(users);
+
+        for (int i = 0; i < users; i++) {
+            User user = aUser()
+                    .withId(null)
+                    .withUsername(prefix + "_user_" + i)
+                    .withEmail(prefix + "_user_" + i + "@example.com")
+                    .build();
+            entityManager.persist(user);
+            persisted.add(user);
+            flushEveryBatch(entityManager, i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return persisted.stream().map(User::getId).toList();
+    }
+
+    private List<Long> seedMeetingRooms(EntityManager entityManager, int meetingRooms) {
+        List<MeetingRoom> persisted = new ArrayList<>(meetingRooms);
+
+        for (int i = 0; i < meetingRooms; i++) {
+            MeetingRoom meetingRoom = aMeetingRoom()
+                    .withId(null)
+                    .withName(prefix + "_room_" + i)
+                    .withCapacity(2 + random.nextInt(19))
+                    .withLocation(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .withHasProjector(random.nextBoolean())
+                    .withHasWhiteboard(random.nextBoolean())
+                    .build();
+            entityManager.persist(meetingRoom);
+            persisted.add(meetingRoom);
+            flushEveryBatch(entityManager, i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return persisted.stream().map(MeetingRoom::getId).toList();
+    }
+
+    private List<SeededBooking> seedBookings(EntityManager entityManager, List<Long> userIds, List<Long> meetingRoomIds, int bookings, LocalDate today) {
+        double[] occupancy = new double[meetingRoomIds.size()];
+        for (int i = 0; i < occupancy.length; i++) {
+            occupancy[i] = MIN_OCCUPANCY + (MAX_OCCUPANCY - MIN_OCCUPANCY) * random.nextDouble();
+        }
+
+        int slotsPerDay = (DAY_END.toSecondOfDay() - DAY_START.toSecondOfDay()) / (SLOT_MINUTES * 60);
+        double meanOccupancy = (MIN_OCCUPANCY + MAX_OCCUPANCY) / 2;
+        double meanDuration = Arrays.stream(DURATION_SLOTS).average().orElse(1);
+        double bookingsPerWeekday = meetingRoomIds.size() * slotsPerDay * meanOccupancy / (1 - meanOccupancy + meanOccupancy * meanDuration);
+        LocalDate day = today.minusDays(Math.round(bookings / bookingsPerWeekday * 7 / 5 / 4));
+
+        List<Booking> persisted = new ArrayList<>(bookings);
+        List<Long> persistedMeetingRoomIds = new ArrayList<>(bookings);
+
+        while (persisted.size() < bookings) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                for (int room = 0; room < meetingRoomIds.size() && persisted.size() < bookings; room++) {
+                    int slot = 0;
+
+                    while (slot < slotsPerDay && persisted.size() < bookings) {
+                        if (random.nextDouble() >= occupancy[room]) {
+                            slot++;
+                            continue;
+                        }
+
+                        int duration = Math.min(DURATION_SLOTS[random.nextInt(DURATION_SLOTS.length)], slotsPerDay - slot);
+                        LocalDateTime startTime = day.atTime(DAY_START).plusMinutes((long) slot * SLOT_MINUTES);
+                        Long meetingRoomId = meetingRoomIds.get(room);
+
+                        Booking booking = aBooking()
+                                .withId(null)
+                                .withStartTime(startTime)
+                                .withEndTime(startTime.plusMinutes((long) duration * SLOT_MINUTES))
+                                .withPurpose(PURPOSES[random.nextInt(PURPOSES.length)])
+                                .withBookedBy(entityManager.getReference(User.class, pickUser(userIds)))
+                                .withMeetingRoom(entityManager.getReference(MeetingRoom.class, meetingRoomId))
+                                .build();
+                        entityManager.persist(booking);
+                        persisted.add(booking);
+                        persistedMeetingRoomIds.add(meetingRoomId);
+                        flushEveryBatch(entityManager, persisted.size() - 1);
+
+                        slot += duration;
+                    }
+                }
+            }
+            day = day.plusDays(1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<SeededBooking> seededBookings = new ArrayList<>(persisted.size());
+        for (int i = 0; i < persisted.size(); i++) {
+            Booking booking = persisted.get(i);
+            seededBookings.add(new SeededBooking(booking.getId(), persistedMeetingRoomIds.get(i), booking.getStartTime(), booking.getEndTime()));
+        }
+
+        return seededBookings;
+    }
+
+    private Long pickUser(List<Long> userIds) {
+        double skewed = random.nextDouble() * random.nextDouble();
+
+        return userIds.get((int) (skewed * userIds.size()));
+    }
+
+    private void flushEveryBatch(EntityManager entityManager, int index) {
+        if ((index + 1) % BATCH_SIZE == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    record Dataset(List<Long> userIds, List<Long> meetingRoomIds, List<SeededBooking> bookings) {
+    }
+
+    record SeededBooking(Long id, Long meetingRoomId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.ebektasiadis.meetingroombooking.loadtest;
+
+import com.ebektasiadis.meetingroombooking.MeetingRoomBookingApplication;
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the application on a random port for the load tests. {@code loadtest.database} picks the database:
+ * <ul>
+ *     <li>{@code embedded} (default): a fresh database with the Flyway schema on the embedded PostgreSQL server of
+ *     {@link EmbeddedPostgresDatabase}, per started application.</li>
+ *     <li>{@code docker}: the Postgres database from {@code docker-compose.yml}, as configured in
+ *     {@code application.yml}.</li>
+ *     <li>{@code h2}: the in-memory {@code h2} profile. It barely blocks and has neither the partitions nor the
+ *     overlap trigger, so its numbers do not carry over to PostgreSQL.</li>
+ * </ul>
+ * Further profiles, such as {@code replica}, can be added with {@code loadtest.profiles}.
+ */
+final class LoadTestApplication {
+
+    static final String DATABASE = System.getProperty("loadtest.database", "embedded");
+    static final String PROFILES = System.getProperty("loadtest.profiles", "");
+
+    private LoadTestApplication() {
+    }
+
+    static ConfigurableApplicationContext start(boolean virtualThreads) {
+        List<String> profiles = new ArrayList<>(Arrays.stream(PROFILES.split(",")).filter(profile -> !profile.isBlank()).toList());
+        if (virtualThreads) {
+            profiles.add("virtual-threads");
+        }
+
+        // Arguments, unlike the builder's default properties, take precedence over application.yml
+        List<String> args = new ArrayList<>();
+        switch (DATABASE) {
+            case "embedded" -> args.addAll(List.of(
+                    "--spring.datasource.url=" + EmbeddedPostgresDatabase.createUrl(),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password="));
+            case "docker" -> {
+                // application.yml already points at it
+            }
+            case "h2" -> profiles.add("h2");
+            default -> throw new IllegalArgumentException("Unknown loadtest.database " + DATABASE + ", expected embedded, docker or h2");
+        }
+
+        return new SpringApplicationBuilder(MeetingRoomBookingApplication.class)
+                .properties("server.port=0")
+                .profiles(profiles.toArray(String[]::new))
+                .run(args.toArray(String[]::new));
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        return URI.create("http://localhost:" + port + "/api/v1");
+    }
+}
@@ -0,0 +1,57 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomBookingCount;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveBookingsMetrics")
+public class ActiveBookingsMetricsTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    SimpleMeterRegistry meterRegistry;
+    ActiveBookingsMetrics activeBookingsMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        activeBookingsMetrics = new ActiveBookingsMetrics(bookingRepository, CLOCK, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should publish a gauge per meeting room and drop rooms without active bookings")
+    void refresh_activeBookings_publishesGaugePerMeetingRoom() {
+        when(bookingRepository.countByMeetingRoomAndEndTimeAfter(LocalDateTime.now(CLOCK)))
+                .thenReturn(List.of(new MeetingRoomBookingCount(1L, 3L), new MeetingRoomBookingCount(2L, 5L)))
+                .thenReturn(List.of(new MeetingRoomBookingCount(2L, 4L)));
+
+        activeBookingsMetrics.refresh();
+
+        assertThat(meterRegistry.get("bookings.active").tag("meetingRoomId", "1").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("bookings.active").tag("meetingRoomId", "2").gauge().value()).isEqualTo(5);
+
+        activeBookingsMetrics.refresh();
+
+        assertThat(meterRegistry.get("bookings.active").gauges()).hasSize(1);
+        assertThat(meterRegistry.get("bookings.active").tag("meetingRoomId", "2").gauge().value()).isEqualTo(4);
+    }
+}
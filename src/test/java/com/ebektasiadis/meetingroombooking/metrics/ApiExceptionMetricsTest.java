@@ -0,0 +1,47 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingDateConflictException;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ApiExceptionMetrics")
+public class ApiExceptionMetricsTest {
+
+    SimpleMeterRegistry meterRegistry;
+    ApiExceptionMetrics apiExceptionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        apiExceptionMetrics = new ApiExceptionMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should count exceptions by type")
+    void record_apiExceptions_countsByType() {
+        apiExceptionMetrics.record(new BookingNotFoundException(1L));
+        apiExceptionMetrics.record(new BookingNotFoundException(2L));
+        apiExceptionMetrics.record(new BookingDateConflictException(1L));
+
+        assertThat(meterRegistry.get("api.exceptions").tag("exception", "BookingNotFoundException").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("api.exceptions").tag("exception", "BookingDateConflictException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should count booking conflicts per meeting room")
+    void record_bookingDateConflicts_countsPerMeetingRoom() {
+        apiExceptionMetrics.record(new BookingDateConflictException(1L));
+        apiExceptionMetrics.record(new BookingDateConflictException(1L));
+        apiExceptionMetrics.record(new BookingDateConflictException(2L));
+        apiExceptionMetrics.record(new BookingNotFoundException(1L));
+
+        assertThat(meterRegistry.get("bookings.conflicts").tag("meetingRoomId", "1").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("bookings.conflicts").tag("meetingRoomId", "2").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bookings.conflicts").counters()).hasSize(2);
+    }
+}
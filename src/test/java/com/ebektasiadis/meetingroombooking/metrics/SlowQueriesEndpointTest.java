@@ -0,0 +1,74 @@
+package com.ebektasiadis.meetingroombooking.metrics;
+
+import com.ebektasiadis.meetingroombooking.metrics.SlowQueriesEndpoint.SlowQuery;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SlowQueriesEndpoint")
+public class SlowQueriesEndpointTest {
+
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    SessionFactory sessionFactory;
+
+    @Mock
+    Statistics statistics;
+
+    SlowQueriesEndpoint slowQueriesEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+
+        when(statistics.getQueries()).thenReturn(new String[]{"select fast", "select slow", "select never", "select slowest"});
+        stub("select fast", 100, 2);
+        stub("select slow", 3, 150);
+        stub("select never", 0, 0);
+        stub("select slowest", 1, 900);
+
+        slowQueriesEndpoint = new SlowQueriesEndpoint(entityManagerFactory);
+    }
+
+    private void stub(String query, long executionCount, long maxTime) {
+        QueryStatistics queryStatistics = mock(QueryStatistics.class);
+        when(queryStatistics.getExecutionCount()).thenReturn(executionCount);
+        when(queryStatistics.getExecutionMaxTime()).thenReturn(maxTime);
+        when(statistics.getQueryStatistics(query)).thenReturn(queryStatistics);
+    }
+
+    @Test
+    @DisplayName("should list executed queries by slowest execution first")
+    void slowQueries_noLimit_returnsExecutedQueriesBySlowestExecution() {
+        assertThat(slowQueriesEndpoint.slowQueries(null))
+                .extracting(SlowQuery::query)
+                .containsExactly("select slowest", "select slow", "select fast");
+    }
+
+    @Test
+    @DisplayName("should return at most the requested number of queries")
+    void slowQueries_withLimit_returnsTopQueries() {
+        assertThat(slowQueriesEndpoint.slowQueries(2))
+                .extracting(SlowQuery::query, SlowQuery::maxTimeMs)
+                .containsExactly(
+                        tuple("select slowest", 900L),
+                        tuple("select slow", 150L)
+                );
+    }
+}
@@ -0,0 +1,148 @@
+package com.ebektasiadis.meetingroombooking.partition;
+
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("postgres")
+@DisplayName("bookings_no_overlap trigger on PostgreSQL")
+public class BookingOverlapTriggerPostgresTest {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    static DataSource dataSource;
+    static JdbcTemplate jdbcTemplate;
+
+    long userId;
+    long meetingRoomId;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = EmbeddedPostgresDatabase.create("latest");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int month = 1; month <= 6; month++) {
+            jdbcTemplate.queryForObject(BookingPartitionMaintenance.CREATE_PARTITION, String.class, LocalDate.of(2030, month, 1));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = insertUser(jdbcTemplate);
+        meetingRoomId = insertMeetingRoom(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("should reject a booking overlapping one that started in the previous month")
+    void insert_overlapAcrossMonths_isRejected() {
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2030, 1, 31, 22, 0), LocalDateTime.of(2030, 2, 1, 2, 0));
+
+        assertThatThrownBy(() -> insertBooking(jdbcTemplate, userId, meetingRoomId,
+                LocalDateTime.of(2030, 2, 1, 1, 0), LocalDateTime.of(2030, 2, 1, 3, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+        assertThatThrownBy(() -> insertBooking(jdbcTemplate, userId, meetingRoomId,
+                LocalDateTime.of(2030, 1, 31, 20, 0), LocalDateTime.of(2030, 1, 31, 23, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+        assertThat(insertBooking(jdbcTemplate, userId, meetingRoomId,
+                LocalDateTime.of(2030, 2, 1, 2, 0), LocalDateTime.of(2030, 2, 1, 3, 0))).isPositive();
+    }
+
+    @Test
+    @DisplayName("should reject a booking overlapping one that started several months earlier")
+    void insert_overlapWithLongBooking_isRejected() {
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2030, 1, 5, 9, 0), LocalDateTime.of(2030, 4, 5, 9, 0));
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2030, 5, 1, 9, 0), LocalDateTime.of(2030, 5, 1, 10, 0));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT max_duration_seconds FROM booking_max_durations WHERE meeting_room_id = ?", Long.class, meetingRoomId))
+                .isEqualTo(Duration.ofDays(90).toSeconds());
+        assertThatThrownBy(() -> insertBooking(jdbcTemplate, userId, meetingRoomId,
+                LocalDateTime.of(2030, 3, 20, 9, 0), LocalDateTime.of(2030, 3, 20, 10, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    @DisplayName("should reject a moved booking that overlaps another one")
+    void update_overlap_isRejected() {
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2030, 3, 31, 23, 0), LocalDateTime.of(2030, 4, 1, 1, 0));
+        long bookingId = insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2030, 4, 2, 9, 0), LocalDateTime.of(2030, 4, 2, 10, 0));
+
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE bookings SET start_time = ?, end_time = ? WHERE id = ?",
+                LocalDateTime.of(2030, 4, 1, 0, 0), LocalDateTime.of(2030, 4, 1, 2, 0), bookingId))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    @DisplayName("should let only one of two concurrent overlapping bookings commit")
+    void insert_concurrentOverlaps_secondIsRejected() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+
+            insert(first, LocalDateTime.of(2030, 6, 10, 9, 0), LocalDateTime.of(2030, 6, 10, 10, 0));
+            CompletableFuture<Void> secondInsert = CompletableFuture.runAsync(() -> {
+                try {
+                    insert(second, LocalDateTime.of(2030, 6, 10, 9, 30), LocalDateTime.of(2030, 6, 10, 10, 30));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            awaitBlockedOnAdvisoryLock();
+            first.commit();
+
+            assertThatThrownBy(() -> secondInsert.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .rootCause()
+                    .isInstanceOfSatisfying(SQLException.class, e -> assertThat(e.getSQLState()).isEqualTo(EXCLUSION_VIOLATION));
+            second.rollback();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bookings WHERE meeting_room_id = ?", Long.class, meetingRoomId))
+                .isEqualTo(1L);
+    }
+
+    private void insert(Connection connection, LocalDateTime startTime, LocalDateTime endTime) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO bookings (id, start_time, end_time, purpose, user_id, meeting_room_id)
+                VALUES (nextval('bookings_id_seq'), ?, ?, 'Planning', ?, ?)
+                """)) {
+            statement.setTimestamp(1, Timestamp.valueOf(startTime));
+            statement.setTimestamp(2, Timestamp.valueOf(endTime));
+            statement.setLong(3, userId);
+            statement.setLong(4, meetingRoomId);
+            statement.executeUpdate();
+        }
+    }
+
+    private void awaitBlockedOnAdvisoryLock() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Long.class) == 0) {
+            assertThat(System.nanoTime()).as("second insert waiting for the room lock").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
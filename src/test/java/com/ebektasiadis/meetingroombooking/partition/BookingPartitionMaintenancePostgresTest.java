@@ -0,0 +1,92 @@
+package com.ebektasiadis.meetingroombooking.partition;
+
+import com.ebektasiadis.meetingroombooking.config.BookingPartitionProperties;
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("postgres")
+@DisplayName("BookingPartitionMaintenance on PostgreSQL")
+public class BookingPartitionMaintenancePostgresTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2031-06-15T10:00:00Z"), ZoneOffset.UTC);
+
+    JdbcTemplate jdbcTemplate;
+    BookingPartitionMaintenance bookingPartitionMaintenance;
+    long userId;
+    long meetingRoomId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(EmbeddedPostgresDatabase.create("latest"));
+        BookingPartitionProperties properties = new BookingPartitionProperties(true, 1, Period.ofMonths(3), Duration.ofHours(6));
+        bookingPartitionMaintenance = new BookingPartitionMaintenance(jdbcTemplate, properties, CLOCK);
+
+        userId = insertUser(jdbcTemplate);
+        meetingRoomId = insertMeetingRoom(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("should move the bookings of a new month out of the default partition")
+    void maintain_defaultPartitionHoldsRows_movesThemIntoNewPartition() {
+        long julyBookingId = insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2031, 7, 10, 9, 0), LocalDateTime.of(2031, 7, 10, 10, 0));
+        long augustBookingId = insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2031, 8, 10, 9, 0), LocalDateTime.of(2031, 8, 10, 10, 0));
+        assertThat(partitionOf(julyBookingId)).isEqualTo("bookings_default");
+
+        bookingPartitionMaintenance.maintain();
+
+        assertThat(partitionOf(julyBookingId)).isEqualTo("bookings_p2031_07");
+        assertThat(partitionOf(augustBookingId)).isEqualTo("bookings_default");
+        assertThat(isAttached("bookings_p2031_06")).isTrue();
+        assertThatThrownBy(() -> insertBooking(jdbcTemplate, userId, meetingRoomId,
+                LocalDateTime.of(2031, 7, 10, 9, 30), LocalDateTime.of(2031, 7, 10, 10, 30)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    @DisplayName("should only detach the oldest months whose bookings all ended before the retention period")
+    void maintain_retention_detachesOnlyEndedMonthsBeforeCutoff() {
+        for (int month = 1; month <= 3; month++) {
+            jdbcTemplate.queryForObject(BookingPartitionMaintenance.CREATE_PARTITION, String.class, LocalDate.of(2031, month, 1));
+        }
+        long januaryBookingId = insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2031, 1, 10, 9, 0), LocalDateTime.of(2031, 1, 10, 10, 0));
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2031, 2, 27, 9, 0), LocalDateTime.of(2031, 3, 2, 9, 0));
+        insertBooking(jdbcTemplate, userId, meetingRoomId, LocalDateTime.of(2031, 3, 10, 9, 0), LocalDateTime.of(2031, 3, 10, 10, 0));
+
+        bookingPartitionMaintenance.maintain();
+
+        assertThat(isAttached("bookings_p2031_01")).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bookings_p2031_01 WHERE id = ?", Long.class, januaryBookingId))
+                .isEqualTo(1L);
+        assertThat(isAttached("bookings_p2031_02")).isTrue();
+        assertThat(isAttached("bookings_p2031_03")).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bookings", Long.class)).isEqualTo(2L);
+    }
+
+    private String partitionOf(long bookingId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM bookings WHERE id = ?", String.class, bookingId);
+    }
+
+    private boolean isAttached(String partitionName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhparent = 'bookings'::regclass AND inhrelid = to_regclass(?))",
+                Boolean.class, partitionName);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ebektasiadis.meetingroombooking.partition;
+
+import com.ebektasiadis.meetingroombooking.config.BookingPartitionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingPartitionMaintenance")
+public class BookingPartitionMaintenanceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-03-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    JdbcOperations jdbcOperations;
+
+    BookingPartitionMaintenance bookingPartitionMaintenance;
+
+    @BeforeEach
+    void setUp() {
+        BookingPartitionProperties properties = new BookingPartitionProperties(true, 2, Period.ofMonths(12), Duration.ofHours(6));
+        bookingPartitionMaintenance = new BookingPartitionMaintenance(jdbcOperations, properties, CLOCK);
+    }
+
+    @Test
+    @DisplayName("should create the partitions of the current month and the months ahead")
+    void maintain_createsCurrentAndUpcomingPartitions() {
+        bookingPartitionMaintenance.maintain();
+
+        verify(jdbcOperations).queryForObject(BookingPartitionMaintenance.CREATE_PARTITION, String.class, LocalDate.of(2025, 3, 1));
+        verify(jdbcOperations).queryForObject(BookingPartitionMaintenance.CREATE_PARTITION, String.class, LocalDate.of(2025, 4, 1));
+        verify(jdbcOperations).queryForObject(BookingPartitionMaintenance.CREATE_PARTITION, String.class, LocalDate.of(2025, 5, 1));
+        verify(jdbcOperations, times(3)).queryForObject(eq(BookingPartitionMaintenance.CREATE_PARTITION), eq(String.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("should detach the partitions that ended before the retention period")
+    void maintain_detachesPartitionsBeforeRetention() {
+        when(jdbcOperations.queryForList(BookingPartitionMaintenance.DETACH_PARTITIONS, String.class, LocalDateTime.of(2024, 3, 1, 0, 0)))
+                .thenReturn(List.of("bookings_p2024_01", "bookings_p2024_02"));
+
+        bookingPartitionMaintenance.maintain();
+
+        verify(jdbcOperations).queryForList(BookingPartitionMaintenance.DETACH_PARTITIONS, String.class, LocalDateTime.of(2024, 3, 1, 0, 0));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ebektasiadis.meetingroombooking.partition;
+
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("postgres")
+@DisplayName("Booking partitioning migration on PostgreSQL")
+public class BookingPartitionMigrationPostgresTest {
+
+    private static final String SELECT_BOOKINGS = """
+            SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version
+            FROM bookings
+            ORDER BY id
+            """;
+
+    DataSource dataSource;
+    JdbcTemplate jdbcTemplate;
+    long userId;
+    long firstMeetingRoomId;
+    long secondMeetingRoomId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = EmbeddedPostgresDatabase.create("5");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        userId = insertUser(jdbcTemplate);
+        firstMeetingRoomId = insertMeetingRoom(jdbcTemplate);
+        secondMeetingRoomId = insertMeetingRoom(jdbcTemplate);
+        insertBooking(jdbcTemplate, userId, firstMeetingRoomId, LocalDateTime.of(2025, 1, 30, 9, 0), LocalDateTime.of(2025, 2, 2, 9, 0));
+        insertBooking(jdbcTemplate, userId, firstMeetingRoomId, LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0));
+        insertBooking(jdbcTemplate, userId, secondMeetingRoomId, LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 13, 30));
+    }
+
+    @Test
+    @DisplayName("should copy every existing booking into its monthly partition")
+    void migrate_populatedSchema_copiesBookingsIntoPartitions() {
+        List<Map<String, Object>> bookingsBefore = jdbcTemplate.queryForList(SELECT_BOOKINGS);
+
+        EmbeddedPostgresDatabase.migrate(dataSource, "latest");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT relkind FROM pg_class WHERE oid = 'bookings'::regclass", String.class))
+                .isEqualTo("p");
+        assertThat(jdbcTemplate.queryForList(SELECT_BOOKINGS)).isEqualTo(bookingsBefore);
+        assertThat(jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM bookings ORDER BY id", String.class))
+                .containsExactly("bookings_p2025_01", "bookings_p2025_03", "bookings_p2025_03");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('bookings_p2025_02') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('bookings_id_seq') > max(id) FROM bookings", Boolean.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should seed the longest booking of every meeting room")
+    void migrate_populatedSchema_seedsMaxDurations() {
+        EmbeddedPostgresDatabase.migrate(dataSource, "latest");
+
+        assertThat(jdbcTemplate.queryForMap("SELECT max_duration_seconds FROM booking_max_durations WHERE meeting_room_id = ?", firstMeetingRoomId))
+                .containsEntry("max_duration_seconds", 3L * 24 * 60 * 60);
+        assertThat(jdbcTemplate.queryForMap("SELECT max_duration_seconds FROM booking_max_durations WHERE meeting_room_id = ?", secondMeetingRoomId))
+                .containsEntry("max_duration_seconds", 4L * 60 * 60 + 30 * 60);
+    }
+
+    @Test
+    @DisplayName("should keep rejecting overlaps with the copied bookings across months")
+    void migrate_populatedSchema_rejectsOverlapsWithCopiedBookings() {
+        EmbeddedPostgresDatabase.migrate(dataSource, "latest");
+
+        assertThatThrownBy(() -> insertBooking(jdbcTemplate, userId, firstMeetingRoomId,
+                LocalDateTime.of(2025, 2, 1, 10, 0), LocalDateTime.of(2025, 2, 1, 11, 0)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_no_overlap");
+        assertThat(insertBooking(jdbcTemplate, userId, secondMeetingRoomId,
+                LocalDateTime.of(2025, 2, 1, 10, 0), LocalDateTime.of(2025, 2, 1, 11, 0))).isPositive();
+    }
+}
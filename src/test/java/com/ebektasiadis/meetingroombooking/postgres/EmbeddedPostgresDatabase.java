@@ -0,0 +1,100 @@
+package com.ebektasiadis.meetingroombooking.postgres;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared embedded PostgreSQL server for the tests tagged {@code postgres}, which need the real Flyway schema rather
+ * than the H2 one Hibernate generates: partitioning, triggers and SQL functions only exist there. Every call to
+ * {@link #create(String)} gets a fresh database, so test classes never see each other's rows.
+ * Run with {@code mvn test -Ppostgres}. PostgreSQL refuses to start as root, so neither does this server.
+ */
+public final class EmbeddedPostgresDatabase {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    /**
+     * Creates a new database migrated up to the given Flyway version, or every migration for {@code "latest"}.
+     */
+    public static DataSource create(String targetVersion) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDataSource(server().getDatabase("postgres", createDatabase()));
+        dataSource.setMaximumPoolSize(4);
+        dataSource.setMinimumIdle(0);
+        migrate(dataSource, targetVersion);
+        return dataSource;
+    }
+
+    /**
+     * Creates a new database with every migration applied and returns its JDBC URL, for tests that start Spring.
+     */
+    public static String createUrl() {
+        String name = createDatabase();
+        migrate(server().getDatabase("postgres", name), "latest");
+        return server().getJdbcUrl("postgres", name);
+    }
+
+    public static void migrate(DataSource dataSource, String targetVersion) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(targetVersion)
+                .load()
+                .migrate();
+    }
+
+    public static long insertUser(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (id, username, email)
+                SELECT id, 'user' || id, 'user' || id || '@example.com' FROM (SELECT nextval('users_id_seq') AS id) n
+                RETURNING id
+                """, Long.class);
+    }
+
+    public static long insertMeetingRoom(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO meeting_rooms (id, name, location, capacity, has_projector, has_whiteboard)
+                SELECT id, 'Room ' || id, 'Floor 1', 8, true, true FROM (SELECT nextval('meeting_rooms_id_seq') AS id) n
+                RETURNING id
+                """, Long.class);
+    }
+
+    public static long insertBooking(JdbcTemplate jdbcTemplate, long userId, long meetingRoomId,
+                                     LocalDateTime startTime, LocalDateTime endTime) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO bookings (id, start_time, end_time, purpose, user_id, meeting_room_id)
+                VALUES (nextval('bookings_id_seq'), ?, ?, 'Planning', ?, ?)
+                RETURNING id
+                """, Long.class, startTime, endTime, userId, meetingRoomId);
+    }
+
+    private static String createDatabase() {
+        String name = "bookings_test_" + DATABASES.incrementAndGet();
+        new JdbcTemplate(server().getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return name;
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the embedded PostgreSQL server", e);
+            }
+        }
+        return postgres;
+    }
+}
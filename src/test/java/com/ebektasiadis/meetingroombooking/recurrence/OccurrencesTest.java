@@ -0,0 +1,115 @@
+package com.ebektasiadis.meetingroombooking.recurrence;
+
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingSeriesTestBuilder.aBookingSeries;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Occurrences")
+public class OccurrencesTest {
+
+    private static final Long MEETING_ROOM_ID = 1L;
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    @Nested
+    @DisplayName("of()")
+    class OfTests {
+
+        @Test
+        @DisplayName("should expand several series into one list ordered by start time")
+        void of_severalSeries_returnsOccurrencesOrderedByStartTime() {
+            BookingSeries mornings = aBookingSeries()
+                    .withStartTime(MONDAY.withHour(9))
+                    .withEndTime(MONDAY.withHour(10))
+                    .withFrequency(RecurrenceFrequency.DAILY)
+                    .withCount(3)
+                    .withMeetingRoom(aMeetingRoom().withId(MEETING_ROOM_ID).build())
+                    .build();
+            BookingSeries afternoons = aBookingSeries()
+                    .withStartTime(MONDAY.withHour(14))
+                    .withEndTime(MONDAY.withHour(15))
+                    .withFrequency(RecurrenceFrequency.DAILY)
+                    .withCount(3)
+                    .withMeetingRoom(aMeetingRoom().withId(MEETING_ROOM_ID).build())
+                    .build();
+
+            List<BookedInterval> occurrences = Occurrences.of(List.of(afternoons, mornings), MONDAY, MONDAY.plusDays(2));
+
+            assertThat(occurrences).extracting(BookedInterval::startTime).containsExactly(
+                    MONDAY.withHour(9),
+                    MONDAY.withHour(14),
+                    MONDAY.plusDays(1).withHour(9),
+                    MONDAY.plusDays(1).withHour(14)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("firstConflict()")
+    class FirstConflictTests {
+
+        @Test
+        @DisplayName("should not report a conflict for interleaved intervals")
+        void firstConflict_interleaved_returnsEmpty() {
+            List<BookedInterval> candidates = List.of(interval(9, 10), interval(11, 12), interval(13, 14));
+            List<BookedInterval> existing = List.of(interval(10, 11), interval(12, 13), interval(14, 15));
+
+            assertThat(Occurrences.firstConflict(candidates, existing)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should report a candidate starting inside an existing interval")
+        void firstConflict_candidateStartsInsideExisting_returnsCandidate() {
+            List<BookedInterval> candidates = List.of(interval(9, 10), interval(12, 14));
+            List<BookedInterval> existing = List.of(interval(11, 13));
+
+            assertThat(Occurrences.firstConflict(candidates, existing)).contains(interval(12, 14));
+        }
+
+        @Test
+        @DisplayName("should report a candidate containing an existing interval")
+        void firstConflict_candidateContainsExisting_returnsCandidate() {
+            List<BookedInterval> candidates = List.of(interval(9, 13), interval(15, 16));
+            List<BookedInterval> existing = List.of(interval(10, 11));
+
+            assertThat(Occurrences.firstConflict(candidates, existing)).contains(interval(9, 13));
+        }
+
+        @Test
+        @DisplayName("should report a candidate overlapping an existing interval after the last candidate start")
+        void firstConflict_lastCandidateOverlapsLaterExisting_returnsCandidate() {
+            List<BookedInterval> candidates = List.of(interval(9, 10), interval(11, 13));
+            List<BookedInterval> existing = List.of(interval(12, 14));
+
+            assertThat(Occurrences.firstConflict(candidates, existing)).contains(interval(11, 13));
+        }
+
+        @Test
+        @DisplayName("should report intervals with the same start")
+        void firstConflict_sameStart_returnsCandidate() {
+            List<BookedInterval> candidates = List.of(interval(9, 10));
+            List<BookedInterval> existing = List.of(interval(9, 10));
+
+            assertThat(Occurrences.firstConflict(candidates, existing)).contains(interval(9, 10));
+        }
+
+        @Test
+        @DisplayName("should not report a conflict if there are no existing intervals")
+        void firstConflict_noExisting_returnsEmpty() {
+            assertThat(Occurrences.firstConflict(List.of(interval(9, 10)), List.of())).isEmpty();
+        }
+    }
+
+    private static BookedInterval interval(int startHour, int endHour) {
+        return new BookedInterval(MEETING_ROOM_ID, MONDAY.withHour(startHour), MONDAY.withHour(endHour));
+    }
+}
@@ -0,0 +1,133 @@
+package com.ebektasiadis.meetingroombooking.recurrence;
+
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.insertMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.insertUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The database checks series overlaps with its own expansion in {@code booking_series_occurrences}, so it has to
+ * agree with {@link RecurrenceRule#startsOverlapping} on every window, or the two would disagree about conflicts.
+ */
+@Tag("postgres")
+@DisplayName("booking_series_occurrences on PostgreSQL")
+public class RecurrenceRulePostgresTest {
+
+    private static final List<Duration> WINDOW_LENGTHS = List.of(
+            Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(9), Duration.ofDays(40), Duration.ofDays(100));
+
+    static JdbcTemplate jdbcTemplate;
+    static long userId;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        jdbcTemplate = new JdbcTemplate(EmbeddedPostgresDatabase.create("latest"));
+        userId = insertUser(jdbcTemplate);
+    }
+
+    @Nested
+    @DisplayName("DAILY")
+    class DailyTests {
+
+        @Test
+        @DisplayName("should match RecurrenceRule for a series of the maximum number of occurrences")
+        void occurrences_dailyMaxCount_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, 1000),
+                    LocalDateTime.of(2030, 1, 1, 9, 0), Duration.ofHours(2), Duration.ofDays(7));
+        }
+
+        @Test
+        @DisplayName("should match RecurrenceRule for occurrences lasting longer than the interval's gap")
+        void occurrences_dailyMultiDayUntil_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.DAILY, 3, LocalDate.of(2030, 6, 30), null),
+                    LocalDateTime.of(2030, 1, 1, 22, 0), Duration.ofHours(50), Duration.ofHours(13));
+        }
+    }
+
+    @Nested
+    @DisplayName("WEEKLY")
+    class WeeklyTests {
+
+        @Test
+        @DisplayName("should match RecurrenceRule every other week")
+        void occurrences_weeklyUntil_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2031, 3, 1), null),
+                    LocalDateTime.of(2030, 1, 7, 23, 0), Duration.ofHours(26), Duration.ofDays(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("MONTHLY")
+    class MonthlyTests {
+
+        @Test
+        @DisplayName("should match RecurrenceRule for a series starting on the 31st")
+        void occurrences_monthlyOnThe31st_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, null, 36),
+                    LocalDateTime.of(2030, 1, 31, 9, 0), Duration.ofHours(1), Duration.ofDays(1));
+        }
+
+        @Test
+        @DisplayName("should match RecurrenceRule for a series starting on the 30th across February")
+        void occurrences_monthlyOnThe30th_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2032, 12, 31), null),
+                    LocalDateTime.of(2030, 1, 30, 23, 30), Duration.ofHours(3), Duration.ofDays(2));
+        }
+
+        @Test
+        @DisplayName("should match RecurrenceRule for a multi-month interval starting on the 31st")
+        void occurrences_monthlyIntervalOnThe31st_matchRecurrenceRule() {
+            assertSameOccurrences(new RecurrenceRule(RecurrenceFrequency.MONTHLY, 5, LocalDate.of(2035, 1, 1), null),
+                    LocalDateTime.of(2030, 8, 31, 9, 0), Duration.ofDays(2), Duration.ofDays(3));
+        }
+    }
+
+    private void assertSameOccurrences(RecurrenceRule rule, LocalDateTime firstStart, Duration duration, Duration step) {
+        long seriesId = insertSeries(rule, firstStart, duration);
+        List<LocalDateTime> starts = rule.starts(firstStart);
+        LocalDateTime lastEnd = starts.getLast().plus(duration);
+
+        for (LocalDateTime from = firstStart.minusDays(40); from.isBefore(lastEnd.plusDays(40)); from = from.plus(step)) {
+            for (Duration windowLength : WINDOW_LENGTHS) {
+                LocalDateTime to = from.plus(windowLength);
+                List<LocalDateTime> occurrenceStarts = jdbcTemplate.queryForList("""
+                        SELECT o.occurrence_start
+                        FROM booking_series s
+                                 CROSS JOIN LATERAL booking_series_occurrences(s, ?, ?) o
+                        WHERE s.id = ?
+                        ORDER BY o.occurrence_start
+                        """, LocalDateTime.class, from, to, seriesId);
+
+                assertThat(occurrenceStarts)
+                        .as("occurrences between %s and %s", from, to)
+                        .isEqualTo(rule.startsOverlapping(firstStart, duration, from, to));
+            }
+        }
+    }
+
+    private long insertSeries(RecurrenceRule rule, LocalDateTime firstStart, Duration duration) {
+        LocalDateTime lastEnd = rule.starts(firstStart).getLast().plus(duration);
+
+        return jdbcTemplate.queryForObject("""
+                        INSERT INTO booking_series (id, start_time, end_time, frequency, recurrence_interval, until_date,
+                                                    occurrence_count, last_end_time, purpose, user_id, meeting_room_id)
+                        VALUES (nextval('booking_series_id_seq'), ?, ?, ?, ?, ?, ?, ?, 'Stand-up', ?, ?)
+                        RETURNING id
+                        """, Long.class,
+                firstStart, firstStart.plus(duration), rule.frequency().name(), rule.interval(), rule.until(),
+                rule.count(), lastEnd, userId, insertMeetingRoom(jdbcTemplate));
+    }
+}
@@ -0,0 +1,130 @@
+package com.ebektasiadis.meetingroombooking.recurrence;
+
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecurrenceRule")
+public class RecurrenceRuleTest {
+
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2025, 1, 6, 9, 0);
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+
+    @Nested
+    @DisplayName("occurrenceCount()")
+    class OccurrenceCountTests {
+
+        @Test
+        @DisplayName("should return the count if the rule ends after a number of occurrences")
+        void occurrenceCount_withCount_returnsCount() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, 10);
+
+            assertThat(rule.occurrenceCount(FIRST_START)).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("should include an occurrence starting on the until date")
+        void occurrenceCount_untilOnOccurrence_includesIt() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2, LocalDate.of(2025, 2, 3), null);
+
+            assertThat(rule.starts(FIRST_START)).containsExactly(
+                    FIRST_START,
+                    LocalDateTime.of(2025, 1, 20, 9, 0),
+                    LocalDateTime.of(2025, 2, 3, 9, 0)
+            );
+        }
+
+        @Test
+        @DisplayName("should return zero if the until date is before the first occurrence")
+        void occurrenceCount_untilBeforeFirstStart_returnsZero() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 1, 5), null);
+
+            assertThat(rule.occurrenceCount(FIRST_START)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("starts()")
+    class StartsTests {
+
+        @Test
+        @DisplayName("should fall back to the last day of shorter months")
+        void starts_monthlyOnThe31st_clampsToLastDayOfMonth() {
+            LocalDateTime firstStart = LocalDateTime.of(2025, 1, 31, 9, 0);
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, null, 4);
+
+            assertThat(rule.starts(firstStart)).containsExactly(
+                    firstStart,
+                    LocalDateTime.of(2025, 2, 28, 9, 0),
+                    LocalDateTime.of(2025, 3, 31, 9, 0),
+                    LocalDateTime.of(2025, 4, 30, 9, 0)
+            );
+        }
+
+        @Test
+        @DisplayName("should count monthly occurrences up to the until date")
+        void starts_monthlyWithUntil_stopsAtUntil() {
+            LocalDateTime firstStart = LocalDateTime.of(2025, 1, 31, 9, 0);
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 3, 30), null);
+
+            assertThat(rule.starts(firstStart)).containsExactly(
+                    firstStart,
+                    LocalDateTime.of(2025, 2, 28, 9, 0)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("startsOverlapping()")
+    class StartsOverlappingTests {
+
+        @Test
+        @DisplayName("should return only the occurrences overlapping the window")
+        void startsOverlapping_windowInsideSeries_returnsOverlappingOccurrences() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, 365);
+
+            assertThat(rule.startsOverlapping(FIRST_START, ONE_HOUR, LocalDateTime.of(2025, 3, 1, 9, 30), LocalDateTime.of(2025, 3, 3, 9, 0)))
+                    .containsExactly(
+                            LocalDateTime.of(2025, 3, 1, 9, 0),
+                            LocalDateTime.of(2025, 3, 2, 9, 0)
+                    );
+        }
+
+        @Test
+        @DisplayName("should not return occurrences that only touch the window")
+        void startsOverlapping_adjacentOccurrences_areExcluded() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, 10);
+
+            assertThat(rule.startsOverlapping(FIRST_START, ONE_HOUR, LocalDateTime.of(2025, 1, 13, 10, 0), LocalDateTime.of(2025, 1, 20, 9, 0)))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("should stop at the last occurrence of the series")
+        void startsOverlapping_windowPastSeries_returnsNothing() {
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, 3);
+
+            assertThat(rule.startsOverlapping(FIRST_START, ONE_HOUR, LocalDateTime.of(2025, 1, 8, 9, 30), LocalDateTime.of(2025, 2, 1, 0, 0)))
+                    .containsExactly(LocalDateTime.of(2025, 1, 8, 9, 0));
+            assertThat(rule.startsOverlapping(FIRST_START, ONE_HOUR, LocalDateTime.of(2025, 1, 9, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0)))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return clamped monthly occurrences")
+        void startsOverlapping_monthly_returnsClampedOccurrence() {
+            LocalDateTime firstStart = LocalDateTime.of(2025, 1, 31, 9, 0);
+            RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, null, 12);
+
+            assertThat(rule.startsOverlapping(firstStart, ONE_HOUR, LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0)))
+                    .containsExactly(LocalDateTime.of(2025, 2, 28, 9, 0));
+        }
+    }
+}
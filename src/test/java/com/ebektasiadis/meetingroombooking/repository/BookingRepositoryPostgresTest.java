@@ -0,0 +1,103 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomBookingCount;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the overlap queries against the partitioned Flyway schema, where their {@code start_time} lower bound comes
+ * from the {@code booking_max_durations} rows the overlap trigger maintains.
+ */
+@Tag("postgres")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("BookingRepository overlap queries on PostgreSQL")
+public class BookingRepositoryPostgresTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 3, 20, 9, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 3, 20, 17, 0);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        String url = EmbeddedPostgresDatabase.createUrl();
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    MeetingRoom longBookingRoom;
+    MeetingRoom emptyRoom;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(aUser().withId(null).build());
+        longBookingRoom = entityManager.persist(aMeetingRoom().withId(null).withName("Long").build());
+        emptyRoom = entityManager.persist(aMeetingRoom().withId(null).withName("Empty").build());
+
+        entityManager.persist(booking(longBookingRoom, user, LocalDateTime.of(2030, 1, 5, 9, 0), LocalDateTime.of(2030, 4, 5, 9, 0)));
+        entityManager.persist(booking(longBookingRoom, user, LocalDateTime.of(2030, 4, 10, 9, 0), LocalDateTime.of(2030, 4, 10, 10, 0)));
+        entityManager.flush();
+    }
+
+    private Booking booking(MeetingRoom meetingRoom, User user, LocalDateTime startTime, LocalDateTime endTime) {
+        return aBooking()
+                .withId(null)
+                .withMeetingRoom(meetingRoom)
+                .withBookedBy(user)
+                .withStartTime(startTime)
+                .withEndTime(endTime)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should find a booking that started months before the window")
+    void existsOverlapping_longBooking_isFound() {
+        assertThat(bookingRepository.existsOverlapping(longBookingRoom.getId(), FROM, TO, null)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(longBookingRoom.getId(), LocalDateTime.of(2030, 4, 6, 9, 0), LocalDateTime.of(2030, 4, 6, 10, 0), null)).isFalse();
+        assertThat(bookingRepository.existsOverlapping(emptyRoom.getId(), FROM, TO, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should return a booking that started months before the window among the booked intervals")
+    void findBookedIntervals_longBooking_isReturned() {
+        assertThat(bookingRepository.findBookedIntervals(List.of(longBookingRoom.getId(), emptyRoom.getId()), FROM, TO))
+                .containsExactly(new BookedInterval(longBookingRoom.getId(), LocalDateTime.of(2030, 1, 5, 9, 0), LocalDateTime.of(2030, 4, 5, 9, 0)));
+    }
+
+    @Test
+    @DisplayName("should count and load a booking that started months before as still active")
+    void activeBookings_longBooking_isIncluded() {
+        assertThat(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(longBookingRoom.getId(), FROM)).hasSize(2);
+        assertThat(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(emptyRoom.getId(), FROM)).isEmpty();
+        assertThat(bookingRepository.countByMeetingRoomAndEndTimeAfter(FROM))
+                .containsExactly(new MeetingRoomBookingCount(longBookingRoom.getId(), 2L));
+    }
+}
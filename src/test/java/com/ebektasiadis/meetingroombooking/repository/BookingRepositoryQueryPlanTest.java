@@ -0,0 +1,156 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.insertMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.postgres.EmbeddedPostgresDatabase.insertUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the booking queries against the partitioned Flyway schema filled with two months of bookings for 20 rooms
+ * and 20 users, so the planner picks its indexes from real statistics. Index scans of a partition are reported under
+ * the name of the partitioned index they belong to.
+ */
+@Tag("postgres")
+@DisplayName("BookingRepository query plans on PostgreSQL")
+public class BookingRepositoryQueryPlanTest {
+
+    private static final LocalDateTime MARCH = LocalDateTime.of(2030, 3, 1, 0, 0);
+    private static final LocalDateTime APRIL = LocalDateTime.of(2030, 4, 1, 0, 0);
+    private static final int MEETING_ROOMS = 20;
+    private static final int USERS = 20;
+    private static final int BOOKINGS_PER_ROOM_AND_MONTH = 300;
+
+    static JdbcTemplate jdbcTemplate;
+    static Map<String, String> partitionedIndexes;
+    static long meetingRoomId;
+    static long userId;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        jdbcTemplate = new JdbcTemplate(EmbeddedPostgresDatabase.create("latest"));
+        for (LocalDateTime month : List.of(MARCH, APRIL)) {
+            jdbcTemplate.queryForObject("SELECT create_bookings_partition(CAST(? AS DATE))", String.class, month.toLocalDate());
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            userId = insertUser(jdbcTemplate);
+        }
+        for (int i = 0; i < MEETING_ROOMS; i++) {
+            meetingRoomId = insertMeetingRoom(jdbcTemplate);
+        }
+
+        for (LocalDateTime month : List.of(MARCH, APRIL)) {
+            jdbcTemplate.update("""
+                    INSERT INTO bookings (id, start_time, end_time, purpose, user_id, meeting_room_id)
+                    SELECT nextval('bookings_id_seq'), s.start_time, s.start_time + INTERVAL '1 hour', 'Planning',
+                           u.ids[1 + (r.id + n) % cardinality(u.ids)], r.id
+                    FROM meeting_rooms r
+                             CROSS JOIN generate_series(0, ? - 1) AS n
+                             CROSS JOIN LATERAL (SELECT CAST(? AS TIMESTAMP) + n * INTERVAL '2 hours' AS start_time) s
+                             CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM users) u
+                    ORDER BY r.id, s.start_time
+                    """, BOOKINGS_PER_ROOM_AND_MONTH, month);
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE bookings");
+
+        partitionedIndexes = jdbcTemplate.query("""
+                        SELECT i.inhrelid::regclass::text AS partition_index, i.inhparent::regclass::text AS parent_index
+                        FROM pg_inherits i
+                                 JOIN pg_class c ON c.oid = i.inhparent
+                        WHERE c.relkind = 'I'
+                        """, (rs, rowNum) -> Map.entry(rs.getString("partition_index"), rs.getString("parent_index")))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Test
+    @DisplayName("should answer the overlap check from the room and time index of the window's partition")
+    void overlapQuery_usesMeetingRoomStartTimeEndTimeIndexOfOnePartition() {
+        LocalDateTime startTime = MARCH.plusDays(10).plusHours(9);
+
+        Plan plan = explain("""
+                SELECT count(*) > 0 FROM bookings
+                WHERE meeting_room_id = ?
+                  AND start_time > ?
+                  AND start_time < ?
+                  AND end_time > ?
+                """, meetingRoomId, startTime.minusHours(1), startTime.plusHours(1), startTime);
+
+        assertThat(plan.indexes()).containsOnly("idx_bookings_meeting_room_id_start_time_end_time");
+        assertThat(plan.relations()).containsOnly("bookings_p2030_03");
+        assertThat(plan.nodeTypes()).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("should page through the bookings of a user in index order")
+    void userPageQuery_usesUserIdStartTimeIdIndex() {
+        Plan plan = explain("""
+                SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version FROM bookings
+                WHERE user_id = ?
+                  AND start_time >= ?
+                ORDER BY start_time, id
+                LIMIT 51
+                """, userId, MARCH.plusDays(10));
+
+        assertThat(plan.indexes()).containsOnly("idx_bookings_user_id_start_time_id");
+        assertThat(plan.nodeTypes()).doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    @DisplayName("should page through all bookings in index order")
+    void pageQuery_usesStartTimeIdIndex() {
+        Plan plan = explain("""
+                SELECT id, start_time, end_time, purpose, user_id, meeting_room_id, version FROM bookings
+                WHERE start_time > ?
+                ORDER BY start_time, id
+                LIMIT 51
+                """, MARCH.plusDays(10));
+
+        assertThat(plan.indexes()).containsOnly("idx_bookings_start_time_id");
+        assertThat(plan.nodeTypes()).doesNotContain("Seq Scan", "Sort");
+    }
+
+    private Plan explain(String sql, Object... args) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+
+        try {
+            Plan plan = new Plan(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            collect(new ObjectMapper().readTree(json).get(0).get("Plan"), plan);
+            return plan;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    private void collect(JsonNode node, Plan plan) {
+        plan.nodeTypes().add(node.get("Node Type").asText());
+        if (node.has("Index Name")) {
+            String index = node.get("Index Name").asText();
+            plan.indexes().add(partitionedIndexes.getOrDefault(index, index));
+        }
+        if (node.has("Relation Name")) {
+            plan.relations().add(node.get("Relation Name").asText());
+        }
+        if (node.has("Plans")) {
+            node.get("Plans").forEach(child -> collect(child, plan));
+        }
+    }
+
+    private record Plan(List<String> nodeTypes, List<String> indexes, List<String> relations) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("BookingRepository bulk writes")
+public class BookingRepositoryWriteTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    User user;
+    MeetingRoom meetingRoomFirst;
+    MeetingRoom meetingRoomSecond;
+    Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(aUser().withId(null).build());
+        meetingRoomFirst = entityManager.persist(aMeetingRoom().withId(null).withName("First").build());
+        meetingRoomSecond = entityManager.persist(aMeetingRoom().withId(null).withName("Second").build());
+        booking = entityManager.persist(aBooking()
+                .withId(null)
+                .withStartTime(START)
+                .withEndTime(START.plusHours(1))
+                .withBookedBy(user)
+                .withMeetingRoom(meetingRoomFirst)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should update the booking through references and return its new version")
+    void updateById_existingBooking_returnsNewVersion() {
+        Optional<Long> version = bookingRepository.updateById(
+                booking.getId(),
+                START.plusHours(2),
+                START.plusHours(3),
+                "Moved",
+                userRepository.getReferenceById(user.getId()),
+                meetingRoomRepository.getReferenceById(meetingRoomSecond.getId()),
+                null
+        );
+        entityManager.clear();
+
+        Booking updatedBooking = entityManager.find(Booking.class, booking.getId());
+
+        assertThat(version).contains(1L);
+        assertThat(updatedBooking.getStartTime()).isEqualTo(START.plusHours(2));
+        assertThat(updatedBooking.getPurpose()).isEqualTo("Moved");
+        assertThat(updatedBooking.getMeetingRoom().getId()).isEqualTo(meetingRoomSecond.getId());
+        assertThat(updatedBooking.getVersion()).isEqualTo(1L);
+        assertThat(bookingRepository.findVersionById(booking.getId())).contains(1L);
+    }
+
+    @Test
+    @DisplayName("should update the booking and return the next version if the expected version matches")
+    void updateById_matchingVersion_returnsNextVersion() {
+        Optional<Long> version = bookingRepository.updateById(
+                booking.getId(),
+                START.plusHours(2),
+                START.plusHours(3),
+                "Moved",
+                userRepository.getReferenceById(user.getId()),
+                meetingRoomRepository.getReferenceById(meetingRoomFirst.getId()),
+                booking.getVersion()
+        );
+
+        assertThat(version).contains(booking.getVersion() + 1);
+        assertThat(bookingRepository.findVersionById(booking.getId())).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("should not update the booking if the expected version is stale")
+    void updateById_staleVersion_returnsEmpty() {
+        Optional<Long> version = bookingRepository.updateById(
+                booking.getId(),
+                START.plusHours(2),
+                START.plusHours(3),
+                "Moved",
+                userRepository.getReferenceById(user.getId()),
+                meetingRoomRepository.getReferenceById(meetingRoomFirst.getId()),
+                booking.getVersion() + 1
+        );
+        entityManager.clear();
+
+        assertThat(version).isEmpty();
+        assertThat(entityManager.find(Booking.class, booking.getId()).getStartTime()).isEqualTo(START);
+    }
+
+    @Test
+    @DisplayName("should report nothing updated or deleted for an unknown booking")
+    void updateAndDelete_nonExistingBooking_reportNothingAffected() {
+        Long nonExistingBookingId = booking.getId() + 1_000;
+
+        Optional<Long> version = bookingRepository.updateById(
+                nonExistingBookingId,
+                START,
+                START.plusHours(1),
+                "Ghost",
+                userRepository.getReferenceById(user.getId()),
+                meetingRoomRepository.getReferenceById(meetingRoomFirst.getId()),
+                null
+        );
+
+        assertThat(version).isEmpty();
+        assertThat(bookingRepository.deleteBookingById(nonExistingBookingId)).isZero();
+    }
+
+    @Test
+    @DisplayName("should delete the booking with a single statement and report one affected row")
+    void deleteBookingById_existingBooking_deletesRow() {
+        assertThat(bookingRepository.deleteBookingById(booking.getId())).isEqualTo(1);
+        assertThat(bookingRepository.existsById(booking.getId())).isFalse();
+    }
+}
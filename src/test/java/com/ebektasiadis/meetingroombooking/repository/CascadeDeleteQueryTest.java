@@ -0,0 +1,111 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Cascading delete queries")
+public class CascadeDeleteQueryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    User userJohnDoe;
+    User userMarySmith;
+    MeetingRoom meetingRoomFirst;
+    MeetingRoom meetingRoomSecond;
+
+    @BeforeEach
+    void setUp() {
+        userJohnDoe = entityManager.persist(aUser().withId(null).withUsername("john_doe").withEmail("john@doe.com").build());
+        userMarySmith = entityManager.persist(aUser().withId(null).withUsername("mary_smith").withEmail("mary@smith.com").build());
+        meetingRoomFirst = entityManager.persist(aMeetingRoom().withId(null).withName("First").build());
+        meetingRoomSecond = entityManager.persist(aMeetingRoom().withId(null).withName("Second").build());
+
+        book(userJohnDoe, meetingRoomFirst, 0);
+        book(userJohnDoe, meetingRoomSecond, 1);
+        book(userMarySmith, meetingRoomFirst, 2);
+        book(userMarySmith, meetingRoomSecond, 3);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void book(User user, MeetingRoom meetingRoom, int hour) {
+        entityManager.persist(aBooking()
+                .withId(null)
+                .withStartTime(START.plusHours(hour))
+                .withEndTime(START.plusHours(hour + 1))
+                .withBookedBy(user)
+                .withMeetingRoom(meetingRoom)
+                .build());
+    }
+
+    private long countBookings(String attribute, Long id) {
+        return entityManager.getEntityManager()
+                .createQuery("select count(b) from Booking b where b." + attribute + ".id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+
+    @Test
+    @DisplayName("should delete a meeting room together with its bookings")
+    void deleteMeetingRoomById_roomWithBookings_deletesRoomAndItsBookings() {
+        assertThat(meetingRoomRepository.deleteMeetingRoomById(meetingRoomFirst.getId())).isEqualTo(1);
+
+        assertThat(meetingRoomRepository.findById(meetingRoomFirst.getId())).isEmpty();
+        assertThat(countBookings("meetingRoom", meetingRoomFirst.getId())).isZero();
+        assertThat(countBookings("meetingRoom", meetingRoomSecond.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should delete a user together with their bookings")
+    void deleteUserById_userWithBookings_deletesUserAndTheirBookings() {
+        assertThat(userRepository.deleteUserById(userJohnDoe.getId())).isEqualTo(1);
+
+        assertThat(userRepository.findById(userJohnDoe.getId())).isEmpty();
+        assertThat(countBookings("bookedBy", userJohnDoe.getId())).isZero();
+        assertThat(countBookings("bookedBy", userMarySmith.getId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should report no deleted rows for unknown ids")
+    void deleteById_unknownIds_returnsZero() {
+        assertThat(meetingRoomRepository.deleteMeetingRoomById(-1L)).isZero();
+        assertThat(userRepository.deleteUserById(-1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("should list the meeting rooms a user has booked")
+    void findMeetingRoomIdsByUserId_userWithBookings_returnsDistinctRooms() {
+        assertThat(bookingRepository.findMeetingRoomIdsByUserId(userJohnDoe.getId()))
+                .containsExactlyInAnyOrder(meetingRoomFirst.getId(), meetingRoomSecond.getId());
+    }
+}
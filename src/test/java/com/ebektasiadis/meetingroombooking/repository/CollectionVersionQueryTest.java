@@ -0,0 +1,65 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.CollectionVersion;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Collection version queries")
+public class CollectionVersionQueryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("should describe an empty table with zeroes")
+    void findCollectionVersion_emptyTable_returnsZeroes() {
+        assertThat(userRepository.findCollectionVersion()).isEqualTo(new CollectionVersion(0L, 0L, 0L));
+    }
+
+    @Test
+    @DisplayName("should change the meeting room collection version on insert, update and delete")
+    void findCollectionVersion_meetingRoomChanges_changesVersion() {
+        MeetingRoom first = entityManager.persistFlushFind(aMeetingRoom().withId(null).withName("First").build());
+        MeetingRoom second = entityManager.persistFlushFind(aMeetingRoom().withId(null).withName("Second").build());
+        CollectionVersion afterInsert = meetingRoomRepository.findCollectionVersion();
+
+        first.setCapacity(first.getCapacity() + 1);
+        entityManager.flush();
+        CollectionVersion afterUpdate = meetingRoomRepository.findCollectionVersion();
+
+        entityManager.remove(second);
+        entityManager.flush();
+        CollectionVersion afterDelete = meetingRoomRepository.findCollectionVersion();
+
+        assertThat(afterInsert).isEqualTo(new CollectionVersion(2L, 0L, second.getId()));
+        assertThat(afterUpdate).isEqualTo(new CollectionVersion(2L, 1L, second.getId()));
+        assertThat(afterDelete).isEqualTo(new CollectionVersion(1L, 1L, first.getId()));
+    }
+
+    @Test
+    @DisplayName("should count users in the user collection version")
+    void findCollectionVersion_users_countsRows() {
+        entityManager.persistAndFlush(aUser().withId(null).build());
+
+        assertThat(userRepository.findCollectionVersion().count()).isEqualTo(1L);
+    }
+}
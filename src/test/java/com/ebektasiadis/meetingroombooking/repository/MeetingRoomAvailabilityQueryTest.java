@@ -0,0 +1,115 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Meeting room availability queries")
+public class MeetingRoomAvailabilityQueryTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 1, 17, 0);
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    MeetingRoom smallRoom;
+    MeetingRoom largeRoom;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(aUser().withId(null).build());
+
+        smallRoom = entityManager.persist(aMeetingRoom()
+                .withId(null)
+                .withName("Small")
+                .withCapacity(4)
+                .withHasProjector(false)
+                .withHasWhiteboard(true)
+                .build());
+
+        largeRoom = entityManager.persist(aMeetingRoom()
+                .withId(null)
+                .withName("Large")
+                .withCapacity(12)
+                .withHasProjector(true)
+                .withHasWhiteboard(true)
+                .build());
+
+        entityManager.persist(booking(smallRoom, user, FROM.minusHours(2), FROM.minusHours(1)));
+        entityManager.persist(booking(smallRoom, user, FROM.minusMinutes(30), FROM.plusHours(1)));
+        entityManager.persist(booking(smallRoom, user, TO.minusHours(1), TO.plusHours(1)));
+        entityManager.persist(booking(largeRoom, user, FROM.plusHours(2), FROM.plusHours(3)));
+        entityManager.flush();
+    }
+
+    private Booking booking(MeetingRoom meetingRoom, User user, LocalDateTime startTime, LocalDateTime endTime) {
+        return aBooking()
+                .withId(null)
+                .withMeetingRoom(meetingRoom)
+                .withBookedBy(user)
+                .withStartTime(startTime)
+                .withEndTime(endTime)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should only return meeting rooms matching every requested filter")
+    void findMatching_filters_returnsMatchingRooms() {
+        assertThat(meetingRoomRepository.findMatching(null, false, false)).containsExactly(smallRoom, largeRoom);
+        assertThat(meetingRoomRepository.findMatching(5, false, true)).containsExactly(largeRoom);
+        assertThat(meetingRoomRepository.findMatching(null, true, false)).containsExactly(largeRoom);
+    }
+
+    @Test
+    @DisplayName("should return only the bookings overlapping the window, ordered by room and start time")
+    void findBookedIntervals_window_returnsOverlappingBookings() {
+        List<BookedInterval> bookedIntervals = bookingRepository.findBookedIntervals(List.of(smallRoom.getId(), largeRoom.getId()), FROM, TO);
+
+        assertThat(bookedIntervals).containsExactly(
+                new BookedInterval(smallRoom.getId(), FROM.minusMinutes(30), FROM.plusHours(1)),
+                new BookedInterval(smallRoom.getId(), TO.minusHours(1), TO.plusHours(1)),
+                new BookedInterval(largeRoom.getId(), FROM.plusHours(2), FROM.plusHours(3))
+        );
+    }
+
+    @Test
+    @DisplayName("should report an overlap only with bookings of the same room other than the excluded one")
+    void existsOverlapping_interval_reportsOverlapOfSameRoom() {
+        Booking smallRoomMorning = bookingRepository.findByMeetingRoomIdAndEndTimeAfter(smallRoom.getId(), FROM).stream()
+                .filter(booking -> booking.getStartTime().isBefore(FROM))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(bookingRepository.existsOverlapping(smallRoom.getId(), FROM, FROM.plusMinutes(30), null)).isTrue();
+        assertThat(bookingRepository.existsOverlapping(smallRoom.getId(), FROM, FROM.plusMinutes(30), smallRoomMorning.getId())).isFalse();
+        assertThat(bookingRepository.existsOverlapping(smallRoom.getId(), FROM.plusHours(1), FROM.plusHours(2), null)).isFalse();
+        assertThat(bookingRepository.existsOverlapping(largeRoom.getId(), FROM, FROM.plusMinutes(30), null)).isFalse();
+    }
+}
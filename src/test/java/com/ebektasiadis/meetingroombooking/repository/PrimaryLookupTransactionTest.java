@@ -0,0 +1,94 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The routing data source sends read-only transactions to the replica, so the by-id lookups that write paths rely
+ * on must not inherit SimpleJpaRepository's read-only transaction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ebektasiadis.meetingroombooking.repository.PrimaryLookupTransactionTest$ReadOnlyRecorder")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("By-id lookups outside a transaction")
+public class PrimaryLookupTransactionTest {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    User user;
+    MeetingRoom meetingRoom;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(aUser().withId(null).build());
+        meetingRoom = meetingRoomRepository.save(aMeetingRoom().withId(null).build());
+
+        entityManagerFactory.getCache().evictAll();
+        ReadOnlyRecorder.READ_ONLY_FLAGS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        meetingRoomRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should look up users by id in read-write transactions")
+    void userLookups_noTransaction_runReadWrite() {
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        assertThat(userRepository.findAllById(List.of(user.getId()))).hasSize(1);
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+
+        assertThat(ReadOnlyRecorder.READ_ONLY_FLAGS).hasSize(3).containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("should look up meeting rooms by id in read-write transactions")
+    void meetingRoomLookups_noTransaction_runReadWrite() {
+        assertThat(meetingRoomRepository.findById(meetingRoom.getId())).isPresent();
+        assertThat(meetingRoomRepository.findAllById(List.of(meetingRoom.getId()))).hasSize(1);
+        assertThat(meetingRoomRepository.existsById(meetingRoom.getId())).isTrue();
+
+        assertThat(ReadOnlyRecorder.READ_ONLY_FLAGS).hasSize(3).containsOnly(false);
+    }
+
+    public static class ReadOnlyRecorder implements StatementInspector {
+
+        static final List<Boolean> READ_ONLY_FLAGS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            READ_ONLY_FLAGS.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Reference entity second-level cache")
+public class ReferenceEntityCacheTest {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    Statistics statistics;
+    User user;
+    MeetingRoom meetingRoom;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(aUser().withId(null).build());
+        meetingRoom = meetingRoomRepository.save(aMeetingRoom().withId(null).build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        meetingRoomRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should answer repeated lookups by email and username from the query cache")
+    void findByEmailAndUsername_repeatedLookups_hitQueryCache() {
+        assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+        assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+        assertThat(userRepository.findByUsername(user.getUsername())).isPresent();
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should answer repeated lookups by name from the query cache")
+    void findByName_repeatedLookups_hitsQueryCache() {
+        assertThat(meetingRoomRepository.findByName(meetingRoom.getName())).isPresent();
+        assertThat(meetingRoomRepository.findByName(meetingRoom.getName())).isPresent();
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should go back to the database once the users table has changed")
+    void findByEmail_afterWrite_invalidatesQueryCache() {
+        userRepository.findByEmail(user.getEmail());
+
+        user.setUsername("renamed");
+        userRepository.save(user);
+
+        assertThat(userRepository.findByEmail(user.getEmail()))
+                .hasValueSatisfying(found -> assertThat(found.getUsername()).isEqualTo("renamed"));
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+}
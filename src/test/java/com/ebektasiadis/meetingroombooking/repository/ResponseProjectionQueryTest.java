@@ -0,0 +1,99 @@
+package com.ebektasiadis.meetingroombooking.repository;
+
+import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSearchCriteria;
+import com.ebektasiadis.meetingroombooking.mapper.BookingMapper;
+import com.ebektasiadis.meetingroombooking.mapper.MeetingRoomMapper;
+import com.ebektasiadis.meetingroombooking.mapper.UserMapper;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Response projection queries")
+public class ResponseProjectionQueryTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    User user;
+    MeetingRoom meetingRoom;
+    Booking bookingFirst;
+    Booking bookingSecond;
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+        user = entityManager.persist(aUser().withId(null).build());
+        meetingRoom = entityManager.persist(aMeetingRoom().withId(null).build());
+        bookingSecond = entityManager.persist(aBooking().withId(null).withBookedBy(user).withMeetingRoom(meetingRoom)
+                .withStartTime(startTime.plusHours(1)).withEndTime(startTime.plusHours(2)).build());
+        bookingFirst = entityManager.persist(aBooking().withId(null).withBookedBy(user).withMeetingRoom(meetingRoom)
+                .withStartTime(startTime).withEndTime(startTime.plusHours(1)).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("should project a page of bookings in start time order without loading entities")
+    void findPage_bookings_returnsResponsesWithoutLoadingEntities() {
+        List<BookingResponse> bookings = bookingRepository.findPage(new BookingSearchCriteria(null, null, null, null), null, 10);
+
+        assertThat(bookings).containsExactly(BookingMapper.toResponse(bookingFirst), BookingMapper.toResponse(bookingSecond));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should project a single booking by id without loading entities")
+    void findResponseById_existingBooking_returnsResponseWithoutLoadingEntities() {
+        assertThat(bookingRepository.findResponseById(bookingFirst.getId())).contains(BookingMapper.toResponse(bookingFirst));
+        assertThat(bookingRepository.findResponseById(-1L)).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should project all meeting rooms and users without loading entities")
+    void findAllResponses_meetingRoomsAndUsers_returnsResponsesWithoutLoadingEntities() {
+        assertThat(meetingRoomRepository.findAllResponses()).containsExactly(MeetingRoomMapper.toResponse(meetingRoom));
+        assertThat(userRepository.findAllResponses()).containsExactly(UserMapper.toResponse(user));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
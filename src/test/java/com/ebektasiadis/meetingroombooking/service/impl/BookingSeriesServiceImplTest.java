@@ -0,0 +1,373 @@
+package com.ebektasiadis.meetingroombooking.service.impl;
+
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.BookingOccurrenceResponse;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesRequest;
+import com.ebektasiadis.meetingroombooking.dto.BookingSeriesResponse;
+import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.model.BookingSeries;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.RecurrenceFrequency;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.ebektasiadis.meetingroombooking.testutil.BookingSeriesTestBuilder.aBookingSeries;
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingSeriesService")
+public class BookingSeriesServiceImplTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Mock
+    BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Mock
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    MeetingRoomLocks meetingRoomLocks;
+
+    @Mock
+    Clock clock;
+
+    @InjectMocks
+    BookingSeriesServiceImpl bookingSeriesService;
+
+    User userJohnDoe;
+    MeetingRoom meetingRoomFirst;
+    BookingSeries weeklySeries;
+    LocalDateTime monday;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        lenient().when(clock.instant()).thenReturn(NOW.toInstant());
+        lenient().when(meetingRoomLocks.withLock(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        monday = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+        userJohnDoe = aUser()
+                .withId(1L)
+                .build();
+
+        meetingRoomFirst = aMeetingRoom()
+                .withId(1L)
+                .build();
+
+        weeklySeries = aBookingSeries()
+                .withId(1L)
+                .withVersion(0L)
+                .withStartTime(monday)
+                .withEndTime(monday.plusHours(1))
+                .withFrequency(RecurrenceFrequency.WEEKLY)
+                .withCount(4)
+                .withLastEndTime(monday.plusWeeks(3).plusHours(1))
+                .withPurpose("Weekly sync")
+                .withBookedBy(userJohnDoe)
+                .withMeetingRoom(meetingRoomFirst)
+                .build();
+
+        lenient().when(userRepository.getReferenceById(userJohnDoe.getId())).thenReturn(userJohnDoe);
+        lenient().when(meetingRoomRepository.getReferenceById(meetingRoomFirst.getId())).thenReturn(meetingRoomFirst);
+    }
+
+    private BookingSeriesRequest weeklyRequest(LocalDateTime startTime, LocalDate until, Integer count) {
+        return new BookingSeriesRequest(startTime, startTime.plusHours(1), "Weekly sync", userJohnDoe.getId(), meetingRoomFirst.getId(), RecurrenceFrequency.WEEKLY, 1, until, count);
+    }
+
+    @Nested
+    @DisplayName("getOccurrences()")
+    class GetOccurrencesTests {
+
+        @Test
+        @DisplayName("should throw BookingSeriesNotFoundException if the series does not exist")
+        void getOccurrences_nonExistingSeries_throwsBookingSeriesNotFoundException() {
+            when(bookingSeriesRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> bookingSeriesService.getOccurrences(999L, monday, monday.plusWeeks(1)))
+                    .isExactlyInstanceOf(BookingSeriesNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should throw BookingInvalidDateException if the window is empty")
+        void getOccurrences_emptyWindow_throwsBookingInvalidDateException() {
+            assertThatThrownBy(() -> bookingSeriesService.getOccurrences(weeklySeries.getId(), monday, monday))
+                    .isExactlyInstanceOf(BookingInvalidDateException.class);
+
+            verifyNoInteractions(bookingSeriesRepository);
+        }
+
+        @Test
+        @DisplayName("should throw BookingInvalidDateException if the window spans more than 31 days")
+        void getOccurrences_windowTooLong_throwsBookingInvalidDateException() {
+            assertThatThrownBy(() -> bookingSeriesService.getOccurrences(weeklySeries.getId(), monday, monday.plusDays(31).plusMinutes(1)))
+                    .isExactlyInstanceOf(BookingInvalidDateException.class);
+
+            verifyNoInteractions(bookingSeriesRepository);
+        }
+
+        @Test
+        @DisplayName("should return the occurrences inside the window")
+        void getOccurrences_returnsOccurrencesInsideWindow() {
+            when(bookingSeriesRepository.findById(weeklySeries.getId())).thenReturn(Optional.of(weeklySeries));
+
+            List<BookingOccurrenceResponse> occurrences = bookingSeriesService.getOccurrences(weeklySeries.getId(), monday.plusDays(1), monday.plusWeeks(4));
+
+            assertThat(occurrences).extracting(BookingOccurrenceResponse::startTime).containsExactly(
+                    monday.plusWeeks(1),
+                    monday.plusWeeks(2),
+                    monday.plusWeeks(3)
+            );
+            assertThat(occurrences).allSatisfy(occurrence -> {
+                assertThat(occurrence.seriesId()).isEqualTo(weeklySeries.getId());
+                assertThat(occurrence.meetingRoomId()).isEqualTo(meetingRoomFirst.getId());
+                assertThat(occurrence.userId()).isEqualTo(userJohnDoe.getId());
+                assertThat(occurrence.purpose()).isEqualTo("Weekly sync");
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("getOccurrencesInWindow()")
+    class GetOccurrencesInWindowTests {
+
+        @Test
+        @DisplayName("should merge the occurrences of all series ordered by start time")
+        void getOccurrencesInWindow_severalSeries_returnsMergedOccurrences() {
+            BookingSeries dailySeries = aBookingSeries()
+                    .withId(2L)
+                    .withStartTime(monday.withHour(14))
+                    .withEndTime(monday.withHour(15))
+                    .withFrequency(RecurrenceFrequency.DAILY)
+                    .withCount(10)
+                    .withBookedBy(userJohnDoe)
+                    .withMeetingRoom(meetingRoomFirst)
+                    .build();
+
+            when(bookingSeriesRepository.findOverlappingWindow(null, monday, monday.plusDays(2))).thenReturn(List.of(weeklySeries, dailySeries));
+
+            List<BookingOccurrenceResponse> occurrences = bookingSeriesService.getOccurrencesInWindow(null, monday, monday.plusDays(2));
+
+            assertThat(occurrences).extracting(BookingOccurrenceResponse::seriesId).containsExactly(1L, 2L, 2L);
+            assertThat(occurrences).extracting(BookingOccurrenceResponse::startTime).containsExactly(
+                    monday,
+                    monday.withHour(14),
+                    monday.plusDays(1).withHour(14)
+            );
+        }
+
+        @Test
+        @DisplayName("should throw BookingInvalidDateException if the window spans more than 31 days")
+        void getOccurrencesInWindow_windowTooLong_throwsBookingInvalidDateException() {
+            assertThatThrownBy(() -> bookingSeriesService.getOccurrencesInWindow(null, monday, monday.plusMonths(2)))
+                    .isExactlyInstanceOf(BookingInvalidDateException.class);
+
+            verifyNoInteractions(bookingSeriesRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("createSeries()")
+    class CreateSeriesTests {
+
+        @Test
+        @DisplayName("should throw BookingPastStartDateException if the first occurrence starts in the past")
+        void createSeries_pastStartTime_throwsBookingPastStartDateException() {
+            BookingSeriesRequest request = weeklyRequest(LocalDateTime.now(clock).minusDays(1), null, 4);
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingPastStartDateException.class);
+
+            verify(bookingSeriesRepository, never()).saveAndFlush(any(BookingSeries.class));
+        }
+
+        @Test
+        @DisplayName("should throw BookingSeriesInvalidRecurrenceException if both until and count are given")
+        void createSeries_untilAndCount_throwsBookingSeriesInvalidRecurrenceException() {
+            BookingSeriesRequest request = weeklyRequest(monday, monday.toLocalDate().plusWeeks(3), 4);
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingSeriesInvalidRecurrenceException.class);
+        }
+
+        @Test
+        @DisplayName("should throw BookingSeriesInvalidRecurrenceException if neither until nor count is given")
+        void createSeries_noEnd_throwsBookingSeriesInvalidRecurrenceException() {
+            BookingSeriesRequest request = weeklyRequest(monday, null, null);
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingSeriesInvalidRecurrenceException.class);
+        }
+
+        @Test
+        @DisplayName("should throw BookingSeriesInvalidRecurrenceException if the series has too many occurrences")
+        void createSeries_tooManyOccurrences_throwsBookingSeriesInvalidRecurrenceException() {
+            BookingSeriesRequest request = weeklyRequest(monday, null, 1001);
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingSeriesInvalidRecurrenceException.class)
+                    .asInstanceOf(type(BookingSeriesInvalidRecurrenceException.class))
+                    .satisfies(ex -> assertThat(ex.getCount()).isEqualTo(1001));
+        }
+
+        @Test
+        @DisplayName("should throw BookingSeriesInvalidRecurrenceException if occurrences overlap each other")
+        void createSeries_selfOverlappingOccurrences_throwsBookingSeriesInvalidRecurrenceException() {
+            BookingSeriesRequest request = new BookingSeriesRequest(monday, monday.plusDays(2), "Offsite", userJohnDoe.getId(), meetingRoomFirst.getId(), RecurrenceFrequency.DAILY, 1, null, 3);
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingSeriesInvalidRecurrenceException.class);
+        }
+
+        @Test
+        @DisplayName("should throw BookingDateConflictException if an occurrence overlaps an existing booking")
+        void createSeries_conflictWithBooking_throwsBookingDateConflictException() {
+            BookingSeriesRequest request = weeklyRequest(monday, null, 4);
+            LocalDateTime lastEnd = monday.plusWeeks(3).plusHours(1);
+
+            when(bookingRepository.findBookedIntervals(List.of(meetingRoomFirst.getId()), monday, lastEnd))
+                    .thenReturn(List.of(new BookedInterval(meetingRoomFirst.getId(), monday.plusWeeks(2).plusMinutes(30), monday.plusWeeks(2).plusMinutes(90))));
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingDateConflictException.class)
+                    .asInstanceOf(type(BookingDateConflictException.class))
+                    .satisfies(ex -> assertThat(ex.getMeetingRoomId()).isEqualTo(meetingRoomFirst.getId()));
+
+            verify(bookingRepository).findBookedIntervals(anyCollection(), any(), any());
+            verify(bookingSeriesRepository, never()).saveAndFlush(any(BookingSeries.class));
+        }
+
+        @Test
+        @DisplayName("should throw BookingDateConflictException if an occurrence overlaps another series")
+        void createSeries_conflictWithSeries_throwsBookingDateConflictException() {
+            BookingSeriesRequest request = new BookingSeriesRequest(monday.minusDays(1), monday.minusDays(1).plusHours(1), "Daily sync", userJohnDoe.getId(), meetingRoomFirst.getId(), RecurrenceFrequency.DAILY, 1, monday.toLocalDate().plusDays(1), null);
+
+            when(bookingSeriesRepository.findOverlapping(List.of(meetingRoomFirst.getId()), monday.minusDays(1), monday.plusDays(1).plusHours(1)))
+                    .thenReturn(List.of(weeklySeries));
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingDateConflictException.class);
+
+            verify(bookingSeriesRepository, never()).saveAndFlush(any(BookingSeries.class));
+        }
+
+        @Test
+        @DisplayName("should throw UserNotFoundException if the user foreign key is violated")
+        void createSeries_nonExistingUser_throwsUserNotFoundException() {
+            BookingSeriesRequest request = weeklyRequest(monday, null, 4);
+
+            when(bookingSeriesRepository.saveAndFlush(any(BookingSeries.class))).thenThrow(new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"booking_series\" violates foreign key constraint \"fk_booking_series_user\"", "23503"), "fk_booking_series_user")));
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(UserNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should throw BookingDateConflictException if the database rejects an overlapping occurrence")
+        void createSeries_noOverlapViolation_throwsBookingDateConflictException() {
+            BookingSeriesRequest request = weeklyRequest(monday, null, 4);
+
+            when(bookingSeriesRepository.saveAndFlush(any(BookingSeries.class))).thenThrow(new DataIntegrityViolationException("Exclusion violation", new ConstraintViolationException("Exclusion violation", new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01"), "bookings_no_overlap")));
+
+            assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                    .isExactlyInstanceOf(BookingDateConflictException.class)
+                    .asInstanceOf(type(BookingDateConflictException.class))
+                    .satisfies(ex -> assertThat(ex.getMeetingRoomId()).isEqualTo(meetingRoomFirst.getId()));
+
+            verify(bookingIntervalIndex, never()).recordSeries(any(BookingSeries.class));
+        }
+
+        @Test
+        @DisplayName("should store the series once with the end of its last occurrence")
+        void createSeries_returnsSeries() {
+            BookingSeriesRequest request = weeklyRequest(monday, monday.toLocalDate().plusWeeks(3), null);
+
+            when(bookingSeriesRepository.saveAndFlush(any(BookingSeries.class))).thenAnswer(invocation -> {
+                BookingSeries series = invocation.getArgument(0);
+                series.setId(5L);
+                series.setVersion(0L);
+                return series;
+            });
+
+            BookingSeriesResponse response = bookingSeriesService.createSeries(request);
+
+            assertThat(response.id()).isEqualTo(5L);
+            assertThat(response.until()).isEqualTo(monday.toLocalDate().plusWeeks(3));
+            assertThat(response.count()).isNull();
+            assertThat(response.lastEndTime()).isEqualTo(monday.plusWeeks(3).plusHours(1));
+
+            verify(meetingRoomLocks).withLock(eq(meetingRoomFirst.getId()), any());
+            verify(bookingRepository).findBookedIntervals(List.of(meetingRoomFirst.getId()), monday, monday.plusWeeks(3).plusHours(1));
+            verify(bookingSeriesRepository).saveAndFlush(any(BookingSeries.class));
+            verify(bookingIntervalIndex).recordSeries(argThat(series -> series.getId().equals(5L)));
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteSeries()")
+    class DeleteSeriesTests {
+
+        @Test
+        @DisplayName("should throw BookingSeriesNotFoundException if nothing was deleted")
+        void deleteSeries_nonExistingSeries_throwsBookingSeriesNotFoundException() {
+            when(bookingSeriesRepository.deleteSeriesById(999L)).thenReturn(0);
+
+            assertThatThrownBy(() -> bookingSeriesService.deleteSeries(999L))
+                    .isExactlyInstanceOf(BookingSeriesNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should delete the series")
+        void deleteSeries_existingSeries_deletesSeries() {
+            when(bookingSeriesRepository.deleteSeriesById(weeklySeries.getId())).thenReturn(1);
+
+            bookingSeriesService.deleteSeries(weeklySeries.getId());
+
+            verify(bookingSeriesRepository).deleteSeriesById(weeklySeries.getId());
+            verify(bookingIntervalIndex).forgetSeries(weeklySeries.getId());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.ebektasiadis.meetingroombooking.service.impl;
+
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.config.BookingIndexProperties;
+import com.ebektasiadis.meetingroombooking.config.BookingLockingProperties;
+import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingDateConflictException;
+import com.ebektasiadis.meetingroombooking.exception.booking.BookingLockTimeoutException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.metrics.ApiExceptionMetrics;
+import com.ebektasiadis.meetingroombooking.model.Booking;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingService under concurrent writes")
+public class BookingServiceImplConcurrencyTest {
+
+    private static final int WRITERS = 64;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    MeetingRoomRepository meetingRoomRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    Queue<Booking> savedBookings;
+    User userJohnDoe;
+
+    @BeforeEach
+    void setUp() {
+        savedBookings = new ConcurrentLinkedQueue<>();
+        AtomicLong ids = new AtomicLong();
+
+        userJohnDoe = aUser()
+                .withId(1L)
+                .build();
+
+        lenient().when(userRepository.getReferenceById(userJohnDoe.getId())).thenReturn(userJohnDoe);
+        lenient().when(meetingRoomRepository.getReferenceById(anyLong())).thenAnswer(invocation -> aMeetingRoom()
+                .withId(invocation.getArgument(0))
+                .build());
+        lenient().when(bookingRepository.findByMeetingRoomIdAndEndTimeAfter(anyLong(), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        lenient().when(meetingRoomRepository.existsById(anyLong())).thenReturn(true);
+        lenient().when(bookingRepository.existsOverlapping(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any())).thenAnswer(invocation -> savedBookings.stream()
+                .anyMatch(booking -> booking.getMeetingRoom().getId().equals(invocation.getArgument(0))
+                        && booking.getStartTime().isBefore(invocation.getArgument(2))
+                        && booking.getEndTime().isAfter(invocation.getArgument(1))));
+        lenient().when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            Thread.sleep(1);
+            booking.setId(ids.incrementAndGet());
+            savedBookings.add(booking);
+
+            return booking;
+        });
+    }
+
+    private BookingServiceImpl bookingService(BookingLockingProperties lockingProperties) {
+        BookingIntervalIndex bookingIntervalIndex = new BookingIntervalIndex(bookingRepository, bookingSeriesRepository, meetingRoomRepository, CLOCK, new BookingIndexProperties(Duration.ofMinutes(5)));
+        MeetingRoomLocks meetingRoomLocks = new MeetingRoomLocks(lockingProperties, new SimpleMeterRegistry());
+
+        return new BookingServiceImpl(bookingRepository, userRepository, meetingRoomRepository, bookingIntervalIndex, meetingRoomLocks, new ApiExceptionMetrics(new SimpleMeterRegistry()), entityManager, TransactionOperations.withoutTransaction(), CLOCK);
+    }
+
+    private List<Throwable> runConcurrently(List<Callable<?>> writers) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(writers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        try {
+            writers.forEach(writer -> futures.add(executor.submit(() -> {
+                start.await();
+                return writer.call();
+            })));
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException ex) {
+                    failures.add(ex.getCause());
+                } catch (TimeoutException ex) {
+                    failures.add(ex);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return failures;
+    }
+
+    @Test
+    @DisplayName("should create exactly one booking when 64 writers book the same slot")
+    void createBooking_concurrentWritersSameSlot_createsSingleBooking() throws InterruptedException {
+        BookingServiceImpl bookingService = bookingService(new BookingLockingProperties(true, 16, Duration.ofSeconds(10)));
+        LocalDateTime startTime = LocalDateTime.now(CLOCK).plusHours(1);
+        BookingRequest bookingRequest = new BookingRequest(startTime, startTime.plusHours(1), "Stand-up", userJohnDoe.getId(), 1L);
+
+        List<Callable<?>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(() -> bookingService.createBooking(bookingRequest));
+        }
+
+        List<Throwable> failures = runConcurrently(writers);
+
+        assertThat(savedBookings).hasSize(1);
+        assertThat(failures)
+                .hasSize(WRITERS - 1)
+                .allMatch(failure -> failure instanceof BookingDateConflictException);
+    }
+
+    @Test
+    @DisplayName("should create every booking when 64 writers book different rooms")
+    void createBooking_concurrentWritersDifferentRooms_createsAllBookings() throws InterruptedException {
+        BookingServiceImpl bookingService = bookingService(new BookingLockingProperties(true, 16, Duration.ofSeconds(10)));
+        LocalDateTime startTime = LocalDateTime.now(CLOCK).plusHours(1);
+
+        List<Callable<?>> writers = new ArrayList<>();
+        for (long meetingRoomId = 1; meetingRoomId <= WRITERS; meetingRoomId++) {
+            BookingRequest bookingRequest = new BookingRequest(startTime, startTime.plusHours(1), "Stand-up", userJohnDoe.getId(), meetingRoomId);
+            writers.add(() -> bookingService.createBooking(bookingRequest));
+        }
+
+        List<Throwable> failures = runConcurrently(writers);
+
+        assertThat(failures).isEmpty();
+        assertThat(savedBookings).hasSize(WRITERS);
+    }
+
+    @Test
+    @DisplayName("should throw BookingLockTimeoutException if the meeting room lock is not released in time")
+    void withLock_lockHeldByAnotherWriter_throwsBookingLockTimeoutException() throws InterruptedException {
+        MeetingRoomLocks meetingRoomLocks = new MeetingRoomLocks(new BookingLockingProperties(true, 16, Duration.ofMillis(50)), new SimpleMeterRegistry());
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> meetingRoomLocks.withLock(1L, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        locked.await();
+
+        try {
+            assertThatThrownBy(() -> meetingRoomLocks.withLock(1L, () -> null))
+                    .isExactlyInstanceOf(BookingLockTimeoutException.class);
+            assertThatThrownBy(() -> meetingRoomLocks.withLocks(List.of(2L, 1L, 3L), () -> null))
+                    .isExactlyInstanceOf(BookingLockTimeoutException.class);
+            assertThat(meetingRoomLocks.withLocks(List.of(2L, 3L), () -> "acquired")).isEqualTo("acquired");
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+}
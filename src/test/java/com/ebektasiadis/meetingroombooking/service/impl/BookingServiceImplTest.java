@@ -1,16 +1,22 @@
 package com.ebektasiadis.meetingroombooking.service.impl;
 
-import com.ebektasiadis.meetingroombooking.dto.BookingRequest;
-import com.ebektasiadis.meetingroombooking.dto.BookingResponse;
+import com.ebektasiadis.meetingroombooking.concurrency.MeetingRoomLocks;
+import com.ebektasiadis.meetingroombooking.dto.*;
 import com.ebektasiadis.meetingroombooking.exception.booking.*;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.mapper.BookingMapper;
+import com.ebektasiadis.meetingroombooking.metrics.ApiExceptionMetrics;
 import com.ebektasiadis.meetingroombooking.model.Booking;
 import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
 import com.ebektasiadis.meetingroombooking.model.User;
 import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
 import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
 import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,15 +25,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.sql.SQLException;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.ebektasiadis.meetingroombooking.testutil.BookingTestBuilder.aBooking;
 import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
@@ -51,6 +66,21 @@ public class BookingServiceImplTest {
     @Mock
     MeetingRoomRepository meetingRoomRepository;
 
+    @Mock
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    MeetingRoomLocks meetingRoomLocks;
+
+    @Mock
+    ApiExceptionMetrics apiExceptionMetrics;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TransactionOperations transactionOperations;
+
     @Mock
     Clock clock;
 
@@ -74,6 +104,9 @@ public class BookingServiceImplTest {
 
         lenient().when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
         lenient().when(clock.instant()).thenReturn(NOW.toInstant());
+        lenient().when(meetingRoomLocks.withLock(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(meetingRoomLocks.withLocks(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(transactionOperations.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         userJohnDoe = aUser()
                 .withId(1L)
@@ -100,42 +133,139 @@ public class BookingServiceImplTest {
         bookingSecond = aBooking()
                 .withId(2L)
                 .build();
+
+        lenient().when(userRepository.getReferenceById(userJohnDoe.getId())).thenReturn(userJohnDoe);
+        lenient().when(userRepository.getReferenceById(nonExistingUserId)).thenReturn(aUser().withId(nonExistingUserId).build());
+        lenient().when(meetingRoomRepository.getReferenceById(meetingRoomFirst.getId())).thenReturn(meetingRoomFirst);
+        lenient().when(meetingRoomRepository.getReferenceById(nonExistingMeetingRoomId)).thenReturn(aMeetingRoom().withId(nonExistingMeetingRoomId).build());
     }
 
     @Nested
-    @DisplayName("getAllBookings method")
-    class GetAllBookings {
+    @DisplayName("getBookings method")
+    class GetBookings {
+
+        BookingSearchCriteria noCriteria = new BookingSearchCriteria(null, null, null, null);
 
         @Test
-        @DisplayName("should return all bookings")
-        void getAllBookings_existingBookings_returnsAllBookings() {
-            List<Booking> bookings = Arrays.asList(bookingFirst, bookingSecond);
+        @DisplayName("should return all bookings without a next cursor if they fit in one page")
+        void getBookings_bookingsFitInPage_returnsBookingsWithoutCursor() {
+            List<BookingResponse> bookings = Arrays.asList(BookingMapper.toResponse(bookingFirst), BookingMapper.toResponse(bookingSecond));
 
-            when(bookingRepository.findAll()).thenReturn(bookings);
+            when(bookingRepository.findPage(noCriteria, null, 11)).thenReturn(bookings);
 
-            List<BookingResponse> bookingResponses = bookingService.getAllBookings();
+            BookingPageResponse bookingPage = bookingService.getBookings(noCriteria, null, 10);
 
-            assertThat(bookingResponses).isNotNull();
-            assertThat(bookingResponses.size()).isEqualTo(bookings.size());
-            assertThat(bookingResponses)
+            assertThat(bookingPage).isNotNull();
+            assertThat(bookingPage.nextCursor()).isNull();
+            assertThat(bookingPage.bookings().size()).isEqualTo(bookings.size());
+            assertThat(bookingPage.bookings())
                     .extracting(BookingResponse::id, BookingResponse::purpose, BookingResponse::userId, BookingResponse::meetingRoomId)
                     .contains(tuple(bookingFirst.getId(), bookingFirst.getPurpose(), bookingFirst.getBookedBy().getId(), bookingFirst.getMeetingRoom().getId()))
                     .contains(tuple(bookingSecond.getId(), bookingSecond.getPurpose(), bookingSecond.getBookedBy().getId(), bookingSecond.getMeetingRoom().getId()));
 
-            verify(bookingRepository).findAll();
+            verify(bookingRepository).findPage(noCriteria, null, 11);
+        }
+
+        @Test
+        @DisplayName("should return a cursor pointing at the last booking of the page if there are more bookings")
+        void getBookings_moreBookingsThanLimit_returnsNextCursor() {
+            when(bookingRepository.findPage(noCriteria, null, 2)).thenReturn(Arrays.asList(BookingMapper.toResponse(bookingFirst), BookingMapper.toResponse(bookingSecond)));
+
+            BookingPageResponse bookingPage = bookingService.getBookings(noCriteria, null, 1);
+
+            assertThat(bookingPage.bookings())
+                    .extracting(BookingResponse::id)
+                    .containsExactly(bookingFirst.getId());
+            assertThat(BookingCursor.decode(bookingPage.nextCursor()))
+                    .isEqualTo(new BookingCursor(bookingFirst.getStartTime(), bookingFirst.getId()));
+        }
+
+        @Test
+        @DisplayName("should continue after the booking the cursor points at")
+        void getBookings_validCursor_queriesAfterCursor() {
+            BookingCursor cursor = new BookingCursor(bookingFirst.getStartTime(), bookingFirst.getId());
+            BookingSearchCriteria criteria = new BookingSearchCriteria(meetingRoomFirst.getId(), userJohnDoe.getId(), null, null);
+
+            when(bookingRepository.findPage(criteria, cursor, 11)).thenReturn(Collections.singletonList(BookingMapper.toResponse(bookingSecond)));
+
+            BookingPageResponse bookingPage = bookingService.getBookings(criteria, cursor.encode(), 10);
+
+            assertThat(bookingPage.bookings())
+                    .extracting(BookingResponse::id)
+                    .containsExactly(bookingSecond.getId());
+            assertThat(bookingPage.nextCursor()).isNull();
+
+            verify(bookingRepository).findPage(criteria, cursor, 11);
+        }
+
+        @Test
+        @DisplayName("should return empty page if no bookings exist")
+        void getBookings_nonExistingBookings_returnsEmptyPage() {
+            when(bookingRepository.findPage(noCriteria, null, 11)).thenReturn(Collections.emptyList());
+
+            BookingPageResponse bookingPage = bookingService.getBookings(noCriteria, null, 10);
+
+            assertThat(bookingPage.bookings()).isEmpty();
+            assertThat(bookingPage.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should throw BookingInvalidCursorException if the cursor is malformed")
+        void getBookings_malformedCursor_throwsBookingInvalidCursorException() {
+            assertThatThrownBy(() -> bookingService.getBookings(noCriteria, "not-a-cursor", 10))
+                    .isExactlyInstanceOf(BookingInvalidCursorException.class)
+                    .asInstanceOf(type(BookingInvalidCursorException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getCursor()).isEqualTo("not-a-cursor");
+                    });
+
+            verify(bookingRepository, never()).findPage(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should throw BookingInvalidDateException if the window does not end after it starts")
+        void getBookings_emptyWindow_throwsBookingInvalidDateException() {
+            LocalDateTime from = LocalDateTime.now(clock);
+            BookingSearchCriteria criteria = new BookingSearchCriteria(null, null, from, from);
+
+            assertThatThrownBy(() -> bookingService.getBookings(criteria, null, 10))
+                    .isExactlyInstanceOf(BookingInvalidDateException.class);
+
+            verify(bookingRepository, never()).findPage(any(), any(), anyInt());
         }
+    }
+
+    @Nested
+    @DisplayName("exportBookings method")
+    class ExportBookings {
 
         @Test
-        @DisplayName("should return empty list if no bookings exist")
-        void getAllBookings_nonExistingBookings_returnsEmptyList() {
-            when(bookingRepository.findAll()).thenReturn(Collections.emptyList());
+        @DisplayName("should pass every booking to the consumer in stream order and detach it")
+        void exportBookings_existingBookings_streamsAndDetachesEachBooking() {
+            when(bookingRepository.streamAllOrderedById()).thenReturn(Stream.of(bookingFirst, bookingSecond));
+            List<BookingResponse> exported = new ArrayList<>();
 
-            List<BookingResponse> bookingResponses = bookingService.getAllBookings();
+            bookingService.exportBookings(exported::add);
 
-            assertThat(bookingResponses).isNotNull();
-            assertThat(bookingResponses.size()).isEqualTo(0);
+            assertThat(exported)
+                    .extracting(BookingResponse::id)
+                    .containsExactly(bookingFirst.getId(), bookingSecond.getId());
 
-            verify(bookingRepository).findAll();
+            verify(entityManager).detach(bookingFirst);
+            verify(entityManager).detach(bookingSecond);
+        }
+
+        @Test
+        @DisplayName("should close the booking stream even if the consumer fails")
+        void exportBookings_failingConsumer_closesStream() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(bookingRepository.streamAllOrderedById()).thenReturn(Stream.of(bookingFirst).onClose(() -> closed.set(true)));
+
+            assertThatThrownBy(() -> bookingService.exportBookings(booking -> {
+                throw new IllegalStateException("client went away");
+            })).isExactlyInstanceOf(IllegalStateException.class);
+
+            assertThat(closed).isTrue();
         }
     }
 
@@ -146,7 +276,7 @@ public class BookingServiceImplTest {
         @Test
         @DisplayName("should throw BookingNotFoundException if booking id does not exist")
         void getBookedById_nonExistingBooking_throwsBookingNotFoundException() {
-            when(bookingRepository.findById(nonExistingBookingId)).thenReturn(Optional.empty());
+            when(bookingRepository.findResponseById(nonExistingBookingId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> bookingService.getBookingById(nonExistingBookingId))
                     .isExactlyInstanceOf(BookingNotFoundException.class)
@@ -155,13 +285,13 @@ public class BookingServiceImplTest {
                         assertThat(ex.getBookingId()).isEqualTo(nonExistingBookingId);
                     });
 
-            verify(bookingRepository).findById(nonExistingBookingId);
+            verify(bookingRepository).findResponseById(nonExistingBookingId);
         }
 
         @Test
-        @DisplayName("should return booking if booking id exists")
+        @DisplayName("should return the projected booking if booking id exists")
         void getBookedById_existingBooking_returnsBooking() {
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
+            when(bookingRepository.findResponseById(bookingFirst.getId())).thenReturn(Optional.of(BookingMapper.toResponse(bookingFirst)));
 
             BookingResponse bookingResponse = bookingService.getBookingById(bookingFirst.getId());
 
@@ -173,7 +303,38 @@ public class BookingServiceImplTest {
                     .ignoringFields("userId", "meetingRoomId")
                     .isEqualTo(bookingFirst);
 
-            verify(bookingRepository).findById(bookingFirst.getId());
+            verify(bookingRepository).findResponseById(bookingFirst.getId());
+            verify(bookingRepository, never()).findById(any(Long.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("getBookingVersion method")
+    class GetBookingVersion {
+
+        @Test
+        @DisplayName("should throw BookingNotFoundException if booking id does not exist")
+        void getBookingVersion_nonExistingBooking_throwsBookingNotFoundException() {
+            when(bookingRepository.findVersionById(nonExistingBookingId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> bookingService.getBookingVersion(nonExistingBookingId))
+                    .isExactlyInstanceOf(BookingNotFoundException.class)
+                    .asInstanceOf(type(BookingNotFoundException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getBookingId()).isEqualTo(nonExistingBookingId);
+                    });
+
+            verify(bookingRepository, never()).findById(any(Long.class));
+        }
+
+        @Test
+        @DisplayName("should return the version without loading the booking")
+        void getBookingVersion_existingBooking_returnsVersion() {
+            when(bookingRepository.findVersionById(bookingFirst.getId())).thenReturn(Optional.of(3L));
+
+            assertThat(bookingService.getBookingVersion(bookingFirst.getId())).isEqualTo(3L);
+
+            verify(bookingRepository, never()).findById(any(Long.class));
         }
     }
 
@@ -182,11 +343,11 @@ public class BookingServiceImplTest {
     class CreateBooking {
 
         @Test
-        @DisplayName("should throw UserNotFoundException if user id does not exist")
+        @DisplayName("should throw UserNotFoundException if the user foreign key is violated")
         void createBooking_nonExistingBookedBy_throwsUserNotFoundException() {
-            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock), "Onboarding", nonExistingUserId, meetingRoomFirst.getId());
+            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock).plusHours(1), "Onboarding", nonExistingUserId, meetingRoomFirst.getId());
 
-            when(userRepository.findById(nonExistingUserId)).thenReturn(Optional.empty());
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"bookings\" violates foreign key constraint \"fk_bookings_user\"", "23503"), "fk_bookings_user")));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(UserNotFoundException.class)
@@ -195,19 +356,17 @@ public class BookingServiceImplTest {
                         assertThat(ex.getUserId()).isEqualTo(nonExistingUserId);
                     });
 
-            verify(userRepository).findById(nonExistingMeetingRoomId);
-            verify(meetingRoomRepository, never()).findById(any(Long.class));
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(nonExistingUserId);
+            verify(userRepository, never()).findById(any(Long.class));
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
         }
 
         @Test
-        @DisplayName("should throw MeetingRoomNotFoundException if meeting room id does not exist")
+        @DisplayName("should throw MeetingRoomNotFoundException if the meeting room foreign key is violated")
         void createBooking_nonExistingMeetingRoom_throwsMeetingRoomNotFoundException() {
-            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock), "Onboarding", userJohnDoe.getId(), nonExistingMeetingRoomId);
+            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock).plusHours(1), "Onboarding", userJohnDoe.getId(), nonExistingMeetingRoomId);
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(nonExistingMeetingRoomId)).thenReturn(Optional.empty());
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"bookings\" violates foreign key constraint \"fk_bookings_meeting_room\"", "23503"), "fk_bookings_meeting_room")));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(MeetingRoomNotFoundException.class)
@@ -216,10 +375,9 @@ public class BookingServiceImplTest {
                         assertThat(ex.getMeetingRoomId()).isEqualTo(nonExistingMeetingRoomId);
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(nonExistingMeetingRoomId);
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(meetingRoomRepository).getReferenceById(nonExistingMeetingRoomId);
+            verify(meetingRoomRepository, never()).findById(any(Long.class));
+            verify(bookingIntervalIndex).evictRoom(nonExistingMeetingRoomId);
         }
 
         @Test
@@ -228,8 +386,6 @@ public class BookingServiceImplTest {
             LocalDateTime startTime = LocalDateTime.now(clock).minusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(startTime, LocalDateTime.now(clock), "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(BookingPastStartDateException.class)
@@ -238,10 +394,9 @@ public class BookingServiceImplTest {
                         assertThat(ex.getStartDate()).isEqualTo(startTime);
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         }
 
         @Test
@@ -250,8 +405,6 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock).minusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(BookingPastEndDateException.class)
@@ -260,10 +413,9 @@ public class BookingServiceImplTest {
                         assertThat(ex.getEndDate()).isEqualTo(endTime);
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         }
 
         @Test
@@ -273,8 +425,6 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(BookingInvalidDateException.class)
@@ -284,10 +434,9 @@ public class BookingServiceImplTest {
                         assertThat(ex.getEndTime()).isEqualTo(endTime);
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         }
 
         @Test
@@ -297,8 +446,6 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(BookingInvalidDateException.class)
@@ -308,22 +455,19 @@ public class BookingServiceImplTest {
                         assertThat(ex.getEndTime()).isEqualTo(endTime);
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         }
 
         @Test
-        @DisplayName("should throw BookingDateConflictException if there are conflict bookings")
+        @DisplayName("should throw BookingDateConflictException if the overlap constraint is violated")
         void createBooking_conflictBookingExist_throwsBookingDateConflictException() {
             LocalDateTime startTime = LocalDateTime.now(clock);
             LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), bookingFirst.getMeetingRoom().getId());
 
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
-            when(bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Collections.singletonList(bookingFirst));
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException("Exclusion violation", new ConstraintViolationException("Exclusion violation", new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01"), "bookings_no_overlap")));
 
             assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
                     .isExactlyInstanceOf(BookingDateConflictException.class)
@@ -332,10 +476,46 @@ public class BookingServiceImplTest {
                         assertThat(ex.getMeetingRoomId()).isEqualTo(bookingFirst.getMeetingRoom().getId());
                     });
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository).saveAndFlush(any(Booking.class));
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
+        }
+
+        @Test
+        @DisplayName("should rethrow data integrity violations of other constraints")
+        void createBooking_otherConstraintViolated_rethrowsException() {
+            LocalDateTime startTime = LocalDateTime.now(clock);
+            LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
+            BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
+            DataIntegrityViolationException violation = new DataIntegrityViolationException("Not null violation", new ConstraintViolationException("Not null violation", new SQLException("null value in column \"purpose\" of relation \"bookings\" violates not-null constraint", "23502"), "purpose"));
+
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(violation);
+
+            assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
+                    .isSameAs(violation);
+
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
+        }
+
+        @Test
+        @DisplayName("should throw BookingDateConflictException if the interval index reports a conflict")
+        void createBooking_conflictInIntervalIndex_throwsBookingDateConflictException() {
+            LocalDateTime startTime = LocalDateTime.now(clock);
+            LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
+            BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
+
+            when(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), startTime, endTime, null)).thenReturn(true);
+
+            assertThatThrownBy(() -> bookingService.createBooking(bookingRequest))
+                    .isExactlyInstanceOf(BookingDateConflictException.class)
+                    .asInstanceOf(type(BookingDateConflictException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getMeetingRoomId()).isEqualTo(meetingRoomFirst.getId());
+                    });
+
+            verify(bookingIntervalIndex).hasConflict(meetingRoomFirst.getId(), startTime, endTime, null);
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
         }
 
         @Test
@@ -353,10 +533,7 @@ public class BookingServiceImplTest {
                     .withMeetingRoom(meetingRoomFirst)
                     .build();
 
-            when(userRepository.findById(bookingRequest.userId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(bookingRequest.meetingRoomId())).thenReturn(Optional.of(meetingRoomFirst));
-            when(bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
-            when(bookingRepository.save(any(Booking.class))).thenReturn(createdBooking);
+            when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(createdBooking);
 
             BookingResponse bookingResponse = bookingService.createBooking(bookingRequest);
 
@@ -369,10 +546,174 @@ public class BookingServiceImplTest {
                     .comparingOnlyFields("purpose", "startTime", "endTime")
                     .isEqualTo(createdBooking);
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository).saveAndFlush(any(Booking.class));
+            verify(bookingIntervalIndex).record(createdBooking);
+            verify(meetingRoomLocks).withLock(eq(meetingRoomFirst.getId()), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("createBookings method")
+    class CreateBookings {
+
+        LocalDateTime startTime;
+
+        @BeforeEach
+        void setUp() {
+            startTime = LocalDateTime.now(clock).plusDays(1);
+
+            lenient().when(userRepository.findAllById(any())).thenReturn(List.of(userJohnDoe));
+            lenient().when(meetingRoomRepository.findAllById(any())).thenReturn(List.of(meetingRoomFirst));
+            lenient().when(bookingRepository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+                List<Booking> bookings = invocation.getArgument(0);
+                long id = 100;
+                for (Booking booking : bookings) {
+                    booking.setId(id++);
+                }
+                return bookings;
+            });
+        }
+
+        private BookingRequest request(LocalDateTime startTime, LocalDateTime endTime, Long userId) {
+            return new BookingRequest(startTime, endTime, "Recurring sync", userId, meetingRoomFirst.getId());
+        }
+
+        @Test
+        @DisplayName("should create every valid booking with a single lookup per entity type and a single batch save")
+        void createBookings_validRequests_savesAllInOneBatch() {
+            List<BookingRequest> bookingRequests = List.of(
+                    request(startTime, startTime.plusHours(1), userJohnDoe.getId()),
+                    request(startTime.plusDays(7), startTime.plusDays(7).plusHours(1), userJohnDoe.getId())
+            );
+
+            BookingBatchResponse response = bookingService.createBookings(bookingRequests);
+
+            assertThat(response.created()).isEqualTo(2);
+            assertThat(response.rejected()).isZero();
+            assertThat(response.results())
+                    .extracting(BookingBatchItemResponse::index, BookingBatchItemResponse::status)
+                    .containsExactly(tuple(0, 201), tuple(1, 201));
+
+            verify(userRepository).findAllById(Set.of(userJohnDoe.getId()));
+            verify(meetingRoomRepository).findAllById(Set.of(meetingRoomFirst.getId()));
+            verify(userRepository, never()).findById(any());
+            verify(meetingRoomRepository, never()).findById(any());
+            verify(bookingRepository).saveAllAndFlush(argThat(bookings -> ((List<Booking>) bookings).size() == 2));
+            verify(bookingIntervalIndex, times(2)).record(any(Booking.class));
+            verify(meetingRoomLocks).withLocks(eq(Set.of(meetingRoomFirst.getId())), any());
+            verify(transactionOperations).execute(any());
+        }
+
+        @Test
+        @DisplayName("should insert the batch in meeting room order and map every result back to its request")
+        void createBookings_multipleMeetingRooms_savesInMeetingRoomOrder() {
+            MeetingRoom meetingRoomSecond = aMeetingRoom()
+                    .withId(meetingRoomFirst.getId() + 1)
+                    .build();
+            when(meetingRoomRepository.findAllById(any())).thenReturn(List.of(meetingRoomFirst, meetingRoomSecond));
+
+            List<BookingRequest> bookingRequests = List.of(
+                    new BookingRequest(startTime, startTime.plusHours(1), "Second room", userJohnDoe.getId(), meetingRoomSecond.getId()),
+                    request(startTime.plusHours(2), startTime.plusHours(3), userJohnDoe.getId()),
+                    request(startTime, startTime.plusHours(1), userJohnDoe.getId())
+            );
+
+            BookingBatchResponse response = bookingService.createBookings(bookingRequests);
+
+            verify(bookingRepository).saveAllAndFlush(argThat(bookings -> ((List<Booking>) bookings).stream()
+                    .map(booking -> booking.getMeetingRoom().getId() + "@" + booking.getStartTime())
+                    .toList()
+                    .equals(List.of(
+                            meetingRoomFirst.getId() + "@" + startTime,
+                            meetingRoomFirst.getId() + "@" + startTime.plusHours(2),
+                            meetingRoomSecond.getId() + "@" + startTime))));
+            assertThat(response.results())
+                    .extracting(result -> result.booking().meetingRoomId(), result -> result.booking().startTime())
+                    .containsExactly(
+                            tuple(meetingRoomSecond.getId(), startTime),
+                            tuple(meetingRoomFirst.getId(), startTime.plusHours(2)),
+                            tuple(meetingRoomFirst.getId(), startTime));
+        }
+
+        @Test
+        @DisplayName("should reject items that overlap an earlier item of the batch, an existing booking or reference an unknown user")
+        void createBookings_invalidItems_rejectsOnlyInvalidItems() {
+            LocalDateTime existingStartTime = startTime.plusDays(1);
+            when(bookingIntervalIndex.hasConflict(eq(meetingRoomFirst.getId()), any(), any(), isNull())).thenReturn(false);
+            when(bookingIntervalIndex.hasConflict(meetingRoomFirst.getId(), existingStartTime, existingStartTime.plusHours(1), null)).thenReturn(true);
+
+            List<BookingRequest> bookingRequests = List.of(
+                    request(startTime, startTime.plusHours(2), userJohnDoe.getId()),
+                    request(startTime.plusHours(1), startTime.plusHours(3), userJohnDoe.getId()),
+                    request(existingStartTime, existingStartTime.plusHours(1), userJohnDoe.getId()),
+                    request(startTime.plusHours(2), startTime.plusHours(3), nonExistingUserId),
+                    request(startTime.plusHours(2), startTime.plusHours(3), userJohnDoe.getId())
+            );
+
+            BookingBatchResponse response = bookingService.createBookings(bookingRequests);
+
+            assertThat(response.created()).isEqualTo(2);
+            assertThat(response.rejected()).isEqualTo(3);
+            assertThat(response.results())
+                    .extracting(BookingBatchItemResponse::index, BookingBatchItemResponse::status)
+                    .containsExactly(tuple(0, 201), tuple(1, 409), tuple(2, 409), tuple(3, 404), tuple(4, 201));
+            assertThat(response.results().get(3).error().getType().toString()).isEqualTo("/problems/user-not-found");
+
+            verify(bookingRepository).saveAllAndFlush(argThat(bookings -> ((List<Booking>) bookings).size() == 2));
+            verify(apiExceptionMetrics, times(2)).record(any(BookingDateConflictException.class));
+            verify(apiExceptionMetrics).record(any(UserNotFoundException.class));
+        }
+
+        @Test
+        @DisplayName("should fall back to saving items one by one if the batch violates the no-overlap constraint")
+        void createBookings_batchViolatesNoOverlapConstraint_savesItemsIndividually() {
+            doThrow(new DataIntegrityViolationException("Exclusion violation", new ConstraintViolationException("Exclusion violation", new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01"), "bookings_no_overlap")))
+                    .when(bookingRepository).saveAllAndFlush(any());
+            when(bookingRepository.saveAndFlush(any(Booking.class)))
+                    .thenThrow(new DataIntegrityViolationException("Exclusion violation", new ConstraintViolationException("Exclusion violation", new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01"), "bookings_no_overlap")))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            List<BookingRequest> bookingRequests = List.of(
+                    request(startTime, startTime.plusHours(1), userJohnDoe.getId()),
+                    request(startTime.plusHours(1), startTime.plusHours(2), userJohnDoe.getId())
+            );
+
+            BookingBatchResponse response = bookingService.createBookings(bookingRequests);
+
+            assertThat(response.results())
+                    .extracting(BookingBatchItemResponse::index, BookingBatchItemResponse::status)
+                    .containsExactly(tuple(0, 409), tuple(1, 201));
+
+            verify(bookingRepository, times(2)).saveAndFlush(any(Booking.class));
+            verify(bookingIntervalIndex, times(1)).record(any(Booking.class));
+            verify(apiExceptionMetrics).record(any(BookingDateConflictException.class));
+        }
+
+        @Test
+        @DisplayName("should fall back to saving items one by one if the batch violates a foreign key")
+        void createBookings_batchViolatesForeignKey_savesItemsIndividually() {
+            DataIntegrityViolationException userForeignKeyViolation = new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"bookings\" violates foreign key constraint \"fk_bookings_user\"", "23503"), "fk_bookings_user"));
+            doThrow(userForeignKeyViolation).when(bookingRepository).saveAllAndFlush(any());
+            when(bookingRepository.saveAndFlush(any(Booking.class)))
+                    .thenAnswer(invocation -> invocation.getArgument(0))
+                    .thenThrow(userForeignKeyViolation);
+
+            List<BookingRequest> bookingRequests = List.of(
+                    request(startTime, startTime.plusHours(1), userJohnDoe.getId()),
+                    request(startTime.plusHours(1), startTime.plusHours(2), userJohnDoe.getId())
+            );
+
+            BookingBatchResponse response = bookingService.createBookings(bookingRequests);
+
+            assertThat(response.results())
+                    .extracting(BookingBatchItemResponse::index, BookingBatchItemResponse::status)
+                    .containsExactly(tuple(0, 201), tuple(1, 404));
+
+            verify(bookingRepository, times(2)).saveAndFlush(any(Booking.class));
+            verify(bookingIntervalIndex, times(1)).record(any(Booking.class));
+            verify(apiExceptionMetrics).record(any(UserNotFoundException.class));
         }
     }
 
@@ -381,63 +722,57 @@ public class BookingServiceImplTest {
     class UpdateBooking {
 
         @Test
-        @DisplayName("should throw BookingNotFoundException if id does not exist")
+        @DisplayName("should throw BookingNotFoundException if no booking row was updated")
         void updateBooking_nonExistingBooking_throwsBookingNotFoundException() {
-            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock), "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
+            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock).plusHours(1), "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(nonExistingBookingId)).thenReturn(Optional.empty());
+            when(bookingRepository.updateById(eq(nonExistingBookingId), any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> bookingService.updateBooking(nonExistingBookingId, bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(nonExistingBookingId, bookingRequest, null))
                     .isExactlyInstanceOf(BookingNotFoundException.class)
                     .asInstanceOf(type(BookingNotFoundException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getBookingId()).isEqualTo(nonExistingBookingId);
                     });
+
+            verify(bookingRepository, never()).findById(any(Long.class));
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
         }
 
         @Test
-        @DisplayName("should throw UserNotFoundException if user id does not exist")
+        @DisplayName("should throw UserNotFoundException if the user foreign key is violated")
         void updateBooking_nonExistingBookedBy_throwsUserNotFoundException() {
-            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock), "Onboarding", nonExistingUserId, meetingRoomFirst.getId());
+            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock).plusHours(1), "Onboarding", nonExistingUserId, meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(nonExistingUserId)).thenReturn(Optional.empty());
+            when(bookingRepository.updateById(eq(bookingFirst.getId()), any(), any(), any(), any(), any(), any())).thenThrow(new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"bookings\" violates foreign key constraint \"fk_bookings_user\"", "23503"), "fk_bookings_user")));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(UserNotFoundException.class)
                     .asInstanceOf(type(UserNotFoundException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getUserId()).isEqualTo(nonExistingUserId);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(nonExistingMeetingRoomId);
-            verify(meetingRoomRepository, never()).findById(any(Long.class));
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(nonExistingUserId);
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
         }
 
         @Test
-        @DisplayName("should throw MeetingRoomNotFoundException if meeting room id does not exist")
+        @DisplayName("should throw MeetingRoomNotFoundException if the meeting room foreign key is violated")
         void updateBooking_nonExistingMeetingRoom_throwsMeetingRoomNotFoundException() {
-            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock), "Onboarding", userJohnDoe.getId(), nonExistingMeetingRoomId);
+            BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), LocalDateTime.now(clock).plusHours(1), "Onboarding", userJohnDoe.getId(), nonExistingMeetingRoomId);
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(nonExistingMeetingRoomId)).thenReturn(Optional.empty());
+            when(bookingRepository.updateById(eq(bookingFirst.getId()), any(), any(), any(), any(), any(), any())).thenThrow(new DataIntegrityViolationException("Foreign key violation", new ConstraintViolationException("Foreign key violation", new SQLException("insert or update on table \"bookings\" violates foreign key constraint \"fk_bookings_meeting_room\"", "23503"), "fk_bookings_meeting_room")));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(MeetingRoomNotFoundException.class)
                     .asInstanceOf(type(MeetingRoomNotFoundException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getMeetingRoomId()).isEqualTo(nonExistingMeetingRoomId);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(nonExistingMeetingRoomId);
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(meetingRoomRepository).getReferenceById(nonExistingMeetingRoomId);
+            verify(bookingIntervalIndex).evictRoom(nonExistingMeetingRoomId);
         }
 
         @Test
@@ -446,22 +781,17 @@ public class BookingServiceImplTest {
             LocalDateTime startTime = LocalDateTime.now(clock).minusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(startTime, LocalDateTime.now(clock), "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(BookingPastStartDateException.class)
                     .asInstanceOf(type(BookingPastStartDateException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getStartDate()).isEqualTo(startTime);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).updateById(any(), any(), any(), any(), any(), any(), any());
         }
 
         @Test
@@ -470,22 +800,17 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock).minusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(LocalDateTime.now(clock), endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(BookingPastEndDateException.class)
                     .asInstanceOf(type(BookingPastEndDateException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getEndDate()).isEqualTo(endTime);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).updateById(any(), any(), any(), any(), any(), any(), any());
         }
 
         @Test
@@ -495,11 +820,8 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(BookingInvalidDateException.class)
                     .asInstanceOf(type(BookingInvalidDateException.class))
                     .satisfies(ex -> {
@@ -507,11 +829,9 @@ public class BookingServiceImplTest {
                         assertThat(ex.getEndTime()).isEqualTo(endTime);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).updateById(any(), any(), any(), any(), any(), any(), any());
         }
 
         @Test
@@ -521,11 +841,8 @@ public class BookingServiceImplTest {
             LocalDateTime endTime = LocalDateTime.now(clock);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), meetingRoomFirst.getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(BookingInvalidDateException.class)
                     .asInstanceOf(type(BookingInvalidDateException.class))
                     .satisfies(ex -> {
@@ -533,37 +850,31 @@ public class BookingServiceImplTest {
                         assertThat(ex.getEndTime()).isEqualTo(endTime);
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository, never()).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfter(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository, never()).updateById(any(), any(), any(), any(), any(), any(), any());
         }
 
         @Test
-        @DisplayName("should throw BookingDateConflictException if there are conflict bookings")
+        @DisplayName("should throw BookingDateConflictException if the overlap constraint is violated")
         void updateBooking_conflictBookingExist_throwsBookingDateConflictException() {
             LocalDateTime startTime = LocalDateTime.now(clock);
             LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), bookingFirst.getMeetingRoom().getId());
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
-            when(bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(bookingFirst.getId()))).thenReturn(Collections.singletonList(bookingFirst));
+            when(bookingRepository.updateById(eq(bookingFirst.getId()), any(), any(), any(), any(), any(), any())).thenThrow(new DataIntegrityViolationException("Exclusion violation", new ConstraintViolationException("Exclusion violation", new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01"), "bookings_no_overlap")));
 
-            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest))
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null))
                     .isExactlyInstanceOf(BookingDateConflictException.class)
                     .asInstanceOf(type(BookingDateConflictException.class))
                     .satisfies(ex -> {
                         assertThat(ex.getMeetingRoomId()).isEqualTo(bookingFirst.getMeetingRoom().getId());
                     });
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(bookingFirst.getId()));
-            verify(bookingRepository, never()).save(any(Booking.class));
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository).updateById(eq(bookingFirst.getId()), any(), any(), any(), any(), any(), any());
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
         }
 
         @Test
@@ -572,37 +883,68 @@ public class BookingServiceImplTest {
             LocalDateTime startTime = LocalDateTime.now(clock);
             LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
             BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), bookingFirst.getMeetingRoom().getId());
-            Booking createdBooking = aBooking()
-                    .withId(3L)
-                    .withStartTime(bookingRequest.startTime())
-                    .withEndTime(bookingRequest.endTime())
-                    .withPurpose(bookingRequest.purpose())
-                    .withBookedBy(userJohnDoe)
-                    .withMeetingRoom(meetingRoomFirst)
-                    .build();
 
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
-            when(userRepository.findById(bookingRequest.userId())).thenReturn(Optional.of(userJohnDoe));
-            when(meetingRoomRepository.findById(bookingRequest.meetingRoomId())).thenReturn(Optional.of(meetingRoomFirst));
-            when(bookingRepository.findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(bookingFirst.getId()))).thenReturn(Collections.emptyList());
-            when(bookingRepository.save(any(Booking.class))).thenReturn(createdBooking);
+            when(bookingRepository.updateById(bookingFirst.getId(), startTime, endTime, "Onboarding", userJohnDoe, meetingRoomFirst, null)).thenReturn(Optional.of(1L));
 
-            BookingResponse bookingResponse = bookingService.updateBooking(bookingFirst.getId(), bookingRequest);
+            BookingResponse bookingResponse = bookingService.updateBooking(bookingFirst.getId(), bookingRequest, null);
 
             assertThat(bookingResponse).isNotNull();
-            assertThat(bookingResponse.id()).isEqualTo(3L);
+            assertThat(bookingResponse.id()).isEqualTo(bookingFirst.getId());
+            assertThat(bookingResponse.version()).isEqualTo(1L);
             assertThat(bookingResponse.userId()).isEqualTo(bookingRequest.userId());
             assertThat(bookingResponse.meetingRoomId()).isEqualTo(meetingRoomFirst.getId());
             assertThat(bookingResponse)
                     .usingRecursiveComparison()
                     .comparingOnlyFields("purpose", "startTime", "endTime")
-                    .isEqualTo(createdBooking);
+                    .isEqualTo(bookingRequest);
+
+            verify(userRepository).getReferenceById(userJohnDoe.getId());
+            verify(meetingRoomRepository).getReferenceById(meetingRoomFirst.getId());
+            verify(bookingRepository).updateById(bookingFirst.getId(), startTime, endTime, "Onboarding", userJohnDoe, meetingRoomFirst, null);
+            verify(bookingRepository, never()).findVersionById(any(Long.class));
+            verify(bookingRepository, never()).findById(any(Long.class));
+            verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+            verify(bookingIntervalIndex).record(argThat(booking -> booking.getId().equals(bookingFirst.getId())));
+            verify(meetingRoomLocks).withLock(eq(meetingRoomFirst.getId()), any());
+        }
+
+        @Test
+        @DisplayName("should throw ResourceVersionMismatchException if the expected version is stale")
+        void updateBooking_staleVersion_throwsResourceVersionMismatchException() {
+            LocalDateTime startTime = LocalDateTime.now(clock);
+            LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
+            BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), bookingFirst.getMeetingRoom().getId());
+
+            when(bookingRepository.updateById(bookingFirst.getId(), startTime, endTime, "Onboarding", userJohnDoe, meetingRoomFirst, 2L)).thenReturn(Optional.empty());
+            when(bookingRepository.findVersionById(bookingFirst.getId())).thenReturn(Optional.of(3L));
+
+            assertThatThrownBy(() -> bookingService.updateBooking(bookingFirst.getId(), bookingRequest, 2L))
+                    .isExactlyInstanceOf(ResourceVersionMismatchException.class)
+                    .asInstanceOf(type(ResourceVersionMismatchException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getResourceId()).isEqualTo(bookingFirst.getId());
+                        assertThat(ex.getExpectedVersion()).isEqualTo(2L);
+                        assertThat(ex.getCurrentVersion()).isEqualTo(3L);
+                    });
+
+            verify(bookingIntervalIndex, never()).record(any(Booking.class));
+        }
+
+        @Test
+        @DisplayName("should return the version reported by the update if the expected version matches")
+        void updateBooking_matchingVersion_returnsNextVersion() {
+            LocalDateTime startTime = LocalDateTime.now(clock);
+            LocalDateTime endTime = LocalDateTime.now(clock).plusSeconds(1);
+            BookingRequest bookingRequest = new BookingRequest(startTime, endTime, "Onboarding", userJohnDoe.getId(), bookingFirst.getMeetingRoom().getId());
+
+            when(bookingRepository.updateById(bookingFirst.getId(), startTime, endTime, "Onboarding", userJohnDoe, meetingRoomFirst, 2L)).thenReturn(Optional.of(3L));
+
+            BookingResponse bookingResponse = bookingService.updateBooking(bookingFirst.getId(), bookingRequest, 2L);
+
+            assertThat(bookingResponse.version()).isEqualTo(3L);
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(bookingRepository).findFirstByMeetingRoomAndStartTimeBeforeAndEndTimeAfterAndIdNot(any(MeetingRoom.class), any(LocalDateTime.class), any(LocalDateTime.class), eq(bookingFirst.getId()));
-            verify(bookingRepository).save(any(Booking.class));
+            verify(bookingRepository, never()).findVersionById(any(Long.class));
+            verify(bookingIntervalIndex).record(argThat(booking -> booking.getId().equals(bookingFirst.getId())));
         }
     }
 
@@ -611,9 +953,9 @@ public class BookingServiceImplTest {
     class DeleteBooking {
 
         @Test
-        @DisplayName("should throw BookingNotFoundException if id does not exist")
+        @DisplayName("should throw BookingNotFoundException if no booking row was deleted")
         void deleteBooking_nonExistingBooking_throwsBookingNotFoundException() {
-            when(bookingRepository.findById(nonExistingBookingId)).thenReturn(Optional.empty());
+            when(bookingRepository.deleteBookingById(nonExistingBookingId)).thenReturn(0);
 
             assertThatThrownBy(() -> bookingService.deleteBooking(nonExistingBookingId))
                     .isExactlyInstanceOf(BookingNotFoundException.class)
@@ -622,19 +964,20 @@ public class BookingServiceImplTest {
                         assertThat(ex.getBookingId()).isEqualTo(nonExistingBookingId);
                     });
 
-            verify(bookingRepository).findById(nonExistingBookingId);
-            verify(bookingRepository, never()).deleteById(bookingFirst.getId());
+            verify(bookingRepository).deleteBookingById(nonExistingBookingId);
+            verify(bookingIntervalIndex, never()).forget(any());
         }
 
         @Test
-        @DisplayName("should not throw if id exists")
+        @DisplayName("should delete the booking with a single statement if id exists")
         void deleteBooking_existingBooking_doesNotThrowException() {
-            when(bookingRepository.findById(bookingFirst.getId())).thenReturn(Optional.of(bookingFirst));
+            when(bookingRepository.deleteBookingById(bookingFirst.getId())).thenReturn(1);
 
             assertThatNoException().isThrownBy(() -> bookingService.deleteBooking(bookingFirst.getId()));
 
-            verify(bookingRepository).findById(bookingFirst.getId());
-            verify(bookingRepository).deleteById(bookingFirst.getId());
+            verify(bookingRepository).deleteBookingById(bookingFirst.getId());
+            verify(bookingRepository, never()).findById(any(Long.class));
+            verify(bookingIntervalIndex).forget(bookingFirst.getId());
         }
     }
 }
@@ -1,10 +1,20 @@
 package com.ebektasiadis.meetingroombooking.service.impl;
 
+import com.ebektasiadis.meetingroombooking.dto.BookedInterval;
+import com.ebektasiadis.meetingroombooking.dto.FreeSlot;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityCriteria;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomAvailabilityResponse;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomRequest;
 import com.ebektasiadis.meetingroombooking.dto.MeetingRoomResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
+import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomInvalidAvailabilityWindowException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNameExistsException;
 import com.ebektasiadis.meetingroombooking.exception.meetingroom.MeetingRoomNotFoundException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.mapper.MeetingRoomMapper;
 import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
 import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +24,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +35,7 @@ import java.util.Optional;
 
 import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
 import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +44,15 @@ public class MeetingRoomServiceImplTest {
     @Mock
     MeetingRoomRepository meetingRoomRepository;
 
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    BookingIntervalIndex bookingIntervalIndex;
+
     @InjectMocks
     MeetingRoomServiceImpl meetingRoomService;
 
@@ -94,15 +117,122 @@ public class MeetingRoomServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getMeetingRoomVersion method")
+    class GetMeetingRoomVersion {
+        @Test
+        @DisplayName("should return the version without loading the meeting room")
+        void getMeetingRoomVersion_existingMeetingRoom_returnsVersion() {
+            when(meetingRoomRepository.findVersionById(meetingRoomFirst.getId())).thenReturn(Optional.of(3L));
+
+            assertThat(meetingRoomService.getMeetingRoomVersion(meetingRoomFirst.getId())).isEqualTo(3L);
+
+            verify(meetingRoomRepository, never()).findById(any(Long.class));
+        }
+
+        @Test
+        @DisplayName("should throw MeetingRoomNotFoundException if meeting room id does not exist")
+        void getMeetingRoomVersion_nonExistingMeetingRoom_throwMeetingRoomNotFoundException() {
+            when(meetingRoomRepository.findVersionById(nonExistingMeetingRoomId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> meetingRoomService.getMeetingRoomVersion(nonExistingMeetingRoomId))
+                    .isInstanceOf(MeetingRoomNotFoundException.class)
+                    .extracting("meetingRoomId")
+                    .isEqualTo(nonExistingMeetingRoomId);
+        }
+    }
+
+    @Nested
+    @DisplayName("getAvailability method")
+    class GetAvailability {
+
+        LocalDateTime from;
+        LocalDateTime to;
+
+        @BeforeEach
+        void setUp() {
+            from = LocalDateTime.of(2025, 1, 1, 9, 0);
+            to = LocalDateTime.of(2025, 1, 1, 17, 0);
+        }
+
+        @Test
+        @DisplayName("should return the gaps between bookings that fit the requested duration")
+        void getAvailability_bookedRoom_returnsGapsLongEnough() {
+            MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(from, to, null, false, false, Duration.ofHours(1));
+            when(meetingRoomRepository.findMatching(null, false, false)).thenReturn(List.of(meetingRoomFirst));
+            when(bookingRepository.findBookedIntervals(List.of(meetingRoomFirst.getId()), from, to)).thenReturn(List.of(
+                    new BookedInterval(meetingRoomFirst.getId(), from.minusHours(1), from.plusHours(1)),
+                    new BookedInterval(meetingRoomFirst.getId(), from.plusHours(1).plusMinutes(30), from.plusHours(3)),
+                    new BookedInterval(meetingRoomFirst.getId(), from.plusHours(5), to.plusHours(1))
+            ));
+
+            List<MeetingRoomAvailabilityResponse> availability = meetingRoomService.getAvailability(criteria);
+
+            assertThat(availability).hasSize(1);
+            assertThat(availability.getFirst().meetingRoom().id()).isEqualTo(meetingRoomFirst.getId());
+            assertThat(availability.getFirst().freeSlots())
+                    .containsExactly(new FreeSlot(from.plusHours(3), from.plusHours(5)));
+        }
+
+        @Test
+        @DisplayName("should return the whole window for rooms without bookings and skip fully booked rooms")
+        void getAvailability_freeAndFullyBookedRooms_returnsOnlyFreeRoom() {
+            MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(from, to, 5, true, false, Duration.ofMinutes(30));
+            when(meetingRoomRepository.findMatching(5, true, false)).thenReturn(List.of(meetingRoomFirst, meetingRoomSecond));
+            when(bookingRepository.findBookedIntervals(List.of(meetingRoomFirst.getId(), meetingRoomSecond.getId()), from, to)).thenReturn(List.of(
+                    new BookedInterval(meetingRoomFirst.getId(), from, to)
+            ));
+
+            List<MeetingRoomAvailabilityResponse> availability = meetingRoomService.getAvailability(criteria);
+
+            assertThat(availability).hasSize(1);
+            assertThat(availability.getFirst().meetingRoom().id()).isEqualTo(meetingRoomSecond.getId());
+            assertThat(availability.getFirst().freeSlots()).containsExactly(new FreeSlot(from, to));
+        }
+
+        @Test
+        @DisplayName("should not query bookings if no meeting room matches the filters")
+        void getAvailability_noMatchingRooms_returnsEmptyList() {
+            MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(from, to, 100, false, false, Duration.ofMinutes(30));
+            when(meetingRoomRepository.findMatching(100, false, false)).thenReturn(Collections.emptyList());
+
+            assertThat(meetingRoomService.getAvailability(criteria)).isEmpty();
+
+            verifyNoInteractions(bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should throw MeetingRoomInvalidAvailabilityWindowException if the window does not end after it starts")
+        void getAvailability_reversedWindow_throwsMeetingRoomInvalidAvailabilityWindowException() {
+            MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(to, from, null, false, false, Duration.ofMinutes(30));
+
+            assertThatThrownBy(() -> meetingRoomService.getAvailability(criteria))
+                    .isExactlyInstanceOf(MeetingRoomInvalidAvailabilityWindowException.class);
+
+            verifyNoInteractions(meetingRoomRepository, bookingRepository);
+        }
+
+        @Test
+        @DisplayName("should throw MeetingRoomInvalidAvailabilityWindowException if the duration does not fit the window")
+        void getAvailability_durationLongerThanWindow_throwsMeetingRoomInvalidAvailabilityWindowException() {
+            MeetingRoomAvailabilityCriteria criteria = new MeetingRoomAvailabilityCriteria(from, to, null, false, false, Duration.ofHours(9));
+
+            assertThatThrownBy(() -> meetingRoomService.getAvailability(criteria))
+                    .isExactlyInstanceOf(MeetingRoomInvalidAvailabilityWindowException.class);
+
+            verifyNoInteractions(meetingRoomRepository, bookingRepository);
+        }
+    }
+
     @Nested
     @DisplayName("getAllMeetingRooms method")
     class GetAllMeetingRooms {
         @Test
         @DisplayName("should return all meeting rooms")
         void getAllMeetingRooms_existingMeetingRooms_returnsAllMeetingRooms() {
-            List<MeetingRoom> meetingRooms = Arrays.asList(meetingRoomFirst, meetingRoomSecond);
+            List<MeetingRoomResponse> meetingRooms = Arrays.asList(MeetingRoomMapper.toResponse(meetingRoomFirst), MeetingRoomMapper.toResponse(meetingRoomSecond));
 
-            when(meetingRoomRepository.findAll()).thenReturn(meetingRooms);
+            when(meetingRoomRepository.findAllResponses()).thenReturn(meetingRooms);
 
             List<MeetingRoomResponse> meetingRoomResponses = meetingRoomService.getAllMeetingRooms();
 
@@ -113,20 +243,20 @@ public class MeetingRoomServiceImplTest {
                     .contains(tuple(meetingRoomFirst.getId(), meetingRoomFirst.getName()))
                     .contains(tuple(meetingRoomSecond.getId(), meetingRoomSecond.getName()));
 
-            verify(meetingRoomRepository).findAll();
+            verify(meetingRoomRepository).findAllResponses();
         }
 
         @Test
         @DisplayName("should return empty list if no meeting rooms exist")
         void getAllMeetingRooms_nonExistingMeetingRooms_returnsEmptyList() {
-            when(meetingRoomRepository.findAll()).thenReturn(Collections.emptyList());
+            when(meetingRoomRepository.findAllResponses()).thenReturn(Collections.emptyList());
 
             List<MeetingRoomResponse> meetingRoomResponses = meetingRoomService.getAllMeetingRooms();
 
             assertThat(meetingRoomResponses).isNotNull();
             assertThat(meetingRoomResponses.size()).isEqualTo(0);
 
-            verify(meetingRoomRepository).findAll();
+            verify(meetingRoomRepository).findAllResponses();
         }
     }
 
@@ -188,7 +318,7 @@ public class MeetingRoomServiceImplTest {
         void updateMeetingRoom_nonExistingMeetingRoom_throwMeetingRoomNotFoundException() {
             when(meetingRoomRepository.findById(nonExistingMeetingRoomId)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(nonExistingMeetingRoomId, any(MeetingRoomRequest.class)))
+            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(nonExistingMeetingRoomId, any(MeetingRoomRequest.class), null))
                     .isInstanceOf(MeetingRoomNotFoundException.class)
                     .extracting("meetingRoomId")
                     .isEqualTo(nonExistingMeetingRoomId);
@@ -197,6 +327,51 @@ public class MeetingRoomServiceImplTest {
             verify(meetingRoomRepository, never()).save(any(MeetingRoom.class));
         }
 
+        @Test
+        @DisplayName("should throw ResourceVersionMismatchException if the expected version is stale")
+        void updateMeetingRoom_staleVersion_throwsResourceVersionMismatchException() {
+            MeetingRoom versionedMeetingRoom = aMeetingRoom()
+                    .withId(meetingRoomFirst.getId())
+                    .withVersion(3L)
+                    .build();
+            MeetingRoomRequest meetingRoomRequest = new MeetingRoomRequest(versionedMeetingRoom.getName(), 6, "Larisa, Greece", true, true);
+
+            when(meetingRoomRepository.findById(versionedMeetingRoom.getId())).thenReturn(Optional.of(versionedMeetingRoom));
+
+            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(versionedMeetingRoom.getId(), meetingRoomRequest, 2L))
+                    .isExactlyInstanceOf(ResourceVersionMismatchException.class)
+                    .asInstanceOf(type(ResourceVersionMismatchException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getResourceId()).isEqualTo(versionedMeetingRoom.getId());
+                        assertThat(ex.getExpectedVersion()).isEqualTo(2L);
+                        assertThat(ex.getCurrentVersion()).isEqualTo(3L);
+                    });
+
+            verify(meetingRoomRepository, never()).save(any(MeetingRoom.class));
+        }
+
+        @Test
+        @DisplayName("should throw ResourceVersionMismatchException if the meeting room is modified concurrently")
+        void updateMeetingRoom_concurrentModification_throwsResourceVersionMismatchException() {
+            MeetingRoom versionedMeetingRoom = aMeetingRoom()
+                    .withId(meetingRoomFirst.getId())
+                    .withVersion(3L)
+                    .build();
+            MeetingRoomRequest meetingRoomRequest = new MeetingRoomRequest(versionedMeetingRoom.getName(), 6, "Larisa, Greece", true, true);
+
+            when(meetingRoomRepository.findById(versionedMeetingRoom.getId())).thenReturn(Optional.of(versionedMeetingRoom));
+            when(meetingRoomRepository.save(any(MeetingRoom.class))).thenThrow(new ObjectOptimisticLockingFailureException(MeetingRoom.class, versionedMeetingRoom.getId()));
+            when(meetingRoomRepository.findVersionById(versionedMeetingRoom.getId())).thenReturn(Optional.of(4L));
+
+            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(versionedMeetingRoom.getId(), meetingRoomRequest, 3L))
+                    .isExactlyInstanceOf(ResourceVersionMismatchException.class)
+                    .asInstanceOf(type(ResourceVersionMismatchException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getExpectedVersion()).isEqualTo(3L);
+                        assertThat(ex.getCurrentVersion()).isEqualTo(4L);
+                    });
+        }
+
         @Test
         @DisplayName("should throw MeetingRoomNameExistsException if new name is used by another meeting room")
         void updateMeetingRoom_newNameIsUsedByAnotherMeetingRoom_throwsMeetingRoomNameExistsException() {
@@ -205,7 +380,7 @@ public class MeetingRoomServiceImplTest {
             when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
             when(meetingRoomRepository.findByName(meetingRoomSecond.getName())).thenReturn(Optional.of(meetingRoomSecond));
 
-            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest))
+            assertThatThrownBy(() -> meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest, null))
                     .isInstanceOf(MeetingRoomNameExistsException.class)
                     .extracting("meetingRoomName")
                     .isEqualTo(meetingRoomSecond.getName());
@@ -231,7 +406,7 @@ public class MeetingRoomServiceImplTest {
             when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
             when(meetingRoomRepository.save(any(MeetingRoom.class))).thenReturn(updatedMeetingRoom);
 
-            MeetingRoomResponse meetingRoomResponse = meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest);
+            MeetingRoomResponse meetingRoomResponse = meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest, null);
 
             assertThat(meetingRoomResponse).isNotNull();
             assertThat(meetingRoomResponse.id()).isEqualTo(meetingRoomFirst.getId());
@@ -262,7 +437,7 @@ public class MeetingRoomServiceImplTest {
             when(meetingRoomRepository.findByName(updatedMeetingRoom.getName())).thenReturn(Optional.empty());
             when(meetingRoomRepository.save(any(MeetingRoom.class))).thenReturn(updatedMeetingRoom);
 
-            MeetingRoomResponse meetingRoomResponse = meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest);
+            MeetingRoomResponse meetingRoomResponse = meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), meetingRoomRequest, null);
 
             assertThat(meetingRoomResponse).isNotNull();
             assertThat(meetingRoomResponse.id()).isEqualTo(meetingRoomFirst.getId());
@@ -283,26 +458,27 @@ public class MeetingRoomServiceImplTest {
         @Test
         @DisplayName("should throw MeetingRoomNotFoundException if id does not exist")
         void deleteMeetingRoom_nonExistingMeetingRoom_throwsMeetingRoomNotFoundException() {
-            when(meetingRoomRepository.findById(nonExistingMeetingRoomId)).thenReturn(Optional.empty());
+            when(meetingRoomRepository.deleteMeetingRoomById(nonExistingMeetingRoomId)).thenReturn(0);
 
             assertThatThrownBy(() -> meetingRoomService.deleteMeetingRoom(nonExistingMeetingRoomId))
                     .isInstanceOf(MeetingRoomNotFoundException.class)
                     .extracting("meetingRoomId")
                     .isEqualTo(nonExistingMeetingRoomId);
 
-            verify(meetingRoomRepository).findById(nonExistingMeetingRoomId);
-            verify(meetingRoomRepository, never()).delete(any(MeetingRoom.class));
+            verify(meetingRoomRepository).deleteMeetingRoomById(nonExistingMeetingRoomId);
+            verifyNoInteractions(bookingIntervalIndex);
         }
 
         @Test
-        @DisplayName("should not throw if id exists")
-        void deleteMeetingRoom_existingMeetingRoom_doesNotThrowException() {
-            when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
+        @DisplayName("should delete the meeting room with a single statement and evict it from the index")
+        void deleteMeetingRoom_existingMeetingRoom_deletesMeetingRoomAndEvictsIndex() {
+            when(meetingRoomRepository.deleteMeetingRoomById(meetingRoomFirst.getId())).thenReturn(1);
 
             assertThatNoException().isThrownBy(() -> meetingRoomService.deleteMeetingRoom(meetingRoomFirst.getId()));
 
-            verify(meetingRoomRepository).findById(meetingRoomFirst.getId());
-            verify(meetingRoomRepository).deleteById(meetingRoomFirst.getId());
+            verify(meetingRoomRepository).deleteMeetingRoomById(meetingRoomFirst.getId());
+            verify(meetingRoomRepository, never()).findById(any());
+            verify(bookingIntervalIndex).evictRoom(meetingRoomFirst.getId());
         }
     }
 }
@@ -0,0 +1,150 @@
+package com.ebektasiadis.meetingroombooking.service.impl;
+
+import com.ebektasiadis.meetingroombooking.config.CacheConfig;
+import com.ebektasiadis.meetingroombooking.dto.MeetingRoomRequest;
+import com.ebektasiadis.meetingroombooking.dto.UserRequest;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.model.MeetingRoom;
+import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
+import com.ebektasiadis.meetingroombooking.repository.BookingSeriesRepository;
+import com.ebektasiadis.meetingroombooking.repository.MeetingRoomRepository;
+import com.ebektasiadis.meetingroombooking.repository.UserRepository;
+import com.ebektasiadis.meetingroombooking.service.MeetingRoomService;
+import com.ebektasiadis.meetingroombooking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static com.ebektasiadis.meetingroombooking.testutil.MeetingRoomTestBuilder.aMeetingRoom;
+import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@DisplayName("MeetingRoomService and UserService caching")
+public class ServiceCachingTest {
+
+    @Configuration
+    @Import({CacheConfig.class, MeetingRoomServiceImpl.class, UserServiceImpl.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.MEETING_ROOMS, CacheConfig.USERS);
+        }
+    }
+
+    @MockitoBean
+    MeetingRoomRepository meetingRoomRepository;
+
+    @MockitoBean
+    BookingRepository bookingRepository;
+
+    @MockitoBean
+    BookingSeriesRepository bookingSeriesRepository;
+
+    @MockitoBean
+    UserRepository userRepository;
+
+    @MockitoBean
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Autowired
+    MeetingRoomService meetingRoomService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    MeetingRoom meetingRoomFirst;
+    User userJohnDoe;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        meetingRoomFirst = aMeetingRoom()
+                .withId(1L)
+                .withName("Meeting Room 1")
+                .build();
+
+        userJohnDoe = aUser()
+                .withId(1L)
+                .withUsername("john_doe")
+                .withEmail("john@doe.com")
+                .build();
+
+        when(meetingRoomRepository.findById(meetingRoomFirst.getId())).thenReturn(Optional.of(meetingRoomFirst));
+        when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
+    }
+
+    @Test
+    @DisplayName("should read a meeting room from the repository only once")
+    void getMeetingRoomById_repeatedReads_hitsRepositoryOnce() {
+        meetingRoomService.getMeetingRoomById(meetingRoomFirst.getId());
+        meetingRoomService.getMeetingRoomById(meetingRoomFirst.getId());
+
+        verify(meetingRoomRepository, times(1)).findById(meetingRoomFirst.getId());
+    }
+
+    @Test
+    @DisplayName("should serve the updated meeting room from the cache after an update")
+    void updateMeetingRoom_cachedRoom_replacesCacheEntry() {
+        meetingRoomService.getMeetingRoomById(meetingRoomFirst.getId());
+        when(meetingRoomRepository.save(any(MeetingRoom.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        meetingRoomService.updateMeetingRoom(meetingRoomFirst.getId(), new MeetingRoomRequest("Meeting Room 1", 12, "Athens, Greece", true, true), null);
+
+        assertThat(meetingRoomService.getMeetingRoomById(meetingRoomFirst.getId()).capacity()).isEqualTo(12);
+        verify(meetingRoomRepository, times(2)).findById(meetingRoomFirst.getId());
+    }
+
+    @Test
+    @DisplayName("should evict a deleted meeting room from the cache")
+    void deleteMeetingRoom_cachedRoom_evictsCacheEntry() {
+        meetingRoomService.getMeetingRoomById(meetingRoomFirst.getId());
+        when(meetingRoomRepository.deleteMeetingRoomById(meetingRoomFirst.getId())).thenReturn(1);
+
+        meetingRoomService.deleteMeetingRoom(meetingRoomFirst.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.MEETING_ROOMS).get(meetingRoomFirst.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("should read a user from the repository only once and evict it on delete")
+    void getUserById_repeatedReadsThenDelete_cachesUntilEvicted() {
+        userService.getUserById(userJohnDoe.getId());
+        userService.getUserById(userJohnDoe.getId());
+
+        verify(userRepository, times(1)).findById(userJohnDoe.getId());
+        when(userRepository.deleteUserById(userJohnDoe.getId())).thenReturn(1);
+
+        userService.deleteUser(userJohnDoe.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USERS).get(userJohnDoe.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("should serve the updated user from the cache after an update")
+    void updateUser_cachedUser_replacesCacheEntry() {
+        userService.getUserById(userJohnDoe.getId());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.updateUser(userJohnDoe.getId(), new UserRequest("john_doe", "john.doe@example.com"), null);
+
+        assertThat(userService.getUserById(userJohnDoe.getId()).email()).isEqualTo("john.doe@example.com");
+    }
+}
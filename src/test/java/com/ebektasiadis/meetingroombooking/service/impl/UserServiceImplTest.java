@@ -2,10 +2,14 @@ package com.ebektasiadis.meetingroombooking.service.impl;
 
 import com.ebektasiadis.meetingroombooking.dto.UserRequest;
 import com.ebektasiadis.meetingroombooking.dto.UserResponse;
+import com.ebektasiadis.meetingroombooking.exception.common.ResourceVersionMismatchException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserEmailExistsException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserNotFoundException;
 import com.ebektasiadis.meetingroombooking.exception.user.UserUsernameExistsException;
+import com.ebektasiadis.meetingroombooking.index.BookingIntervalIndex;
+import com.ebektasiadis.meetingroombooking.mapper.UserMapper;
 import com.ebektasiadis.meetingroombooking.model.User;
+import com.ebektasiadis.meetingroombooking.repository.BookingRepository;
 import com.ebektasiadis.meetingroombooking.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,6 +28,7 @@ import java.util.Optional;
 
 import static com.ebektasiadis.meetingroombooking.testutil.UserTestBuilder.aUser;
 import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +39,12 @@ public class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    BookingIntervalIndex bookingIntervalIndex;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -63,28 +75,31 @@ public class UserServiceImplTest {
     class DeleteUser {
 
         @Test
-        @DisplayName("should not throw if id exists")
-        void deleteUser_existingUser_doesNotThrowException() {
-            when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
+        @DisplayName("should delete the user with a single statement and evict the rooms it had booked from the index")
+        void deleteUser_existingUser_deletesUserAndEvictsBookedRooms() {
+            when(bookingRepository.findMeetingRoomIdsByUserId(userJohnDoe.getId())).thenReturn(List.of(1L, 2L));
+            when(userRepository.deleteUserById(userJohnDoe.getId())).thenReturn(1);
 
             assertThatNoException().isThrownBy(() -> userService.deleteUser(userJohnDoe.getId()));
 
-            verify(userRepository).findById(userJohnDoe.getId());
-            verify(userRepository).deleteById(userJohnDoe.getId());
+            verify(userRepository).deleteUserById(userJohnDoe.getId());
+            verify(userRepository, never()).findById(any());
+            verify(bookingIntervalIndex).evictRoom(1L);
+            verify(bookingIntervalIndex).evictRoom(2L);
         }
 
         @Test
         @DisplayName("should throw UserNotFoundException if id does not exist")
         void deleteUser_nonExistingUser_throwsUserNotFoundException() {
-            when(userRepository.findById(nonExistingUserId)).thenReturn(Optional.empty());
+            when(userRepository.deleteUserById(nonExistingUserId)).thenReturn(0);
 
             assertThatThrownBy(() -> userService.deleteUser(nonExistingUserId))
                     .isInstanceOf(UserNotFoundException.class)
                     .extracting("userId")
                     .isEqualTo(nonExistingUserId);
 
-            verify(userRepository).findById(nonExistingUserId);
-            verify(userRepository, never()).deleteById(userJohnDoe.getId());
+            verify(userRepository).deleteUserById(nonExistingUserId);
+            verifyNoInteractions(bookingIntervalIndex);
         }
     }
 
@@ -97,7 +112,7 @@ public class UserServiceImplTest {
         void updateUser_nonExistingUser_throwsUserNotFoundException() {
             when(userRepository.findById(nonExistingUserId)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> userService.updateUser(nonExistingUserId, any(UserRequest.class)))
+            assertThatThrownBy(() -> userService.updateUser(nonExistingUserId, any(UserRequest.class), null))
                     .isInstanceOf(UserNotFoundException.class)
                     .extracting("userId")
                     .isEqualTo(nonExistingUserId);
@@ -105,6 +120,51 @@ public class UserServiceImplTest {
             verify(userRepository).findById(nonExistingUserId);
         }
 
+        @Test
+        @DisplayName("should throw ResourceVersionMismatchException if the expected version is stale")
+        void updateUser_staleVersion_throwsResourceVersionMismatchException() {
+            User versionedUser = aUser()
+                    .withId(userJohnDoe.getId())
+                    .withVersion(5L)
+                    .build();
+            UserRequest userRequest = new UserRequest(versionedUser.getUsername(), versionedUser.getEmail());
+
+            when(userRepository.findById(versionedUser.getId())).thenReturn(Optional.of(versionedUser));
+
+            assertThatThrownBy(() -> userService.updateUser(versionedUser.getId(), userRequest, 4L))
+                    .isExactlyInstanceOf(ResourceVersionMismatchException.class)
+                    .asInstanceOf(type(ResourceVersionMismatchException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getResourceId()).isEqualTo(versionedUser.getId());
+                        assertThat(ex.getExpectedVersion()).isEqualTo(4L);
+                        assertThat(ex.getCurrentVersion()).isEqualTo(5L);
+                    });
+
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("should throw ResourceVersionMismatchException if the user is modified concurrently")
+        void updateUser_concurrentModification_throwsResourceVersionMismatchException() {
+            User versionedUser = aUser()
+                    .withId(userJohnDoe.getId())
+                    .withVersion(5L)
+                    .build();
+            UserRequest userRequest = new UserRequest(versionedUser.getUsername(), versionedUser.getEmail());
+
+            when(userRepository.findById(versionedUser.getId())).thenReturn(Optional.of(versionedUser));
+            when(userRepository.save(any(User.class))).thenThrow(new ObjectOptimisticLockingFailureException(User.class, versionedUser.getId()));
+            when(userRepository.findVersionById(versionedUser.getId())).thenReturn(Optional.of(6L));
+
+            assertThatThrownBy(() -> userService.updateUser(versionedUser.getId(), userRequest, null))
+                    .isExactlyInstanceOf(ResourceVersionMismatchException.class)
+                    .asInstanceOf(type(ResourceVersionMismatchException.class))
+                    .satisfies(ex -> {
+                        assertThat(ex.getExpectedVersion()).isEqualTo(5L);
+                        assertThat(ex.getCurrentVersion()).isEqualTo(6L);
+                    });
+        }
+
         @Test
         @DisplayName("should throw UserUsernameExistsException if new username is used by another user")
         void updateUser_newUsernameIsUsedByAnotherUser_throwsUserUsernameExistsException() {
@@ -113,7 +173,7 @@ public class UserServiceImplTest {
             when(userRepository.findByUsername(userMarySmith.getUsername())).thenReturn(Optional.of(userMarySmith));
             when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
 
-            assertThatThrownBy(() -> userService.updateUser(userJohnDoe.getId(), userRequest))
+            assertThatThrownBy(() -> userService.updateUser(userJohnDoe.getId(), userRequest, null))
                     .isInstanceOf(UserUsernameExistsException.class)
                     .extracting("userUsername")
                     .isEqualTo(userMarySmith.getUsername());
@@ -132,7 +192,7 @@ public class UserServiceImplTest {
             when(userRepository.findByEmail(userRequest.email())).thenReturn(Optional.of(userMarySmith));
             when(userRepository.findById(userJohnDoe.getId())).thenReturn(Optional.of(userJohnDoe));
 
-            assertThatThrownBy(() -> userService.updateUser(userJohnDoe.getId(), userRequest))
+            assertThatThrownBy(() -> userService.updateUser(userJohnDoe.getId(), userRequest, null))
                     .isInstanceOf(UserEmailExistsException.class)
                     .extracting("userEmail")
                     .isEqualTo(userMarySmith.getEmail());
@@ -158,7 +218,7 @@ public class UserServiceImplTest {
             when(userRepository.findByUsername(userRequest.username())).thenReturn(Optional.empty());
             when(userRepository.save(any(User.class))).thenReturn(updatedUser);
 
-            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest);
+            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest, null);
 
             assertThat(userResponse).isNotNull();
             assertThat(userResponse.id()).isEqualTo(userJohnDoe.getId());
@@ -187,7 +247,7 @@ public class UserServiceImplTest {
             when(userRepository.findByEmail(userRequest.email())).thenReturn(Optional.empty());
             when(userRepository.save(any(User.class))).thenReturn(updatedUser);
 
-            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest);
+            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest, null);
 
             assertThat(userResponse).isNotNull();
             assertThat(userResponse.id()).isEqualTo(userJohnDoe.getId());
@@ -216,7 +276,7 @@ public class UserServiceImplTest {
             when(userRepository.findByUsername(userRequest.username())).thenReturn(Optional.empty());
             when(userRepository.save(any(User.class))).thenReturn(updatedUser);
 
-            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest);
+            UserResponse userResponse = userService.updateUser(userJohnDoe.getId(), userRequest, null);
 
             assertThat(userResponse).isNotNull();
             assertThat(userResponse.id()).isEqualTo(userJohnDoe.getId());
@@ -300,9 +360,9 @@ public class UserServiceImplTest {
         @Test
         @DisplayName("should return all users")
         void getAllUsers_existingUsers_returnsAllUsers() {
-            List<User> users = Arrays.asList(userJohnDoe, userMarySmith);
+            List<UserResponse> users = Arrays.asList(UserMapper.toResponse(userJohnDoe), UserMapper.toResponse(userMarySmith));
 
-            when(userRepository.findAll()).thenReturn(users);
+            when(userRepository.findAllResponses()).thenReturn(users);
 
             List<UserResponse> userResponses = userService.getAllUsers();
 
@@ -313,20 +373,45 @@ public class UserServiceImplTest {
                     .contains(tuple(userJohnDoe.getId(), userJohnDoe.getUsername(), userJohnDoe.getEmail()))
                     .contains(tuple(userMarySmith.getId(), userMarySmith.getUsername(), userMarySmith.getEmail()));
 
-            verify(userRepository, times((1))).findAll();
+            verify(userRepository, times((1))).findAllResponses();
         }
 
         @Test
         @DisplayName("should return empty list if no users exist")
         void getAllUsers_nonExistingUsers_returnsEmptyList() {
-            when(userRepository.findAll()).thenReturn(Collections.emptyList());
+            when(userRepository.findAllResponses()).thenReturn(Collections.emptyList());
 
             List<UserResponse> userResponses = userService.getAllUsers();
 
             assertThat(userResponses).isNotNull();
             assertThat(userResponses).isEmpty();
 
-            verify(userRepository, times((1))).findAll();
+            verify(userRepository, times((1))).findAllResponses();
+        }
+    }
+
+    @Nested
+    @DisplayName("getUserVersion method")
+    class GetUserVersion {
+        @Test
+        @DisplayName("should return the version without loading the user")
+        void getUserVersion_existingUser_returnsVersion() {
+            when(userRepository.findVersionById(userJohnDoe.getId())).thenReturn(Optional.of(3L));
+
+            assertThat(userService.getUserVersion(userJohnDoe.getId())).isEqualTo(3L);
+
+            verify(userRepository, never()).findById(any(Long.class));
+        }
+
+        @Test
+        @DisplayName("should throw UserNotFoundException if user id does not exist")
+        void getUserVersion_nonExistingUser_throwsUserNotFoundException() {
+            when(userRepository.findVersionById(nonExistingUserId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userService.getUserVersion(nonExistingUserId))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .extracting("userId")
+                    .isEqualTo(nonExistingUserId);
         }
     }
 